@@ -0,0 +1,114 @@
+package com.jaikeex.issuetrackerservice.benchmark;
+
+import com.jaikeex.issuetrackerservice.dto.IssueSearchText;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Synthetic issues and an in-memory issue repository for the benchmarks.
+ * The data is generated from a fixed seed so every run measures the same input.
+ */
+final class BenchmarkIssues {
+
+    static final String[] WORDS = {
+            "login", "page", "crash", "button", "timeout", "database", "cache", "render",
+            "upload", "attachment", "search", "filter", "session", "token", "layout", "mobile",
+            "memory", "leak", "slow", "query", "error", "null", "pointer", "exception",
+            "header", "footer", "menu", "image", "resize", "font", "color", "dialog"
+    };
+
+    private static final long SEED = 42;
+
+    private BenchmarkIssues() {
+    }
+
+    static List<Issue> generate(int count, int descriptionWords) {
+        Random random = new Random(SEED);
+        List<Issue> issues = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            Issue issue = new Issue(
+                    IssueType.values()[random.nextInt(IssueType.values().length)],
+                    Severity.values()[random.nextInt(Severity.values().length)],
+                    Status.values()[random.nextInt(Status.values().length)],
+                    Project.values()[random.nextInt(Project.values().length)]);
+            issue.setId(id);
+            issue.setTitle("issue " + id + " " + randomWords(random, 3));
+            issue.setAuthor("author" + random.nextInt(100));
+            issue.setDescription(randomWords(random, descriptionWords));
+            issue.setDate(new Timestamp(1_600_000_000_000L + id * 1000L));
+            issues.add(issue);
+        }
+        return issues;
+    }
+
+    static String randomWords(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(i % 12 == 0 ? "\n" : " ");
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /** Returns an IssueRepository backed by a map, implementing only the
+     * lookups used by the benchmarked services.
+     */
+    @SuppressWarnings("unchecked")
+    static IssueRepository repositoryOf(List<Issue> issues) {
+        NavigableMap<Integer, Issue> issuesById = new TreeMap<>();
+        issues.forEach(issue -> issuesById.put(issue.getId(), issue));
+        return (IssueRepository) Proxy.newProxyInstance(
+                IssueRepository.class.getClassLoader(),
+                new Class<?>[]{IssueRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                            return Optional.ofNullable(issuesById.get((Integer) args[0]));
+                        case "findSummariesByIds":
+                            List<IssueSummary> found = new ArrayList<>();
+                            for (Integer id : (Iterable<Integer>) args[0]) {
+                                Issue issue = issuesById.get(id);
+                                if (issue != null) {
+                                    found.add(new IssueSummary(issue));
+                                }
+                            }
+                            return found;
+                        case "findSearchTextsBeforeId":
+                            int pageSize = ((Pageable) args[1]).getPageSize();
+                            List<IssueSearchText> page = new ArrayList<>(pageSize);
+                            for (Issue issue : issuesById.headMap((Integer) args[0], false).descendingMap().values()) {
+                                if (page.size() == pageSize) {
+                                    break;
+                                }
+                                page.add(new IssueSearchText(issue));
+                            }
+                            return page;
+                        case "toString":
+                            return "BenchmarkIssueRepository";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,58 @@
+package com.jaikeex.issuetrackerservice.benchmark;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.utility.html.HtmlParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of new lines in long issue descriptions, compared
+ * with the String.replaceAll implementation it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HtmlParserBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int descriptionWords;
+
+    HtmlParser parser;
+    String description;
+    Issue issue;
+    StringWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = new HtmlParser();
+        description = BenchmarkIssues.randomWords(new Random(42), descriptionWords);
+        issue = new Issue();
+        writer = new StringWriter(description.length() * 2);
+    }
+
+    @Benchmark
+    public String convertNewLinesInDescriptionToHtml() {
+        issue.setDescription(description);
+        parser.convertNewLinesInDescriptionToHtml(issue);
+        return issue.getDescription();
+    }
+
+    @Benchmark
+    public StringWriter writeNewLinesAsHtml() throws IOException {
+        writer.getBuffer().setLength(0);
+        parser.writeNewLinesAsHtml(description, writer);
+        return writer;
+    }
+
+    @Benchmark
+    public String regexReplaceAll() {
+        return description.replaceAll("(\r\n|\n)", "<br />");
+    }
+}
@@ -0,0 +1,48 @@
+package com.jaikeex.issuetrackerservice.benchmark;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueBinaryCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the binary encoding used by the off-heap tier of the list cache,
+ * the decode benchmark is the cost of every read served from that tier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueBinaryCodecBenchmark {
+
+    @Param({"10", "50", "200"})
+    int issueCount;
+
+    IssueBinaryCodec codec;
+    List<Issue> issues;
+    ByteBuffer encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = new IssueBinaryCodec();
+        issues = BenchmarkIssues.generate(issueCount, 100);
+        byte[] bytes = codec.encode(issues);
+        encoded = ByteBuffer.allocateDirect(bytes.length);
+        encoded.put(bytes);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(issues);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return codec.decode(encoded);
+    }
+}
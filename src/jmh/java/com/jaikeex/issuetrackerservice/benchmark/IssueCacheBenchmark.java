@@ -0,0 +1,94 @@
+package com.jaikeex.issuetrackerservice.benchmark;
+
+import com.jaikeex.issuetrackerservice.config.cache.CacheConfig;
+import com.jaikeex.issuetrackerservice.config.properties.CacheProperties;
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.issue.IssueService;
+import com.jaikeex.issuetrackerservice.service.issue.IssueServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of cache hits and misses of IssueServiceImpl.findIssueById
+ * through the caching proxy configured by CacheConfig, against a direct call
+ * of the service. The miss benchmark includes the eviction of the entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueCacheBenchmark {
+
+    private static final int HIT_ID = 1;
+    private static final int MISS_ID = 2;
+
+    AnnotationConfigApplicationContext context;
+    IssueService cachedIssueService;
+    IssueService issueService;
+    Cache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(CacheProperties.class, IssueCacheBenchmark::cacheProperties);
+        context.register(CacheConfig.class, IssueServiceConfig.class);
+        context.refresh();
+        cachedIssueService = context.getBean(IssueService.class);
+        issueService = IssueServiceConfig.createIssueService();
+        cache = context.getBean(CacheManager.class).getCache(CacheConfig.ISSUE_CACHE_NAME);
+        cachedIssueService.findIssueById(HIT_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static CacheProperties cacheProperties() {
+        CacheProperties.Region region = new CacheProperties.Region(DataSize.ofMegabytes(16), 3600, 0, false);
+        return new CacheProperties(region, region, new CacheProperties.OffHeapTier(), true, 1000);
+    }
+
+    @Benchmark
+    public Issue cacheHit() {
+        return cachedIssueService.findIssueById(HIT_ID);
+    }
+
+    @Benchmark
+    public Issue cacheMiss() {
+        cache.evict("id" + MISS_ID);
+        return cachedIssueService.findIssueById(MISS_ID);
+    }
+
+    @Benchmark
+    public Issue uncached() {
+        return issueService.findIssueById(HIT_ID);
+    }
+
+    @Configuration
+    static class IssueServiceConfig {
+
+        @Bean
+        IssueService issueService() {
+            return createIssueService();
+        }
+
+        static IssueService createIssueService() {
+            IssueRepository repository = BenchmarkIssues.repositoryOf(BenchmarkIssues.generate(1000, 50));
+            CursorPagination pagination = new CursorPagination(new PaginationProperties(50, 200));
+            return new IssueServiceImpl(null, null, repository, null, pagination, null);
+        }
+    }
+}
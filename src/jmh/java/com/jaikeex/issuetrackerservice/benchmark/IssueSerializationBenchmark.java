@@ -0,0 +1,40 @@
+package com.jaikeex.issuetrackerservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialization of issue lists as returned by the
+ * listing endpoints, using an ObjectMapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueSerializationBenchmark {
+
+    @Param({"10", "50", "200"})
+    int issueCount;
+
+    ObjectMapper objectMapper;
+    List<Issue> issues;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        issues = BenchmarkIssues.generate(issueCount, 100);
+    }
+
+    @Benchmark
+    public byte[] serializeIssueList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(issues);
+    }
+}
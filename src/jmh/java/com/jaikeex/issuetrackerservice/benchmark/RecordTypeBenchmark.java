@@ -0,0 +1,54 @@
+package com.jaikeex.issuetrackerservice.benchmark;
+
+import com.jaikeex.issuetrackerservice.entity.Attachment;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.utility.RecordType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the text of history records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordTypeBenchmark {
+
+    @State(Scope.Thread)
+    public static class IssueRecord {
+
+        @Param({"CREATE", "UPDATE_PROPERTIES", "UPDATE_DESCRIPTION"})
+        RecordType recordType;
+
+        Issue issue;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            issue = BenchmarkIssues.generate(1, 10).get(0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AttachmentRecord {
+
+        Attachment attachment;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            attachment = new Attachment("path", "screenshot.png", BenchmarkIssues.generate(1, 10).get(0));
+        }
+    }
+
+    @Benchmark
+    public String getTextForIssueRecord(IssueRecord record) {
+        return record.recordType.getTextForDbRecord(record.issue);
+    }
+
+    @Benchmark
+    public String getTextForAttachmentRecord(AttachmentRecord record) {
+        return RecordType.ADD_ATTACHMENT.getTextForDbRecord(record.attachment);
+    }
+}
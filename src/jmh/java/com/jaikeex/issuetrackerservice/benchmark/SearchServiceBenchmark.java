@@ -0,0 +1,52 @@
+package com.jaikeex.issuetrackerservice.benchmark;
+
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.search.SearchService;
+import com.jaikeex.issuetrackerservice.service.search.SearchServiceImpl;
+import com.jaikeex.issuetrackerservice.service.search.index.InvertedIndexSearchEngine;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures SearchServiceImpl.searchIssues backed by the in-memory inverted
+ * index over synthetic datasets, which isolates the ranking and page assembly
+ * cost from the database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchServiceBenchmark {
+
+    private static final int DESCRIPTION_WORDS = 20;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int issueCount;
+
+    @Param({"crash", "login timeout", "atta"})
+    String query;
+
+    SearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IssueRepository repository = BenchmarkIssues.repositoryOf(
+                BenchmarkIssues.generate(issueCount, DESCRIPTION_WORDS));
+        InvertedIndexSearchEngine searchEngine = new InvertedIndexSearchEngine(repository);
+        searchEngine.rebuild();
+        CursorPagination pagination = new CursorPagination(new PaginationProperties(50, 200));
+        searchService = new SearchServiceImpl(repository, null, searchEngine, pagination);
+    }
+
+    @Benchmark
+    public CursorPage<IssueSummary> searchIssues() {
+        return searchService.searchIssues(query, null, null);
+    }
+}
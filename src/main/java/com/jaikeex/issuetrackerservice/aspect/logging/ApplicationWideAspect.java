@@ -1,39 +1,92 @@
 package com.jaikeex.issuetrackerservice.aspect.logging;
 
+import com.jaikeex.issuetrackerservice.config.properties.TracingProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Traces the calls matched by the pointcuts in ApplicationPointcuts. When
+ * tracing is disabled, globally or for the matched pointcut, the call only
+ * passes through. Enter and exit records are written for a sampled share of
+ * the calls when DEBUG is enabled, with the arguments formatted lazily.
+ * The tracing properties are read on every call, so they can be changed at
+ * runtime through the actuator tracing endpoint.
+ */
 @Component
 @Aspect
 @Slf4j
 @EnableAspectJAutoProxy
 public class ApplicationWideAspect {
 
-    @Around("com.jaikeex.issuetrackerservice.aspect.pointcut.ApplicationPointcuts.springBeanPointcut()")
-    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        //Logs all method enter and exit points including the arguments used.
-        logWhenEnteringMethodBody(joinPoint);
+    static final String SERVICE_POINTCUT = "serviceAnnotation";
+    static final String CONTROLLER_POINTCUT = "controllerAnnotation";
+    static final String REPOSITORY_POINTCUT = "repositoryAnnotation";
+
+    private final TracingProperties properties;
+
+    public ApplicationWideAspect(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Around("com.jaikeex.issuetrackerservice.aspect.pointcut.ApplicationPointcuts.serviceAnnotation()")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SERVICE_POINTCUT);
+    }
+
+    @Around("com.jaikeex.issuetrackerservice.aspect.pointcut.ApplicationPointcuts.controllerAnnotation()")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, CONTROLLER_POINTCUT);
+    }
+
+    @Around("com.jaikeex.issuetrackerservice.aspect.pointcut.ApplicationPointcuts.repositoryAnnotation()")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, REPOSITORY_POINTCUT);
+    }
+
+    Object trace(ProceedingJoinPoint joinPoint, String pointcut) throws Throwable {
+        if (!isEnabled(pointcut)) {
+            return joinPoint.proceed();
+        }
+        TracedArguments arguments = isSampled() ? new TracedArguments(joinPoint.getArgs(), properties.getMaxArgumentLength()) : null;
+        if (arguments != null) {
+            logWhenEnteringMethodBody(joinPoint, arguments);
+        }
         try {
             Object result = joinPoint.proceed();
-            logWhenExitingMethodBody(joinPoint);
+            if (arguments != null) {
+                logWhenExitingMethodBody(joinPoint, arguments);
+            }
             return result;
-        } catch (IllegalArgumentException exception) {
-            logIllegalArgumentException(joinPoint);
+        } catch (Throwable exception) {
+            //Logs all exceptions thrown from the pointcut classes.
+            if (exception instanceof IllegalArgumentException) {
+                logIllegalArgumentException(joinPoint);
+            }
+            logException(joinPoint, exception);
             throw exception;
         }
     }
 
-    @AfterThrowing(pointcut = "com.jaikeex.issuetrackerservice.aspect.pointcut.ApplicationPointcuts.springBeanPointcut()", throwing = "exception")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable exception) {
-        //Logs all exceptions thrown from the pointcut classes.
+    private boolean isEnabled(String pointcut) {
+        return properties.isEnabled() && !properties.getDisabledPointcuts().contains(pointcut);
+    }
+
+    private boolean isSampled() {
+        if (!log.isDebugEnabled()) {
+            return false;
+        }
+        double sampleRate = properties.getSampleRate();
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void logException(JoinPoint joinPoint, Throwable exception) {
         log.warn("Exception thrown from {}.{}(); cause = {}",
                 joinPoint.getSignature().getDeclaringTypeName(),
                 joinPoint.getSignature().getName(),
@@ -41,27 +94,23 @@ public class ApplicationWideAspect {
     }
 
     private void logIllegalArgumentException(JoinPoint joinPoint) {
-        log.error("Illegal argument: {} in {}.{}()",
-                Arrays.toString(joinPoint.getArgs()),
+        log.error("Illegal argument: [{}] in {}.{}()",
+                new TracedArguments(joinPoint.getArgs(), properties.getMaxArgumentLength()),
                 joinPoint.getSignature().getDeclaringTypeName(),
                 joinPoint.getSignature().getName());
     }
 
-    private void logWhenEnteringMethodBody(JoinPoint joinPoint) {
+    private void logWhenEnteringMethodBody(JoinPoint joinPoint, TracedArguments arguments) {
         log.debug("Enter [method={}.{}({})]",
                 joinPoint.getSignature().getDeclaringTypeName(),
                 joinPoint.getSignature().getName(),
-                getArgsAsString(joinPoint));
+                arguments);
     }
 
-    private void logWhenExitingMethodBody(JoinPoint joinPoint) {
+    private void logWhenExitingMethodBody(JoinPoint joinPoint, TracedArguments arguments) {
         log.debug("Exit [method={}.{}({})]",
                 joinPoint.getSignature().getDeclaringTypeName(),
                 joinPoint.getSignature().getName(),
-                getArgsAsString(joinPoint));
-    }
-
-    private String getArgsAsString(JoinPoint joinPoint) {
-        return Arrays.toString(joinPoint.getArgs());
+                arguments);
     }
 }
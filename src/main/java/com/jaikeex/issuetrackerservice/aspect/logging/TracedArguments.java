@@ -0,0 +1,67 @@
+package com.jaikeex.issuetrackerservice.aspect.logging;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Method arguments formatted for the trace log only when the log statement
+ * is actually written. Arrays, collections and maps are summarized by their
+ * size and every other argument is cut to a maximum length. The formatted
+ * text is kept, so the enter and exit records format the arguments once.
+ */
+class TracedArguments {
+
+    private static final String TRUNCATION_MARK = "...";
+
+    private final Object[] arguments;
+    private final int maxArgumentLength;
+    private String formatted;
+
+    TracedArguments(Object[] arguments, int maxArgumentLength) {
+        this.arguments = arguments;
+        this.maxArgumentLength = maxArgumentLength;
+    }
+
+    @Override
+    public String toString() {
+        if (formatted == null) {
+            formatted = format();
+        }
+        return formatted;
+    }
+
+    private String format() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(summarize(arguments[i]));
+        }
+        return builder.toString();
+    }
+
+    private String summarize(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+        if (argument.getClass().isArray()) {
+            return argument.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(argument) + "]";
+        }
+        if (argument instanceof Collection) {
+            return argument.getClass().getSimpleName() + "(size=" + ((Collection<?>) argument).size() + ")";
+        }
+        if (argument instanceof Map) {
+            return argument.getClass().getSimpleName() + "(size=" + ((Map<?, ?>) argument).size() + ")";
+        }
+        return truncate(String.valueOf(argument));
+    }
+
+    private String truncate(String text) {
+        if (text.length() <= maxArgumentLength) {
+            return text;
+        }
+        return text.substring(0, maxArgumentLength) + TRUNCATION_MARK + "(" + text.length() + " chars)";
+    }
+}
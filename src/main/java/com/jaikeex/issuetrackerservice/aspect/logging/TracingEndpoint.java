@@ -0,0 +1,78 @@
+package com.jaikeex.issuetrackerservice.aspect.logging;
+
+import com.jaikeex.issuetrackerservice.config.properties.TracingProperties;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Actuator endpoint changing the tracing properties at runtime. Only the
+ * tracing properties can be written and every value is validated, the rest
+ * of the environment stays read-only.
+ */
+@Endpoint(id = "tracing")
+public class TracingEndpoint {
+
+    private static final Set<String> POINTCUTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationWideAspect.SERVICE_POINTCUT,
+            ApplicationWideAspect.CONTROLLER_POINTCUT,
+            ApplicationWideAspect.REPOSITORY_POINTCUT)));
+
+    private final TracingProperties properties;
+
+    public TracingEndpoint(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public TracingProperties tracing() {
+        return properties;
+    }
+
+    /** Changes the provided properties, the missing ones are kept. Nothing
+     * is changed when any of the values is invalid. The disabled pointcuts
+     * are sent as a comma-separated list, an empty list enables all of them.
+     *
+     * @throws InvalidEndpointRequestException when a value is out of range
+     *                                         or a pointcut is unknown.
+     */
+    @WriteOperation
+    public TracingProperties configure(@Nullable Boolean enabled,
+                                       @Nullable Double sampleRate,
+                                       @Nullable Integer maxArgumentLength,
+                                       @Nullable String disabledPointcuts) {
+        if (sampleRate != null && !(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new InvalidEndpointRequestException("Sample rate must be between 0 and 1.", "Invalid sample rate");
+        }
+        if (maxArgumentLength != null && maxArgumentLength < 0) {
+            throw new InvalidEndpointRequestException("Maximum argument length must not be negative.", "Invalid argument length");
+        }
+        Set<String> pointcuts = disabledPointcuts != null
+                ? new HashSet<>(Arrays.asList(StringUtils.tokenizeToStringArray(disabledPointcuts, ",")))
+                : null;
+        if (pointcuts != null && !POINTCUTS.containsAll(pointcuts)) {
+            throw new InvalidEndpointRequestException("Known pointcuts are " + POINTCUTS + ".", "Unknown pointcut");
+        }
+        if (enabled != null) {
+            properties.setEnabled(enabled);
+        }
+        if (sampleRate != null) {
+            properties.setSampleRate(sampleRate);
+        }
+        if (maxArgumentLength != null) {
+            properties.setMaxArgumentLength(maxArgumentLength);
+        }
+        if (pointcuts != null) {
+            properties.setDisabledPointcuts(Collections.unmodifiableSet(pointcuts));
+        }
+        return properties;
+    }
+}
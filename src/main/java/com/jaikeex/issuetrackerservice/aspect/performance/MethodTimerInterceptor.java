@@ -0,0 +1,134 @@
+package com.jaikeex.issuetrackerservice.aspect.performance;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the duration of every intercepted call in a Micrometer timer with
+ * a percentile histogram, tagged by class, method and outcome. The timers
+ * are looked up once per method and kept, so recording a call allocates
+ * nothing. The registry is resolved on the first call, which keeps it from
+ * being created early together with the advisors.
+ */
+public class MethodTimerInterceptor implements MethodInterceptor {
+
+    static final String METRIC_NAME = "issuetracker.method";
+    static final String CLASS_TAG = "class";
+    static final String METHOD_TAG = "method";
+    static final String OUTCOME_TAG = "outcome";
+    static final String SUCCESS_OUTCOME = "SUCCESS";
+    static final String ERROR_OUTCOME = "ERROR";
+
+    private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofMillis(1);
+    private static final Duration MAXIMUM_EXPECTED_DURATION = Duration.ofSeconds(10);
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final Map<Class<?>, Map<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public MethodTimerInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodTimers methodTimers = getTimers(invocation.getThis(), invocation.getMethod());
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable exception) {
+            getErrorTimer(methodTimers).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw exception;
+        }
+    }
+
+    private MethodTimers getTimers(Object target, Method method) {
+        Class<?> targetClass = target != null ? target.getClass() : method.getDeclaringClass();
+        Map<Method, MethodTimers> classTimers = timers.get(targetClass);
+        if (classTimers == null) {
+            classTimers = timers.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+        }
+        MethodTimers methodTimers = classTimers.get(method);
+        if (methodTimers == null) {
+            String className = getClassName(targetClass);
+            methodTimers = classTimers.computeIfAbsent(method, key -> createTimers(className, key));
+        }
+        return methodTimers;
+    }
+
+    /** Repositories are JDK proxies, those are named after the repository
+     * interface they implement. Anonymous subclasses are named after their
+     * superclass.
+     */
+    private String getClassName(Class<?> targetClass) {
+        Class<?> userClass = ClassUtils.getUserClass(targetClass);
+        if (Proxy.isProxyClass(userClass) && userClass.getInterfaces().length > 0) {
+            return userClass.getInterfaces()[0].getSimpleName();
+        }
+        while (userClass.isAnonymousClass()) {
+            userClass = userClass.getSuperclass();
+        }
+        return userClass.getSimpleName();
+    }
+
+    private MethodTimers createTimers(String className, Method method) {
+        return new MethodTimers(className, method, createTimer(className, method, SUCCESS_OUTCOME));
+    }
+
+    private Timer createTimer(String className, Method method, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Duration of service and repository method calls")
+                .tag(CLASS_TAG, className)
+                .tag(METHOD_TAG, method.getName())
+                .tag(OUTCOME_TAG, outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED_DURATION)
+                .maximumExpectedValue(MAXIMUM_EXPECTED_DURATION)
+                .register(getRegistry());
+    }
+
+    /** The error timer is registered on the first failure only, so methods
+     * that never fail do not publish an empty histogram.
+     */
+    private Timer getErrorTimer(MethodTimers methodTimers) {
+        Timer error = methodTimers.error;
+        if (error == null) {
+            error = createTimer(methodTimers.className, methodTimers.method, ERROR_OUTCOME);
+            methodTimers.error = error;
+        }
+        return error;
+    }
+
+    private MeterRegistry getRegistry() {
+        if (registry == null) {
+            registry = registryProvider.getObject();
+        }
+        return registry;
+    }
+
+    private static final class MethodTimers {
+        private final String className;
+        private final Method method;
+        private final Timer success;
+        private volatile Timer error;
+
+        private MethodTimers(String className, Method method, Timer success) {
+            this.className = className;
+            this.method = method;
+            this.success = success;
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.jaikeex.issuetrackerservice.aspect.performance;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.aspectj.AspectJExpressionPointcut;
-import org.springframework.aop.interceptor.PerformanceMonitorInterceptor;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Aspect for logging simple performance metrics of the application.
+ * Aspect publishing the call durations of the application's services and
+ * repositories as Micrometer timers.
  */
 @Configuration
 @Aspect
@@ -20,14 +22,14 @@ public class PerformanceAspect {
     private static final String PERFORMANCE_MONITOR_POINTCUT = "com.jaikeex.issuetrackerservice.aspect.pointcut.ApplicationPointcuts.performanceMonitorPointcut()";
 
     @Bean
-    public PerformanceMonitorInterceptor performanceMonitor() {
-        return new PerformanceMonitorInterceptor(false);
+    public MethodTimerInterceptor performanceMonitor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MethodTimerInterceptor(meterRegistry);
     }
 
     @Bean
-    public Advisor performanceMonitorAdvisor() {
+    public Advisor performanceMonitorAdvisor(MethodTimerInterceptor performanceMonitor) {
         AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
         pointcut.setExpression(PERFORMANCE_MONITOR_POINTCUT);
-        return new DefaultPointcutAdvisor(pointcut, performanceMonitor());
+        return new DefaultPointcutAdvisor(pointcut, performanceMonitor);
     }
 }
@@ -17,7 +17,7 @@ public class ApplicationPointcuts {
     /**
      * Pointcut used for performance monitoring.
      */
-    @Pointcut("serviceAnnotation() || repositoryAnnotation()")
+    @Pointcut("serviceAnnotation() || serviceInterface() || repositoryAnnotation()")
     public void performanceMonitorPointcut(){}
 
     /**
@@ -33,6 +33,13 @@ public class ApplicationPointcuts {
     @Pointcut("execution(public * (@org.springframework.stereotype.Service com.jaikeex..*).*(..))")
     public void serviceAnnotation(){}
 
+    /**
+     * Pointcut matching the methods of all service interfaces, the service
+     * implementations are registered as beans without any stereotype annotation.
+     */
+    @Pointcut("execution(public * com.jaikeex.issuetrackerservice.service..*Service.*(..))")
+    public void serviceInterface(){}
+
     /**
      * Pointcut matching all classes annotated with
      * {@link org.springframework.web.bind.annotation.RestController} annotation.
@@ -1,64 +1,206 @@
 package com.jaikeex.issuetrackerservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaikeex.issuetrackerservice.aspect.logging.TracingEndpoint;
 import com.jaikeex.issuetrackerservice.controller.AttachmentController;
+import com.jaikeex.issuetrackerservice.controller.BulkIssueController;
+import com.jaikeex.issuetrackerservice.controller.IssueChangeController;
 import com.jaikeex.issuetrackerservice.controller.IssueController;
+import com.jaikeex.issuetrackerservice.controller.IssueStatsController;
+import com.jaikeex.issuetrackerservice.controller.IssueStreamController;
+import com.jaikeex.issuetrackerservice.controller.SearchIndexController;
+import com.jaikeex.issuetrackerservice.config.properties.BulkProperties;
 import com.jaikeex.issuetrackerservice.config.properties.CacheProperties;
+import com.jaikeex.issuetrackerservice.config.properties.FilterProperties;
+import com.jaikeex.issuetrackerservice.config.properties.HistoryProperties;
+import com.jaikeex.issuetrackerservice.config.properties.OutboxProperties;
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.config.properties.SearchProperties;
 import com.jaikeex.issuetrackerservice.config.properties.StorageProperties;
+import com.jaikeex.issuetrackerservice.config.properties.StreamProperties;
+import com.jaikeex.issuetrackerservice.config.properties.TracingProperties;
+import com.jaikeex.issuetrackerservice.repository.AttachmentBlobRepository;
 import com.jaikeex.issuetrackerservice.repository.AttachmentRepository;
 import com.jaikeex.issuetrackerservice.repository.HistoryRepository;
 import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.service.attachment.AttachmentBlobStore;
 import com.jaikeex.issuetrackerservice.service.attachment.AttachmentService;
 import com.jaikeex.issuetrackerservice.service.attachment.AttachmentServiceImpl;
 import com.jaikeex.issuetrackerservice.service.filter.FilterService;
 import com.jaikeex.issuetrackerservice.service.filter.FilterServiceImpl;
+import com.jaikeex.issuetrackerservice.service.filter.index.BitmapFilterIndex;
+import com.jaikeex.issuetrackerservice.service.history.BatchingHistoryServiceImpl;
 import com.jaikeex.issuetrackerservice.service.history.HistoryService;
 import com.jaikeex.issuetrackerservice.service.history.HistoryServiceImpl;
+import com.jaikeex.issuetrackerservice.service.issue.BulkIssueService;
+import com.jaikeex.issuetrackerservice.service.issue.BulkIssueServiceImpl;
 import com.jaikeex.issuetrackerservice.service.issue.IssueService;
 import com.jaikeex.issuetrackerservice.service.issue.IssueServiceImpl;
+import com.jaikeex.issuetrackerservice.service.outbox.InMemoryOutboxSink;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxRelay;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxService;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxServiceImpl;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxSink;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxWriter;
+import com.jaikeex.issuetrackerservice.service.search.FullTextSearchEngine;
+import com.jaikeex.issuetrackerservice.service.search.LikeSearchEngine;
+import com.jaikeex.issuetrackerservice.service.search.SearchEngine;
 import com.jaikeex.issuetrackerservice.service.search.SearchService;
 import com.jaikeex.issuetrackerservice.service.search.SearchServiceImpl;
+import com.jaikeex.issuetrackerservice.service.search.index.InvertedIndexSearchEngine;
+import com.jaikeex.issuetrackerservice.service.stats.IssueStatsService;
+import com.jaikeex.issuetrackerservice.service.stats.IssueStatsServiceImpl;
+import com.jaikeex.issuetrackerservice.service.stream.IssueStreamBroadcaster;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueVersionTracker;
+import com.jaikeex.issuetrackerservice.utility.download.FileSender;
 import com.jaikeex.issuetrackerservice.utility.filter.CorsFilter;
 import com.jaikeex.issuetrackerservice.utility.html.HtmlParser;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Collectors;
 
 /**
  * Configuration class initializing all beans of the application.
  */
 @Configuration
-@EnableConfigurationProperties({CacheProperties.class, StorageProperties.class})
+@EnableConfigurationProperties({CacheProperties.class, StorageProperties.class, PaginationProperties.class, SearchProperties.class, HistoryProperties.class, TracingProperties.class, BulkProperties.class, FilterProperties.class, OutboxProperties.class, StreamProperties.class})
 public class IssueTrackerServiceConfig {
 
     @Bean
-    AttachmentService attachmentService(IssueRepository issueRepository, AttachmentRepository attachmentRepository, HistoryService historyService, StorageProperties storageProperties) {
-        return new AttachmentServiceImpl(issueRepository, attachmentRepository, historyService, storageProperties);
+    AttachmentService attachmentService(IssueRepository issueRepository, AttachmentRepository attachmentRepository, HistoryService historyService, StorageProperties storageProperties, ApplicationEventPublisher eventPublisher, FileSender fileSender, AttachmentBlobStore attachmentBlobStore, PlatformTransactionManager transactionManager) {
+        return new AttachmentServiceImpl(issueRepository, attachmentRepository, historyService, storageProperties, eventPublisher, fileSender, attachmentBlobStore, transactionManager);
+    }
+
+    @Bean
+    AttachmentBlobStore attachmentBlobStore(AttachmentBlobRepository attachmentBlobRepository, StorageProperties storageProperties, PlatformTransactionManager transactionManager) {
+        return new AttachmentBlobStore(attachmentBlobRepository, storageProperties, transactionManager);
+    }
+
+    @Bean
+    IssueService issueService(HistoryService historyService, AttachmentService attachmentService, IssueRepository issueRepository, HtmlParser parser, CursorPagination pagination, ApplicationEventPublisher eventPublisher) {
+        return new IssueServiceImpl(historyService, attachmentService, issueRepository, parser, pagination, eventPublisher);
+    }
+
+    @Bean
+    BulkIssueService bulkIssueService(IssueRepository issueRepository, HistoryService historyService, AttachmentService attachmentService, HtmlParser parser, ApplicationEventPublisher eventPublisher, BulkProperties bulkProperties) {
+        return new BulkIssueServiceImpl(issueRepository, historyService, attachmentService, parser, eventPublisher, bulkProperties);
+    }
+
+    @Bean
+    FilterService filterService(IssueRepository issueRepository, CursorPagination pagination, ObjectProvider<BitmapFilterIndex> filterIndex) {
+        return new FilterServiceImpl(issueRepository, pagination, filterIndex.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "filter.config", name = "in-memory-index", havingValue = "true")
+    BitmapFilterIndex bitmapFilterIndex(IssueRepository issueRepository) {
+        return new BitmapFilterIndex(issueRepository);
     }
 
     @Bean
-    IssueService issueService(HistoryService historyService, AttachmentService attachmentService, IssueRepository issueRepository, HtmlParser parser) {
-        return new IssueServiceImpl(historyService, attachmentService, issueRepository, parser);
+    IssueStatsService issueStatsService(IssueRepository issueRepository) {
+        return new IssueStatsServiceImpl(issueRepository);
     }
 
     @Bean
-    FilterService filterService(IssueRepository issueRepository) {
-        return new FilterServiceImpl(issueRepository);
+    OutboxWriter outboxWriter(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new OutboxWriter(outboxRepository, objectMapper);
     }
 
     @Bean
-    SearchService searchService(IssueRepository issueRepository, IssueService issueService) {
-        return new SearchServiceImpl(issueRepository, issueService) {
+    @ConditionalOnProperty(prefix = "outbox.config", name = "relay-enabled", havingValue = "true")
+    OutboxRelay outboxRelay(OutboxRepository outboxRepository, ObjectProvider<OutboxSink> outboxSinks, PlatformTransactionManager transactionManager, OutboxProperties outboxProperties) {
+        return new OutboxRelay(outboxRepository, outboxSinks.orderedStream().collect(Collectors.toList()), transactionManager, outboxProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox.config", name = "memory-sink", havingValue = "true")
+    InMemoryOutboxSink inMemoryOutboxSink(OutboxProperties outboxProperties) {
+        return new InMemoryOutboxSink(outboxProperties.getMemorySinkCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "stream.config", name = "enabled", havingValue = "true")
+    IssueStreamBroadcaster issueStreamBroadcaster(OutboxRepository outboxRepository, ObjectMapper objectMapper, StreamProperties streamProperties) {
+        return new IssueStreamBroadcaster(outboxRepository, objectMapper, streamProperties);
+    }
+
+    @Bean
+    OutboxService outboxService(OutboxRepository outboxRepository, CursorPagination pagination, OutboxProperties outboxProperties) {
+        return new OutboxServiceImpl(outboxRepository, pagination, outboxProperties);
+    }
+
+    @Bean
+    SearchService searchService(IssueRepository issueRepository, IssueService issueService, SearchEngine searchEngine, CursorPagination pagination) {
+        return new SearchServiceImpl(issueRepository, issueService, searchEngine, pagination) {
         };
     }
 
     @Bean
-    HistoryService historyService(HistoryRepository historyRepository) {
+    @ConditionalOnProperty(prefix = "search.config", name = "engine", havingValue = "fulltext", matchIfMissing = true)
+    SearchEngine fullTextSearchEngine(IssueRepository issueRepository) {
+        return new FullTextSearchEngine(issueRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "search.config", name = "engine", havingValue = "like")
+    SearchEngine likeSearchEngine(IssueRepository issueRepository) {
+        return new LikeSearchEngine(issueRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "search.config", name = "engine", havingValue = "index")
+    InvertedIndexSearchEngine invertedIndexSearchEngine(IssueRepository issueRepository) {
+        return new InvertedIndexSearchEngine(issueRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "search.config", name = "engine", havingValue = "index")
+    SearchIndexController searchIndexController(InvertedIndexSearchEngine searchEngine) {
+        return new SearchIndexController(searchEngine);
+    }
+
+    @Bean
+    HistoryService historyService(HistoryRepository historyRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, HistoryProperties historyProperties, ApplicationEventPublisher eventPublisher) {
+        if (historyProperties.isAsync()) {
+            return new BatchingHistoryServiceImpl(historyRepository, jdbcTemplate, transactionManager, historyProperties, eventPublisher);
+        }
         return new HistoryServiceImpl(historyRepository);
     }
 
     @Bean
-    IssueController issueController(IssueService issueService, SearchService searchService, FilterService filterService) {
-        return new IssueController(issueService, searchService, filterService);
+    IssueController issueController(IssueService issueService, SearchService searchService, FilterService filterService, IssueVersionTracker issueVersionTracker) {
+        return new IssueController(issueService, searchService, filterService, issueVersionTracker);
+    }
+
+    @Bean
+    BulkIssueController bulkIssueController(BulkIssueService bulkIssueService) {
+        return new BulkIssueController(bulkIssueService);
+    }
+
+    @Bean
+    IssueStatsController issueStatsController(IssueStatsService issueStatsService) {
+        return new IssueStatsController(issueStatsService);
+    }
+
+    @Bean
+    IssueChangeController issueChangeController(OutboxService outboxService) {
+        return new IssueChangeController(outboxService);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "stream.config", name = "enabled", havingValue = "true")
+    IssueStreamController issueStreamController(IssueStreamBroadcaster issueStreamBroadcaster) {
+        return new IssueStreamController(issueStreamBroadcaster);
     }
 
     @Bean
@@ -76,6 +218,21 @@ public class IssueTrackerServiceConfig {
         return new HtmlParser();
     }
 
+    @Bean
+    FileSender fileSender() {
+        return new FileSender();
+    }
+
+    @Bean
+    TracingEndpoint tracingEndpoint(TracingProperties tracingProperties) {
+        return new TracingEndpoint(tracingProperties);
+    }
+
+    @Bean
+    CursorPagination cursorPagination(PaginationProperties paginationProperties) {
+        return new CursorPagination(paginationProperties);
+    }
+
 
 
 }
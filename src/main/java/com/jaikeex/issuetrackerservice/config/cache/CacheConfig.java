@@ -1,19 +1,42 @@
 package com.jaikeex.issuetrackerservice.config.cache;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.jaikeex.issuetrackerservice.config.properties.CacheProperties;
-import net.sf.ehcache.config.CacheConfiguration;
+import com.jaikeex.issuetrackerservice.utility.cache.CacheHitRatioMetrics;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueBinaryCodec;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueCacheInvalidator;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueCacheWeigher;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueListCacheLoader;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueListKeyGenerator;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueVersionTracker;
+import com.jaikeex.issuetrackerservice.utility.cache.OffHeapIssueStore;
+import com.jaikeex.issuetrackerservice.utility.cache.TieredIssueCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.ehcache.EhCacheCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine caches split into two regions: single issues looked up by id or
+ * title, and lists of issues. Each region is bounded by the estimated size
+ * of its entries and configured separately in {@link CacheProperties}. The
+ * list region can overflow into an off-heap tier.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig extends CachingConfigurerSupport {
 
+    public static final String ISSUE_CACHE_NAME = "issue-cache";
+    public static final String LIST_CACHE_NAME = "issue-list-cache";
+
     private final CacheProperties properties;
 
     @Autowired
@@ -24,20 +47,66 @@ public class CacheConfig extends CachingConfigurerSupport {
     @Bean
     @Override
     public CacheManager cacheManager() {
-        return new EhCacheCacheManager(ehCacheManager());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(Arrays.asList(issueCache(), issueListCache()));
+        return cacheManager;
     }
 
     @Bean
-    public net.sf.ehcache.CacheManager ehCacheManager() {
-        CacheConfiguration generalEhCache = new CacheConfiguration();
-        generalEhCache.setName(properties.getEhCacheName());
-        generalEhCache.setMemoryStoreEvictionPolicy(properties.getEvictionPolicy());
-        generalEhCache.setMaxEntriesLocalHeap(properties.getMaxEntries());
-        generalEhCache.setTimeToLiveSeconds(properties.getTimeToLiveSeconds());
+    public CaffeineCache issueCache() {
+        return new CaffeineCache(ISSUE_CACHE_NAME, regionBuilder(properties.getIssueRegion()).build());
+    }
 
-        net.sf.ehcache.config.Configuration config = new net.sf.ehcache.config.Configuration();
-        config.addCache(generalEhCache);
-        return net.sf.ehcache.CacheManager.newInstance(config);
+    @Bean
+    public CaffeineCache issueListCache() {
+        CacheProperties.Region region = properties.getListRegion();
+        CacheProperties.OffHeapTier offHeapTier = properties.getOffHeapTier();
+        Caffeine<Object, Object> builder = regionBuilder(region);
+        OffHeapIssueStore offHeapStore = null;
+        if (offHeapTier.isEnabled()) {
+            offHeapStore = new OffHeapIssueStore(offHeapTier.getMaximumSize().toBytes(), new IssueBinaryCodec());
+            builder.evictionListener(TieredIssueCache.demotingListener(offHeapStore));
+        }
+        if (region.getRefreshAfterWriteSeconds() > 0) {
+            builder.refreshAfterWrite(region.getRefreshAfterWriteSeconds(), TimeUnit.SECONDS);
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> heapCache = region.getRefreshAfterWriteSeconds() > 0
+                ? builder.build(new IssueListCacheLoader())
+                : builder.build();
+        if (offHeapStore != null) {
+            return new TieredIssueCache(LIST_CACHE_NAME, heapCache, offHeapStore, offHeapTier.getPromotionHits());
+        }
+        return new CaffeineCache(LIST_CACHE_NAME, heapCache);
     }
-}
 
+    @Bean
+    public KeyGenerator issueListKeyGenerator() {
+        return new IssueListKeyGenerator();
+    }
+
+    @Bean
+    public IssueCacheInvalidator issueCacheInvalidator() {
+        return new IssueCacheInvalidator(issueCache(), issueListCache(), properties.getListRegion().isRefreshOnChange());
+    }
+
+    @Bean
+    public IssueVersionTracker issueVersionTracker() {
+        return new IssueVersionTracker(!properties.getListRegion().isRefreshOnChange(), properties.getEtagCapacity());
+    }
+
+    @Bean
+    public CacheHitRatioMetrics cacheHitRatioMetrics() {
+        return new CacheHitRatioMetrics(Arrays.asList(issueCache(), issueListCache()));
+    }
+
+    private Caffeine<Object, Object> regionBuilder(CacheProperties.Region region) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(region.getMaximumWeight().toBytes())
+                .weigher(new IssueCacheWeigher())
+                .expireAfterWrite(region.getExpireAfterWriteSeconds(), TimeUnit.SECONDS);
+        if (properties.isRecordStats()) {
+            builder.recordStats();
+        }
+        return builder;
+    }
+}
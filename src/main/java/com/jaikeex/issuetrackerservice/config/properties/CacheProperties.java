@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 @Data
 @NoArgsConstructor
@@ -11,8 +12,49 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "cache.config")
 public class CacheProperties {
 
-    private String ehCacheName;
-    private String evictionPolicy;
-    private int maxEntries;
-    private int timeToLiveSeconds;
+    private Region issueRegion = new Region();
+    private Region listRegion = new Region();
+    private OffHeapTier offHeapTier = new OffHeapTier();
+    private boolean recordStats;
+
+    /** Maximum number of issue ETags remembered for validating requests
+     * without loading the issue. */
+    private long etagCapacity = 10000;
+
+    /**
+     * Limits of one cache region. The size of the region is bounded by the
+     * estimated weight of its entries in bytes, not by their count.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+
+        private DataSize maximumWeight;
+        private long expireAfterWriteSeconds;
+
+        /** Age after which an entry is reloaded in the background on the next
+         * read, 0 disables refreshing. Only lists can be reloaded. */
+        private long refreshAfterWriteSeconds;
+
+        /** Reload the entries affected by an issue change in the background
+         * instead of evicting them. Requires refreshing to be enabled. */
+        private boolean refreshOnChange;
+    }
+
+    /**
+     * Second tier of the list region kept in direct memory. Lists evicted
+     * from the heap are stored there in a binary encoding.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OffHeapTier {
+
+        private boolean enabled;
+        private DataSize maximumSize;
+
+        /** Number of reads after which an off-heap entry is moved back to the heap. */
+        private int promotionHits;
+    }
 }
@@ -0,0 +1,15 @@
+package com.jaikeex.issuetrackerservice.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "filter.config")
+public class FilterProperties {
+
+    private boolean inMemoryIndex;
+}
@@ -0,0 +1,20 @@
+package com.jaikeex.issuetrackerservice.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "history.config")
+public class HistoryProperties {
+
+    private boolean async;
+    private int queueCapacity;
+    private int batchSize;
+    private long flushIntervalMillis;
+    private long offerTimeoutMillis;
+    private long shutdownTimeoutMillis;
+}
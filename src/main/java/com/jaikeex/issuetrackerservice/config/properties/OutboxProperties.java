@@ -0,0 +1,24 @@
+package com.jaikeex.issuetrackerservice.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "outbox.config")
+public class OutboxProperties {
+
+    private boolean relayEnabled;
+    private long pollIntervalMillis;
+    private int batchSize;
+    private long retentionHours;
+    private boolean memorySink;
+    private int memorySinkCapacity;
+
+    /** Age of the event following a missing outbox id after which the
+     * missing id is skipped by the relay and the change feed. */
+    private long gapGraceMillis;
+}
@@ -0,0 +1,16 @@
+package com.jaikeex.issuetrackerservice.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "pagination.config")
+public class PaginationProperties {
+
+    private int defaultPageSize;
+    private int maxPageSize;
+}
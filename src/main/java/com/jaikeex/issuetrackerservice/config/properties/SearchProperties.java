@@ -0,0 +1,16 @@
+package com.jaikeex.issuetrackerservice.config.properties;
+
+import com.jaikeex.issuetrackerservice.service.search.SearchEngineType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "search.config")
+public class SearchProperties {
+
+    private SearchEngineType engine;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 @Data
 @AllArgsConstructor
@@ -13,5 +14,6 @@ public class StorageProperties {
 
     private String issueAttachmentsFolder;
     private String attachmentDownloadEndpoint;
-    
+    private DataSize maxAttachmentSize;
+
 }
@@ -0,0 +1,20 @@
+package com.jaikeex.issuetrackerservice.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "stream.config")
+public class StreamProperties {
+
+    private boolean enabled;
+    private int bufferCapacity;
+    private long timeoutMillis;
+    private int maxSubscribers;
+    private int subscriberQueueCapacity;
+    private int senderThreads;
+}
@@ -0,0 +1,22 @@
+package com.jaikeex.issuetrackerservice.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ConfigurationProperties(prefix = "tracing.config")
+public class TracingProperties {
+
+    // Changed at runtime through the tracing endpoint and read by every traced call.
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+    private volatile int maxArgumentLength;
+    private volatile Set<String> disabledPointcuts = new HashSet<>();
+}
@@ -2,19 +2,35 @@ package com.jaikeex.issuetrackerservice.controller;
 
 import com.jaikeex.issuetrackerservice.dto.AttachmentFileDto;
 import com.jaikeex.issuetrackerservice.service.attachment.AttachmentService;
+import com.jaikeex.issuetrackerservice.utility.exception.AttachmentTooLargeException;
+import com.jaikeex.issuetrackerservice.utility.exception.EmptyAttachmentFileException;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidAttachmentUploadException;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 @RequestMapping("/issue/attachments")
 @Slf4j
 public class AttachmentController {
 
+    private static final String ISSUE_TITLE_FIELD = "issueTitle";
+    private static final int MAX_FORM_FIELD_BYTES = 4096;
+
     private final AttachmentService attachmentService;
 
     public AttachmentController(AttachmentService attachmentService) {
@@ -28,13 +44,44 @@ public class AttachmentController {
         return ResponseEntity.ok().build();
     }
 
+    /** Streams a multipart upload straight to the attachment service without
+     * buffering it in memory or in the container's temporary directory. The
+     * issueTitle field has to precede the file part.
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Object> uploadNewAttachmentMultipart(HttpServletRequest request) throws IOException {
+        String issueTitle = null;
+        try {
+            FileItemIterator items = new ServletFileUpload().getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                if (item.isFormField()) {
+                    if (ISSUE_TITLE_FIELD.equals(item.getFieldName())) {
+                        issueTitle = readFormField(item);
+                    }
+                    continue;
+                }
+                if (issueTitle == null) {
+                    throw new InvalidAttachmentUploadException();
+                }
+                try (InputStream content = item.openStream()) {
+                    attachmentService.saveAttachment(issueTitle, item.getName(), content);
+                }
+                return ResponseEntity.ok().build();
+            }
+        } catch (FileUploadException exception) {
+            throw new InvalidAttachmentUploadException(exception.getMessage());
+        }
+        throw new InvalidAttachmentUploadException();
+    }
+
     @GetMapping("/{issueId}/{filename}")
-    public ResponseEntity<Object> downloadAttachmentByFilenameAndIssueId(
+    public void downloadAttachmentByFilenameAndIssueId(
             @PathVariable String filename,
             @PathVariable String issueId,
+            HttpServletRequest request,
             HttpServletResponse response) throws IOException {
-        attachmentService.downloadAttachment(filename, issueId, response);
-        return ResponseEntity.noContent().build();
+        attachmentService.downloadAttachment(filename, issueId, request, response);
     }
 
     @DeleteMapping("/{id}")
@@ -54,6 +101,33 @@ public class AttachmentController {
         log.warn(exception.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
     }
+
+    @ExceptionHandler({InvalidAttachmentUploadException.class, EmptyAttachmentFileException.class})
+    public ResponseEntity<Object> handleInvalidAttachmentUploadException(RuntimeException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    @ExceptionHandler(AttachmentTooLargeException.class)
+    public ResponseEntity<Object> handleAttachmentTooLargeException(AttachmentTooLargeException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(exception.getMessage());
+    }
+
+    /** Reads at most MAX_FORM_FIELD_BYTES of the field, a longer field is
+     * rejected before the rest of it is read into memory.
+     */
+    private String readFormField(FileItemStream item) throws IOException {
+        byte[] value;
+        try (InputStream content = item.openStream()) {
+            value = IOUtils.toByteArray(new BoundedInputStream(content, MAX_FORM_FIELD_BYTES + 1L));
+        }
+        if (value.length > MAX_FORM_FIELD_BYTES) {
+            throw new InvalidAttachmentUploadException(
+                    "The " + item.getFieldName() + " field exceeds " + MAX_FORM_FIELD_BYTES + " bytes.");
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
 }
 
 
@@ -0,0 +1,65 @@
+package com.jaikeex.issuetrackerservice.controller;
+
+import com.jaikeex.issuetrackerservice.dto.BulkResult;
+import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.service.issue.BulkIssueService;
+import com.jaikeex.issuetrackerservice.utility.exception.BulkLimitExceededException;
+import com.jaikeex.issuetrackerservice.utility.exception.TitleAlreadyExistsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * API for operations on many issues in a single request. Every item gets
+ * its own result, failed items do not fail the whole request.
+ */
+@RequestMapping("/issue/bulk")
+@Slf4j
+public class BulkIssueController {
+
+    private final BulkIssueService bulkIssueService;
+
+    public BulkIssueController(BulkIssueService bulkIssueService) {
+        this.bulkIssueService = bulkIssueService;
+    }
+
+    @PostMapping("/create")
+    public ResponseEntity<BulkResult> createIssues(@RequestBody List<IssueDto> issueDtos) {
+        BulkResult result = bulkIssueService.createIssues(issueDtos);
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(result);
+    }
+
+    @PutMapping("/update")
+    public ResponseEntity<BulkResult> updateIssuesWithNewProperties(@RequestBody List<IssueDto> issueDtos) {
+        BulkResult result = bulkIssueService.updateIssuesWithNewProperties(issueDtos);
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(result);
+    }
+
+    @PostMapping("/delete")
+    public ResponseEntity<BulkResult> deleteIssuesByIds(@RequestBody List<Integer> ids) {
+        BulkResult result = bulkIssueService.deleteIssuesByIds(ids);
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(result);
+    }
+
+    private HttpHeaders getJsonHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        return headers;
+    }
+
+    @ExceptionHandler(TitleAlreadyExistsException.class)
+    public ResponseEntity<Object> handleTitleAlreadyExistsException(TitleAlreadyExistsException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+    }
+
+    @ExceptionHandler(BulkLimitExceededException.class)
+    public ResponseEntity<Object> handleBulkLimitExceededException(BulkLimitExceededException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(exception.getMessage());
+    }
+}
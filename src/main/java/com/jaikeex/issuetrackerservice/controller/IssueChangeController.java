@@ -0,0 +1,48 @@
+package com.jaikeex.issuetrackerservice.controller;
+
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxService;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * API for following the issue changes incrementally.
+ */
+@RequestMapping("/issue/changes")
+@Slf4j
+public class IssueChangeController {
+
+    private final OutboxService outboxService;
+
+    public IssueChangeController(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPage<OutboxMessage>> findChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<OutboxMessage> changes = outboxService.findChanges(cursor, size);
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(changes);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    private HttpHeaders getJsonHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        return headers;
+    }
+}
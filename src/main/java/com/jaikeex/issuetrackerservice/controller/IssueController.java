@@ -1,6 +1,10 @@
 package com.jaikeex.issuetrackerservice.controller;
 
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
 import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
@@ -9,19 +13,23 @@ import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
 import com.jaikeex.issuetrackerservice.service.filter.FilterService;
 import com.jaikeex.issuetrackerservice.service.issue.IssueService;
 import com.jaikeex.issuetrackerservice.service.search.SearchService;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueVersionTracker;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
 import com.jaikeex.issuetrackerservice.utility.exception.TitleAlreadyExistsException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.persistence.EntityNotFoundException;
 import java.io.IOException;
-import java.util.List;
 
 /**
- * API for all issue-specific operations.
+ * API for all issue-specific operations. Single issues and issue lists are
+ * returned with ETags, a conditional GET with a matching If-None-Match header
+ * is answered with 304 Not Modified and no body.
  */
 @RequestMapping("/issue")
 @Slf4j
@@ -30,63 +38,115 @@ public class IssueController {
     private final IssueService issueService;
     private final SearchService searchService;
     private final FilterService filterService;
+    private final IssueVersionTracker versionTracker;
 
     public IssueController(IssueService issueService,
                            SearchService searchService,
-                           FilterService filterService) {
+                           FilterService filterService,
+                           IssueVersionTracker versionTracker) {
         this.issueService = issueService;
         this.searchService = searchService;
         this.filterService = filterService;
+        this.versionTracker = versionTracker;
     }
 
+    /** The tag of an issue served before is validated without loading the issue. */
     @GetMapping("/id/{id}")
-    public ResponseEntity<Issue> findIssueById(@PathVariable Integer id) {
+    public ResponseEntity<Issue> findIssueById(@PathVariable Integer id, WebRequest request) {
+        if (isNotModified(versionTracker.findIssueETag(id), request)) {
+            return null;
+        }
+        long changeCount = versionTracker.getChangeCount();
         Issue issue = issueService.findIssueById(id);
-        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issue);
+        return issueResponse(issue, versionTracker.rememberIssueETag(issue, changeCount), request);
     }
 
     @GetMapping("/title/{title}")
-    public ResponseEntity<Issue> findIssueByTitle(@PathVariable String title) {
+    public ResponseEntity<Issue> findIssueByTitle(@PathVariable String title, WebRequest request) {
+        long changeCount = versionTracker.getChangeCount();
         Issue issue = issueService.findIssueByTitle(title);
-        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issue);
+        return issueResponse(issue, versionTracker.rememberIssueETag(issue, changeCount), request);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<Issue>> findAllIssues() {
-        List<Issue> issues = issueService.findAllIssues();
+    public ResponseEntity<CursorPage<IssueSummary>> findAllIssues(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (isNotModified(versionTracker.getListETag(), request)) {
+            return null;
+        }
+        CursorPage<IssueSummary> issues = issueService.findAllIssues(cursor, size);
         return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issues);
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<Issue>> findAllByType(@PathVariable IssueType type) {
-        List<Issue> issues = issueService.findAllIssuesByType(type);
+    public ResponseEntity<CursorPage<IssueSummary>> findAllByType(
+            @PathVariable IssueType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (isNotModified(versionTracker.getListETag(), request)) {
+            return null;
+        }
+        CursorPage<IssueSummary> issues = issueService.findAllIssuesByType(type, cursor, size);
         return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issues);
     }
 
     @GetMapping("/severity/{severity}")
-    public ResponseEntity<List<Issue>> findAllBySeverity(@PathVariable Severity severity) {
-        List<Issue> issues = issueService.findAllIssuesBySeverity(severity);
+    public ResponseEntity<CursorPage<IssueSummary>> findAllBySeverity(
+            @PathVariable Severity severity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (isNotModified(versionTracker.getListETag(), request)) {
+            return null;
+        }
+        CursorPage<IssueSummary> issues = issueService.findAllIssuesBySeverity(severity, cursor, size);
         return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issues);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Issue>> findAllByStatus(@PathVariable Status status) {
-        List<Issue> issues = issueService.findAllIssuesByStatus(status);
+    public ResponseEntity<CursorPage<IssueSummary>> findAllByStatus(
+            @PathVariable Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (isNotModified(versionTracker.getListETag(), request)) {
+            return null;
+        }
+        CursorPage<IssueSummary> issues = issueService.findAllIssuesByStatus(status, cursor, size);
         return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issues);
     }
 
     @GetMapping("/project/{project}")
-    public ResponseEntity<List<Issue>> findAllByProject(@PathVariable Project project) {
-        List<Issue> issues = issueService.findAllIssuesByProject(project);
+    public ResponseEntity<CursorPage<IssueSummary>> findAllByProject(
+            @PathVariable Project project,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (isNotModified(versionTracker.getListETag(), request)) {
+            return null;
+        }
+        CursorPage<IssueSummary> issues = issueService.findAllIssuesByProject(project, cursor, size);
         return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issues);
     }
 
     @PostMapping("/filter")
-    public ResponseEntity<List<Issue>> filterIssues(@RequestBody IssueDto issueDto) {
-        List<Issue> issues = filterService.filterIssues(issueDto);
+    public ResponseEntity<CursorPage<IssueSummary>> filterIssues(
+            @RequestBody IssueFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<IssueSummary> issues = filterService.filterIssues(filter, cursor, size);
         return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issues);
     }
 
+    @PostMapping("/filter/facets")
+    public ResponseEntity<FilterFacets> countFilteredIssues(@RequestBody IssueFilter filter) {
+        FilterFacets facets = filterService.countIssues(filter);
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(facets);
+    }
+
     @PutMapping("/update")
     public ResponseEntity<Issue> updateIssueWithNewProperties(@RequestBody IssueDto issueDto) {
         Issue updatedIssue = issueService.updateIssueWithNewProperties(issueDto);
@@ -101,8 +161,11 @@ public class IssueController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Issue>> searchIssuesGet(@RequestParam(required = false) String query) {
-        List<Issue> issues = searchService.searchIssues(query);
+    public ResponseEntity<CursorPage<IssueSummary>> searchIssuesGet(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<IssueSummary> issues = searchService.searchIssues(query, cursor, size);
         return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issues);
     }
 
@@ -119,6 +182,21 @@ public class IssueController {
         return ResponseEntity.ok().build();
     }
 
+    private ResponseEntity<Issue> issueResponse(Issue issue, String eTag, WebRequest request) {
+        if (isNotModified(eTag, request)) {
+            return null;
+        }
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(issue);
+    }
+
+    /** Checks the tag against the If-None-Match header, the tag is set on
+     * the response as well. A null returned by the handler then completes
+     * the 304 response.
+     */
+    private boolean isNotModified(String eTag, WebRequest request) {
+        return eTag != null && request.checkNotModified(eTag);
+    }
+
     private HttpHeaders getJsonHttpHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Content-Type", "application/json");
@@ -131,6 +209,12 @@ public class IssueController {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Object> handleEntityNotFoundException(EntityNotFoundException exception) {
         log.warn(exception.getMessage());
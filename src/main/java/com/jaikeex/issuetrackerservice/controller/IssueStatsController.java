@@ -0,0 +1,35 @@
+package com.jaikeex.issuetrackerservice.controller;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.service.stats.IssueStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * API serving the issue counts shown on the dashboard.
+ */
+@RequestMapping("/issue/stats")
+@Slf4j
+public class IssueStatsController {
+
+    private final IssueStatsService statsService;
+
+    public IssueStatsController(IssueStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<FilterFacets> getStats() {
+        FilterFacets stats = statsService.getStats();
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(stats);
+    }
+
+    private HttpHeaders getJsonHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        return headers;
+    }
+}
@@ -0,0 +1,45 @@
+package com.jaikeex.issuetrackerservice.controller;
+
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.service.stream.IssueStreamBroadcaster;
+import com.jaikeex.issuetrackerservice.utility.exception.TooManySubscribersException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * API pushing the issue changes to the clients as server-sent events. The
+ * stream can be filtered with the same properties as the issue filter, for
+ * example /issue/stream?project=MWP&status=OPEN&status=SUBMITTED.
+ */
+@RequestMapping("/issue/stream")
+@Slf4j
+public class IssueStreamController {
+
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final IssueStreamBroadcaster broadcaster;
+
+    public IssueStreamController(IssueStreamBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamIssueChanges(
+            IssueFilter filter,
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Integer lastEventId) {
+        return broadcaster.subscribe(filter, lastEventId);
+    }
+
+    @ExceptionHandler(TooManySubscribersException.class)
+    public ResponseEntity<Object> handleTooManySubscribersException(TooManySubscribersException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exception.getMessage());
+    }
+}
@@ -0,0 +1,45 @@
+package com.jaikeex.issuetrackerservice.controller;
+
+import com.jaikeex.issuetrackerservice.dto.SearchIndexReport;
+import com.jaikeex.issuetrackerservice.service.search.index.InvertedIndexSearchEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * API for maintenance of the in-memory search index.
+ */
+@RequestMapping("/issue/search/index")
+@Slf4j
+public class SearchIndexController {
+
+    private final InvertedIndexSearchEngine searchEngine;
+
+    public SearchIndexController(InvertedIndexSearchEngine searchEngine) {
+        this.searchEngine = searchEngine;
+    }
+
+    @GetMapping("/check")
+    public ResponseEntity<SearchIndexReport> checkIndex() {
+        SearchIndexReport report = searchEngine.check();
+        if (!report.isConsistent()) {
+            log.warn("Search index is not consistent with the database: {}", report);
+        }
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(report);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<SearchIndexReport> rebuildIndex() {
+        SearchIndexReport report = searchEngine.rebuild();
+        return ResponseEntity.ok().headers(getJsonHttpHeaders()).body(report);
+    }
+
+    private HttpHeaders getJsonHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        return headers;
+    }
+}
@@ -3,12 +3,19 @@ package com.jaikeex.issuetrackerservice.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AttachmentFileDto {
     private String issueTitle;
+    @ToString.Exclude
     private byte[] bytes;
     private String originalFilename;
+
+    @ToString.Include(name = "bytes")
+    private String bytesSummary() {
+        return bytes == null ? "null" : "byte[" + bytes.length + "]";
+    }
 }
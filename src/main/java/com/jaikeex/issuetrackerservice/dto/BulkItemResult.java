@@ -0,0 +1,28 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single item of a bulk operation. The index points at the
+ * item in the request, the id is null when no issue was affected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    private int index;
+    private Integer id;
+    private BulkItemStatus status;
+    private String message;
+
+    public static BulkItemResult success(int index, Integer id, BulkItemStatus status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failure(int index, Integer id, BulkItemStatus status, String message) {
+        return new BulkItemResult(index, id, status, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+/**
+ * Outcome of a single item of a bulk operation.
+ */
+public enum BulkItemStatus {
+    CREATED(true),
+    UPDATED(true),
+    UNCHANGED(true),
+    DELETED(true),
+    INVALID(false),
+    NOT_FOUND(false),
+    CONFLICT(false);
+
+    private final boolean successful;
+
+    BulkItemStatus(boolean successful) {
+        this.successful = successful;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+}
@@ -0,0 +1,25 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Results of a bulk operation, one per requested item in the request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> items;
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(item -> item.getStatus().isSuccessful()).count();
+        return new BulkResult(succeeded, items.size() - succeeded, items);
+    }
+}
@@ -0,0 +1,21 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. The next page is requested by
+ * passing the nextCursor value back to the same endpoint; a null cursor
+ * means the listing has been exhausted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor;
+}
@@ -0,0 +1,28 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Numbers of issues matching a filter, in total and broken down by the
+ * values of every issue property. Values without any matching issue are
+ * listed with zero.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilterFacets {
+
+    private long total;
+    private Map<IssueType, Long> type;
+    private Map<Severity, Long> severity;
+    private Map<Status, Long> status;
+    private Map<Project, Long> project;
+}
@@ -0,0 +1,36 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Criteria of the issue filter. An issue matches when each of its properties
+ * is one of the requested values, properties without values are not filtered
+ * on. Every property accepts a single value as well as an array, so the
+ * filter can still be sent as an IssueDto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueFilter {
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private Set<IssueType> type;
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private Set<Severity> severity;
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private Set<Status> status;
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private Set<Project> project;
+}
@@ -0,0 +1,24 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of issues sharing a single combination of property values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuePropertyCount {
+
+    private IssueType type;
+    private Severity severity;
+    private Status status;
+    private Project project;
+    private Long count;
+}
@@ -0,0 +1,25 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Text fields of an issue indexed by the search engine. The index is rebuilt
+ * from these columns only, without loading the issue entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueSearchText {
+
+    private Integer id;
+    private String title;
+    private String author;
+    private String description;
+
+    public IssueSearchText(Issue issue) {
+        this(issue.getId(), issue.getTitle(), issue.getAuthor(), issue.getDescription());
+    }
+}
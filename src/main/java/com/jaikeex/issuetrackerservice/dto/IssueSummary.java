@@ -0,0 +1,52 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Read-only view of an issue returned by the list endpoints. It carries only
+ * the columns shown in issue listings, the description, history records and
+ * attachments are returned with the full issue by its id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueSummary {
+
+    private Integer id;
+    private String title;
+    private String author;
+    private Timestamp date;
+
+    private IssueType type;
+    private Severity severity;
+    private Status status;
+    private Project project;
+
+    /** Used by the summary queries, Hibernate passes timestamp columns as java.util.Date. */
+    public IssueSummary(Integer id, String title, String author, Date date,
+                        IssueType type, Severity severity, Status status, Project project) {
+        this(id, title, author, toTimestamp(date), type, severity, status, project);
+    }
+
+    public IssueSummary(Issue issue) {
+        this(issue.getId(), issue.getTitle(), issue.getAuthor(), issue.getDate(),
+                issue.getType(), issue.getSeverity(), issue.getStatus(), issue.getProject());
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        if (date == null || date instanceof Timestamp) {
+            return (Timestamp) date;
+        }
+        return new Timestamp(date.getTime());
+    }
+}
@@ -0,0 +1,34 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Issue change read from the outbox, as handed to the sinks and returned by
+ * the change feed. The ids are handed out in order, so consumers can resume
+ * after the last id they processed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    private Integer id;
+    private Integer issueId;
+    private IssueChangeType type;
+    private Timestamp createdAt;
+
+    /** JSON summary of the issue, embedded as it is. */
+    @JsonRawValue
+    private String issue;
+
+    public OutboxMessage(OutboxEvent event) {
+        this(event.getId(), event.getIssueId(), event.getChangeType(), event.getCreatedAt(), event.getPayload());
+    }
+}
@@ -0,0 +1,32 @@
+package com.jaikeex.issuetrackerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a comparison of the search index with the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexReport {
+
+    private int indexedIssues;
+    private int databaseIssues;
+
+    /** Ids of the issues present in the database but missing in the index. */
+    private List<Integer> missingIds;
+
+    /** Ids of the issues present in the index but no longer in the database. */
+    private List<Integer> staleIds;
+
+    /** Ids of the issues whose indexed terms differ from the database content. */
+    private List<Integer> outdatedIds;
+
+    public boolean isConsistent() {
+        return missingIds.isEmpty() && staleIds.isEmpty() && outdatedIds.isEmpty();
+    }
+}
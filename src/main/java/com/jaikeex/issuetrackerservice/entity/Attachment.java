@@ -16,19 +16,30 @@ import java.sql.Timestamp;
 public class Attachment {
 
     public Attachment(String path, AttachmentFileDto attachmentFileDto, Issue issue) {
+        this(path, attachmentFileDto.getOriginalFilename(), issue);
+    }
+
+    public Attachment(String path, String originalFilename, Issue issue) {
         Timestamp now = new Timestamp(System.currentTimeMillis());
         this.setPath(path);
-        this.setOriginalFilename(attachmentFileDto.getOriginalFilename());
+        this.setOriginalFilename(originalFilename);
         this.setIssue(issue);
         this.setDate(now);
     }
 
+    public Attachment(String path, String originalFilename, String blobHash, Issue issue) {
+        this(path, originalFilename, issue);
+        this.setBlobHash(blobHash);
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
     private String path;
     private String originalFilename;
     private Timestamp date;
+    @JsonIgnore
+    private String blobHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "issueid")
@@ -0,0 +1,28 @@
+package com.jaikeex.issuetrackerservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "attachment_blob")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentBlob {
+
+    public AttachmentBlob(String hash, long size) {
+        this.setHash(hash);
+        this.setSize(size);
+        this.setReferenceCount(1);
+    }
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+    private long size;
+    private int referenceCount;
+
+}
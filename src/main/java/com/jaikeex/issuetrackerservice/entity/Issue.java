@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.sql.Timestamp;
@@ -16,12 +17,20 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_issue_project_status_id", columnList = "project, status, id"),
+        @Index(name = "idx_issue_type_severity_id", columnList = "type, severity, id")},
+        uniqueConstraints = @UniqueConstraint(name = Issue.TITLE_CONSTRAINT, columnNames = "title"))
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString(exclude = {"historyRecords", "attachments"})
 public class Issue {
 
+    /** Unique index rejecting a second issue with the same title. */
+    public static final String TITLE_CONSTRAINT = "uk_issue_title";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -42,6 +51,13 @@ public class Issue {
     private Status status;
     private Project project;
 
+    /** Incremented with every change of the issue, including its history
+     * records and attachments, the ETags of the issue are derived from it.
+     * Property updates increment it on the entity, so that it is written in
+     * the same UPDATE as the properties; they load the issue locked, so no
+     * concurrent increment can be overwritten. */
+    private long version;
+
     public Issue(IssueDto issueDto) {
         Timestamp now = new Timestamp(System.currentTimeMillis());
 
@@ -62,6 +78,36 @@ public class Issue {
         this.project = project;
     }
 
+    /** Copies the properties which differ from the current ones from the dto
+     * and increments the version if any of them changed. On a managed entity
+     * the changed columns are written in a single UPDATE when the transaction
+     * commits. Properties missing in the dto are left unchanged.
+     * @return true if any property was changed.
+     */
+    public boolean updateProperties(IssueDto issueDto) {
+        boolean changed = false;
+        if (issueDto.getType() != null && issueDto.getType() != getType()) {
+            setType(issueDto.getType());
+            changed = true;
+        }
+        if (issueDto.getSeverity() != null && issueDto.getSeverity() != getSeverity()) {
+            setSeverity(issueDto.getSeverity());
+            changed = true;
+        }
+        if (issueDto.getStatus() != null && issueDto.getStatus() != getStatus()) {
+            setStatus(issueDto.getStatus());
+            changed = true;
+        }
+        if (issueDto.getProject() != null && issueDto.getProject() != getProject()) {
+            setProject(issueDto.getProject());
+            changed = true;
+        }
+        if (changed) {
+            version++;
+        }
+        return changed;
+    }
+
     public String propertiesToString() {
         return type.toString() + " " + severity.toString() + " " + project.toString() + "; status: " + status.toString();
     }
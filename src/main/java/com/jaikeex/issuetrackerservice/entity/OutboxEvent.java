@@ -0,0 +1,46 @@
+package com.jaikeex.issuetrackerservice.entity;
+
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/**
+ * Issue change written to the outbox in the transaction of the change. The
+ * change type is stored by name, the rows are read by other services.
+ */
+@Entity
+@Table(name = "issue_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    public OutboxEvent(Integer issueId, IssueChangeType changeType, String payload) {
+        this.setIssueId(issueId);
+        this.setChangeType(changeType);
+        this.setPayload(payload);
+        this.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    private Integer issueId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private IssueChangeType changeType;
+
+    /** JSON summary of the issue after the change, or before it when the issue was deleted. */
+    @Lob
+    private String payload;
+
+    private Timestamp createdAt;
+
+    /** Time the relay handed the event to the sinks, null while it is pending. */
+    private Timestamp publishedAt;
+}
@@ -0,0 +1,31 @@
+package com.jaikeex.issuetrackerservice.repository;
+
+import com.jaikeex.issuetrackerservice.entity.AttachmentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AttachmentBlob b WHERE b.hash = :hash")
+    Optional<AttachmentBlob> findByHashForUpdate(
+            @Param("hash") String hash);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO attachment_blob (hash, size, reference_count) VALUES (:hash, :size, 0)",
+            nativeQuery = true)
+    int insertUnreferenced(
+            @Param("hash") String hash,
+            @Param("size") long size);
+
+}
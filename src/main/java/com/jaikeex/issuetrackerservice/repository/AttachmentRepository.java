@@ -2,8 +2,22 @@ package com.jaikeex.issuetrackerservice.repository;
 
 import com.jaikeex.issuetrackerservice.entity.Attachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AttachmentRepository extends JpaRepository<Attachment, Integer> {
+
+    Optional<Attachment> findFirstByIssueIdAndOriginalFilenameOrderByIdDesc(int issueId, String originalFilename);
+
+    /** Returns one hash per attachment, a blob shared by several attachments is repeated. */
+    @Query("SELECT a.blobHash FROM Attachment a WHERE a.issue.id IN :issueIds AND a.blobHash IS NOT NULL")
+    List<String> findBlobHashesByIssueIds(
+            @Param("issueIds") Collection<Integer> issueIds);
+
 }
@@ -0,0 +1,20 @@
+package com.jaikeex.issuetrackerservice.repository;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+
+import java.util.List;
+
+/**
+ * Writes issues in JDBC batches, bypassing the persistence context. Mixed
+ * into {@link IssueRepository}.
+ */
+public interface IssueBatchRepository {
+
+    /** Inserts the issues in JDBC batches and sets the generated ids on them.
+     * The issues are not attached to the persistence context.
+     *
+     * @param issues new issues without ids.
+     * @param batchSize maximum number of rows sent in one batch.
+     */
+    void insertInBatches(List<Issue> issues, int batchSize);
+}
@@ -0,0 +1,80 @@
+package com.jaikeex.issuetrackerservice.repository;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+public class IssueBatchRepositoryImpl implements IssueBatchRepository {
+
+    private static final String INSERT_ISSUE_SQL =
+            "INSERT INTO issue (title, description, date, author, type, severity, status, project, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IssueBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertInBatches(List<Issue> issues, int batchSize) {
+        if (issues.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute(
+                connection -> connection.prepareStatement(INSERT_ISSUE_SQL, Statement.RETURN_GENERATED_KEYS),
+                (PreparedStatement statement) -> {
+                    for (int from = 0; from < issues.size(); from += batchSize) {
+                        List<Issue> batch = issues.subList(from, Math.min(from + batchSize, issues.size()));
+                        for (Issue issue : batch) {
+                            setParameters(statement, issue);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                        readGeneratedIds(statement, batch);
+                    }
+                    return null;
+                });
+    }
+
+    private void setParameters(PreparedStatement statement, Issue issue) throws SQLException {
+        statement.setString(1, issue.getTitle());
+        statement.setString(2, issue.getDescription());
+        statement.setTimestamp(3, issue.getDate());
+        statement.setString(4, issue.getAuthor());
+        setOrdinal(statement, 5, issue.getType());
+        setOrdinal(statement, 6, issue.getSeverity());
+        setOrdinal(statement, 7, issue.getStatus());
+        setOrdinal(statement, 8, issue.getProject());
+        statement.setLong(9, issue.getVersion());
+    }
+
+    private void setOrdinal(PreparedStatement statement, int index, Enum<?> value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        }
+        else {
+            statement.setInt(index, value.ordinal());
+        }
+    }
+
+    private void readGeneratedIds(PreparedStatement statement, List<Issue> batch) throws SQLException {
+        int read = 0;
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next() && read < batch.size()) {
+                batch.get(read++).setId(keys.getInt(1));
+            }
+        }
+        if (read != batch.size()) {
+            throw new IncorrectResultSizeDataAccessException("Generated ids were not returned for all inserted issues",
+                    batch.size(), read);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jaikeex.issuetrackerservice.repository;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+
+import java.util.List;
+
+/**
+ * Runs the issue filter as a typed criteria query. Mixed into
+ * {@link IssueRepository}.
+ */
+public interface IssueFilterRepository {
+
+    /** Returns the summaries of the issues matching the filter with ids lower
+     * than the given one, newest first.
+     *
+     * @param filter criteria of the filter.
+     * @param beforeId exclusive upper bound of the returned ids.
+     * @param limit maximum number of returned summaries.
+     * @return Matching summaries ordered by id descending.
+     */
+    List<IssueSummary> findSummaries(IssueFilter filter, int beforeId, int limit);
+
+    /** Counts the issues matching the filter per value of every property
+     * with grouped aggregate queries.
+     *
+     * @param filter criteria of the filter.
+     * @return The counts.
+     */
+    FilterFacets countFacets(IssueFilter filter);
+}
@@ -0,0 +1,105 @@
+package com.jaikeex.issuetrackerservice.repository;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the filter query from the requested values only, so that the
+ * database gets a plain conjunction of IN lists which it can serve from the
+ * (project, status, id) and (type, severity, id) indexes.
+ */
+public class IssueFilterRepositoryImpl implements IssueFilterRepository {
+
+    private final EntityManager entityManager;
+
+    public IssueFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<IssueSummary> findSummaries(IssueFilter filter, int beforeId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueSummary> query = builder.createQuery(IssueSummary.class);
+        Root<Issue> issue = query.from(Issue.class);
+        query.select(builder.construct(IssueSummary.class,
+                issue.get("id"), issue.get("title"), issue.get("author"), issue.get("date"),
+                issue.get("type"), issue.get("severity"), issue.get("status"), issue.get("project")));
+
+        List<Predicate> predicates = predicatesOf(filter, issue);
+        predicates.add(builder.lessThan(issue.get("id"), beforeId));
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(builder.desc(issue.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public FilterFacets countFacets(IssueFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Issue> issue = query.from(Issue.class);
+        query.select(builder.count(issue));
+        query.where(predicatesOf(filter, issue).toArray(new Predicate[0]));
+        long total = entityManager.createQuery(query).getSingleResult();
+
+        return new FilterFacets(total,
+                countBy(filter, "type", IssueType.class),
+                countBy(filter, "severity", Severity.class),
+                countBy(filter, "status", Status.class),
+                countBy(filter, "project", Project.class));
+    }
+
+    private <E extends Enum<E>> Map<E, Long> countBy(IssueFilter filter, String attribute, Class<E> type) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<Issue> issue = query.from(Issue.class);
+        query.multiselect(issue.get(attribute), builder.count(issue));
+        query.where(predicatesOf(filter, issue).toArray(new Predicate[0]));
+        query.groupBy(issue.get(attribute));
+
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            if (row[0] != null) {
+                counts.put(type.cast(row[0]), (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+
+    private List<Predicate> predicatesOf(IssueFilter filter, Root<Issue> issue) {
+        List<Predicate> predicates = new ArrayList<>();
+        addInPredicate(predicates, issue, "type", filter.getType());
+        addInPredicate(predicates, issue, "severity", filter.getSeverity());
+        addInPredicate(predicates, issue, "status", filter.getStatus());
+        addInPredicate(predicates, issue, "project", filter.getProject());
+        return predicates;
+    }
+
+    private void addInPredicate(List<Predicate> predicates, Root<Issue> issue, String attribute, Collection<?> values) {
+        if (values != null && !values.isEmpty()) {
+            predicates.add(issue.get(attribute).in(values));
+        }
+    }
+}
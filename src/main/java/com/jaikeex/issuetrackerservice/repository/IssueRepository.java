@@ -1,35 +1,102 @@
 package com.jaikeex.issuetrackerservice.repository;
 
+import com.jaikeex.issuetrackerservice.dto.IssuePropertyCount;
+import com.jaikeex.issuetrackerservice.dto.IssueSearchText;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface IssueRepository extends JpaRepository<Issue, Integer> {
+public interface IssueRepository extends JpaRepository<Issue, Integer>, IssueBatchRepository, IssueFilterRepository {
+
+    /** Selects the columns of the issue summaries returned by the list endpoints. */
+    String SUMMARY_SELECT = "SELECT new com.jaikeex.issuetrackerservice.dto.IssueSummary(" +
+            "i.id, i.title, i.author, i.date, i.type, i.severity, i.status, i.project) FROM Issue i ";
 
     Optional<Issue> findByTitle(String title);
 
-    List<Issue> findAllByStatus(Status status);
+    @Query("SELECT new com.jaikeex.issuetrackerservice.dto.IssueSearchText(" +
+            "i.id, i.title, i.author, i.description) FROM Issue i WHERE i.id < :id ORDER BY i.id DESC")
+    List<IssueSearchText> findSearchTextsBeforeId(
+            @Param("id") Integer id,
+            Pageable pageable);
+
+    @Query("SELECT new com.jaikeex.issuetrackerservice.dto.IssuePropertyCount(" +
+            "i.type, i.severity, i.status, i.project, COUNT(i)) FROM Issue i " +
+            "GROUP BY i.type, i.severity, i.status, i.project")
+    List<IssuePropertyCount> countByProperties();
 
-    List<Issue> findAllByType(IssueType type);
+    @Query(SUMMARY_SELECT + "WHERE i.id < :id ORDER BY i.id DESC")
+    List<IssueSummary> findSummariesBeforeId(
+            @Param("id") Integer id,
+            Pageable pageable);
 
-    List<Issue> findAllBySeverity(Severity severity);
+    @Query(SUMMARY_SELECT + "WHERE i.type = :type AND i.id < :id ORDER BY i.id DESC")
+    List<IssueSummary> findSummariesByTypeBeforeId(
+            @Param("type") IssueType type,
+            @Param("id") Integer id,
+            Pageable pageable);
 
-    List<Issue> findAllByProject(Project project);
+    @Query(SUMMARY_SELECT + "WHERE i.severity = :severity AND i.id < :id ORDER BY i.id DESC")
+    List<IssueSummary> findSummariesBySeverityBeforeId(
+            @Param("severity") Severity severity,
+            @Param("id") Integer id,
+            Pageable pageable);
 
-    @Query("SELECT i FROM Issue i ORDER BY i.id DESC")
-    List<Issue> findAllIssues();
+    @Query(SUMMARY_SELECT + "WHERE i.status = :status AND i.id < :id ORDER BY i.id DESC")
+    List<IssueSummary> findSummariesByStatusBeforeId(
+            @Param("status") Status status,
+            @Param("id") Integer id,
+            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE i.project = :project AND i.id < :id ORDER BY i.id DESC")
+    List<IssueSummary> findSummariesByProjectBeforeId(
+            @Param("project") Project project,
+            @Param("id") Integer id,
+            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE i.id IN :ids")
+    List<IssueSummary> findSummariesByIds(
+            @Param("ids") Collection<Integer> ids);
+
+    @Query(value = "SELECT i.id FROM issue i " +
+            "WHERE MATCH(i.title, i.author, i.description) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(i.title, i.author, i.description) AGAINST (:query IN BOOLEAN MODE) DESC, i.id DESC " +
+            "LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Integer> findIdsMatchingFullTextQuery(
+            @Param("query") String query,
+            @Param("limit") int limit,
+            @Param("offset") int offset);
+
+    @Query("SELECT i.id FROM Issue i " +
+            "WHERE LOWER(i.title) LIKE :pattern ESCAPE '!' " +
+            "OR LOWER(i.author) LIKE :pattern ESCAPE '!' " +
+            "OR LOWER(i.description) LIKE :pattern ESCAPE '!' " +
+            "ORDER BY CASE WHEN LOWER(i.title) LIKE :pattern ESCAPE '!' THEN 0 ELSE 1 END, i.id DESC")
+    List<Integer> findIdsContaining(
+            @Param("pattern") String pattern,
+            Pageable pageable);
+
+    @Query("SELECT i.title FROM Issue i WHERE i.title IN :titles")
+    List<String> findExistingTitles(
+            @Param("titles") Collection<String> titles);
 
     @Query("SELECT i FROM Issue i WHERE i.title = :title")
     Issue findIssueByTitle(
@@ -39,39 +106,28 @@ public interface IssueRepository extends JpaRepository<Issue, Integer> {
     Issue findIssueById(
             @Param("id") Integer id);
 
-    @Modifying(clearAutomatically = true)
-    @Transactional
-    @Query("UPDATE Issue SET type = :type WHERE id = :id")
-    void updateIssueWithNewType(
-            @Param("id") Integer id,
-            @Param("type") IssueType type);
-
-    @Modifying(clearAutomatically = true)
-    @Transactional
-    @Query("UPDATE Issue SET severity = :severity WHERE id = :id")
-    void updateIssueWithNewSeverity(
-            @Param("id") Integer id,
-            @Param("severity") Severity severity);
-
-    @Modifying(clearAutomatically = true)
-    @Transactional
-    @Query("UPDATE Issue SET status = :status WHERE id = :id")
-    void updateIssueWithNewStatus(
-            @Param("id") Integer id,
-            @Param("status") Status status);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Issue i WHERE i.id = :id")
+    Optional<Issue> findByIdForUpdate(
+            @Param("id") Integer id);
 
-    @Modifying(clearAutomatically = true)
-    @Transactional
-    @Query("UPDATE Issue SET project = :project WHERE id = :id")
-    void updateIssueWithNewProject(
-            @Param("id") Integer id,
-            @Param("project") Project project);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Issue i WHERE i.id IN :ids ORDER BY i.id")
+    List<Issue> findAllByIdForUpdate(
+            @Param("ids") Collection<Integer> ids);
 
     @Modifying(clearAutomatically = true)
     @Transactional
-    @Query("UPDATE Issue SET description = :description WHERE title = :title")
+    @Query("UPDATE Issue SET description = :description, version = version + 1 WHERE title = :title")
     void updateIssueWithNewDescription(
             @Param("title") String title,
             @Param("description") String description);
 
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE Issue SET version = version + 1 WHERE id = :id")
+    void incrementVersion(
+            @Param("id") Integer id);
+
+
 }
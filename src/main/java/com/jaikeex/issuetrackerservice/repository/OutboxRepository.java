@@ -0,0 +1,44 @@
+package com.jaikeex.issuetrackerservice.repository;
+
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Integer> {
+
+    @Query("SELECT o FROM OutboxEvent o WHERE o.id > :id ORDER BY o.id")
+    List<OutboxEvent> findAllAfterId(
+            @Param("id") Integer id,
+            Pageable pageable);
+
+    @Query("SELECT o FROM OutboxEvent o WHERE o.publishedAt IS NULL ORDER BY o.id")
+    List<OutboxEvent> findUnpublished(
+            Pageable pageable);
+
+    @Query("SELECT o FROM OutboxEvent o WHERE o.publishedAt IS NOT NULL ORDER BY o.id DESC")
+    List<OutboxEvent> findLatestPublished(
+            Pageable pageable);
+
+    @Query("SELECT MAX(o.id) FROM OutboxEvent o WHERE o.publishedAt IS NOT NULL")
+    Integer findLastPublishedId();
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.publishedAt = :publishedAt WHERE o.id IN :ids")
+    int markPublished(
+            @Param("ids") Collection<Integer> ids,
+            @Param("publishedAt") Timestamp publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.publishedAt < :before")
+    int deletePublishedBefore(
+            @Param("before") Timestamp before);
+}
@@ -0,0 +1,295 @@
+package com.jaikeex.issuetrackerservice.service.attachment;
+
+import com.jaikeex.issuetrackerservice.config.properties.StorageProperties;
+import com.jaikeex.issuetrackerservice.entity.AttachmentBlob;
+import com.jaikeex.issuetrackerservice.repository.AttachmentBlobRepository;
+import com.jaikeex.issuetrackerservice.utility.exception.AttachmentTooLargeException;
+import com.jaikeex.issuetrackerservice.utility.exception.EmptyAttachmentFileException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+/**
+ * Content-addressed store for attachment files. Every distinct content is
+ * kept on disk exactly once, under the hex SHA-256 hash of its bytes, and
+ * the attachments referencing it are counted in the attachment_blob table.
+ *
+ * <p>The blob row is locked while its count is changed and while its file is
+ * written or deleted, so stores and releases are serialized across instances.
+ * A blob file is written only while its count is 0, and deleted only after
+ * the release of the last reference has been committed, when the count is
+ * still 0.
+ */
+@Slf4j
+public class AttachmentBlobStore {
+
+    private static final String BLOBS_FOLDER = "blobs";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int COPY_BUFFER_SIZE = 8192;
+    private static final int MAX_LOCK_ATTEMPTS = 3;
+    private static final String TEMP_FILE_PREFIX = ".upload-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final AttachmentBlobRepository blobRepository;
+    private final Path blobsFolder;
+    private final long maxAttachmentSizeBytes;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    public AttachmentBlobStore(AttachmentBlobRepository blobRepository,
+                               StorageProperties storageProperties,
+                               PlatformTransactionManager transactionManager) {
+        this.blobRepository = blobRepository;
+        this.blobsFolder = Paths.get(storageProperties.getIssueAttachmentsFolder(), BLOBS_FOLDER).toAbsolutePath().normalize();
+        this.maxAttachmentSizeBytes = storageProperties.getMaxAttachmentSize().toBytes();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Stores the content and adds a reference to its blob. The content is
+     * hashed in memory first, so a repeated upload of an already stored blob
+     * does not touch the disk at all.
+     *
+     * @param content bytes of the attachment file.
+     * @return Hash identifying the blob.
+     * @throws IOException when there is a problem with writing the blob file.
+     * @throws EmptyAttachmentFileException when there is no content.
+     * @throws AttachmentTooLargeException when the content exceeds the maximum size.
+     */
+    public String store(byte[] content) throws IOException {
+        if (content.length == 0) {
+            throw new EmptyAttachmentFileException();
+        }
+        if (content.length > maxAttachmentSizeBytes) {
+            throw new AttachmentTooLargeException();
+        }
+        String hash = toHex(createDigest().digest(content));
+        addReference(hash, content.length, blobPath -> {
+            Files.createDirectories(blobsFolder);
+            Path tempFile = Files.createTempFile(blobsFolder, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+            try {
+                Files.write(tempFile, content);
+                moveIntoPlace(tempFile, blobPath);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        });
+        return hash;
+    }
+
+    /** Streams the content into a temporary file in bounded chunks while
+     * hashing it, then either moves the file into place as a new blob or
+     * discards it and adds a reference to the already stored blob.
+     *
+     * @param content stream with the attachment file, it is not closed by this method.
+     * @return Hash identifying the blob.
+     * @throws IOException when there is a problem with writing the blob file.
+     * @throws EmptyAttachmentFileException when there is no content.
+     * @throws AttachmentTooLargeException when the content exceeds the maximum size.
+     */
+    public String store(InputStream content) throws IOException {
+        Files.createDirectories(blobsFolder);
+        Path tempFile = Files.createTempFile(blobsFolder, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            MessageDigest digest = createDigest();
+            long size = copyWithSizeLimit(content, tempFile, digest);
+            if (size == 0) {
+                throw new EmptyAttachmentFileException();
+            }
+            String hash = toHex(digest.digest());
+            addReference(hash, size, blobPath -> moveIntoPlace(tempFile, blobPath));
+            return hash;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /** Removes one reference to the blob. The reference count is decremented
+     * in the transaction of the caller, the blob file is deleted after the
+     * commit when no attachment references it anymore.
+     *
+     * @param hash hash identifying the blob.
+     */
+    public void release(String hash) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Optional<AttachmentBlob> blob = blobRepository.findByHashForUpdate(hash);
+            if (!blob.isPresent()) {
+                log.warn("Released a missing attachment blob [hash={}]", hash);
+                return;
+            }
+            int referenceCount = blob.get().getReferenceCount() - 1;
+            blob.get().setReferenceCount(referenceCount);
+            if (referenceCount <= 0) {
+                runAfterCommit(() -> deleteIfUnreferenced(hash));
+            }
+        });
+    }
+
+    /** Returns the path of the blob file with the given hash.
+     *
+     * @param hash hash identifying the blob.
+     * @return Path of the blob file.
+     */
+    public Path resolve(String hash) {
+        return blobsFolder.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private long copyWithSizeLimit(InputStream content, Path target, MessageDigest digest) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long size = 0;
+        try (OutputStream outputStream = Files.newOutputStream(target)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                size += read;
+                if (size > maxAttachmentSizeBytes) {
+                    throw new AttachmentTooLargeException();
+                }
+                digest.update(buffer, 0, read);
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    /** Adds a reference to the blob, writing its file first when the blob
+     * is not referenced yet. The row is created beforehand in a separate
+     * transaction, so that concurrent stores of a new blob all wait for the
+     * same row lock. A row deleted meanwhile by a release is created again.
+     */
+    private void addReference(String hash, long size, BlobWriter writer) throws IOException {
+        for (int attempt = 1; attempt <= MAX_LOCK_ATTEMPTS; attempt++) {
+            createIfMissing(hash, size);
+            Boolean added;
+            try {
+                added = transactionTemplate.execute(status -> {
+                    Optional<AttachmentBlob> blob = blobRepository.findByHashForUpdate(hash);
+                    if (!blob.isPresent()) {
+                        return false;
+                    }
+                    if (blob.get().getReferenceCount() <= 0) {
+                        writeBlob(hash, writer);
+                        log.debug("Stored a new attachment blob [hash={}, size={}]", hash, size);
+                    }
+                    else {
+                        log.debug("Reused an existing attachment blob [hash={}]", hash);
+                    }
+                    blob.get().setReferenceCount(Math.max(blob.get().getReferenceCount(), 0) + 1);
+                    return true;
+                });
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+            if (Boolean.TRUE.equals(added)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("The attachment blob was deleted while being stored [hash=" + hash + "]");
+    }
+
+    private void createIfMissing(String hash, long size) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> {
+                if (!blobRepository.existsById(hash)) {
+                    blobRepository.insertUnreferenced(hash, size);
+                }
+            });
+        } catch (DataIntegrityViolationException exception) {
+            log.debug("Attachment blob created concurrently [hash={}]", hash);
+        }
+    }
+
+    /** Deletes the blob file and its row when the blob is still unreferenced.
+     * A failure leaves the row with no references, its file is written again
+     * by the next store.
+     */
+    private void deleteIfUnreferenced(String hash) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> blobRepository.findByHashForUpdate(hash)
+                    .filter(blob -> blob.getReferenceCount() <= 0)
+                    .ifPresent(blob -> {
+                        deleteBlobFile(hash);
+                        blobRepository.delete(blob);
+                        log.debug("Deleted an unreferenced attachment blob [hash={}]", hash);
+                    }));
+        } catch (RuntimeException exception) {
+            log.warn("Failed to delete an unreferenced attachment blob [hash={}]", hash, exception);
+        }
+    }
+
+    private void writeBlob(String hash, BlobWriter writer) {
+        try {
+            Path blobPath = resolve(hash);
+            Files.createDirectories(blobPath.getParent());
+            writer.write(blobPath);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void deleteBlobFile(String hash) {
+        try {
+            Files.deleteIfExists(resolve(hash));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void moveIntoPlace(Path tempFile, Path blobPath) throws IOException {
+        Files.move(tempFile, blobPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    /** Writes the content of a new blob to its path. */
+    private interface BlobWriter {
+
+        void write(Path blobPath) throws IOException;
+    }
+}
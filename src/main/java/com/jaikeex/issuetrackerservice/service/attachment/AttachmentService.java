@@ -1,10 +1,14 @@
 package com.jaikeex.issuetrackerservice.service.attachment;
 
 import com.jaikeex.issuetrackerservice.dto.AttachmentFileDto;
+import com.jaikeex.issuetrackerservice.utility.exception.AttachmentTooLargeException;
 
 import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 
 /**
  * Manages the attachments of individual issue reports.
@@ -12,7 +16,8 @@ import java.io.IOException;
 public interface AttachmentService {
 
     /**Converts an AttachmentDto to Attachment object and saves both the file
-     * on disk and its record in database.
+     * on disk and its record in database. Identical files are stored only
+     * once and shared by all attachments referencing them.
      *
      * @param attachmentFileDto Data transfer object which contains the file
      *                          itself and other data needed to process
@@ -23,7 +28,23 @@ public interface AttachmentService {
      */
     void saveAttachment(AttachmentFileDto attachmentFileDto) throws IOException;
 
-    /**Deletes both the attachment file and its database record matching an id.
+    /**Streams the content of an attachment file to disk in bounded chunks and
+     * saves its record in database. The file is written to a temporary file
+     * first and renamed into place when complete, unless a file with the same
+     * content is already stored.
+     *
+     * @param issueTitle title of the issue which the file belongs to.
+     * @param originalFilename name of the uploaded file.
+     * @param content stream with the file content, it is not closed by this method.
+     * @throws IOException when there is a problem with either saving the file
+     *                     or creating the issue-specific folder.
+     * @throws EntityNotFoundException when the requested entity does not exist in the database.
+     * @throws AttachmentTooLargeException when the file exceeds the configured maximum size.
+     */
+    void saveAttachment(String issueTitle, String originalFilename, InputStream content) throws IOException;
+
+    /**Deletes the database record matching an id, and the attachment file
+     * when no other attachment shares it.
      *
      * @param id Database id of the attachment that is about to be deleted.
      * @throws IOException when there is a problem with deleting the
@@ -32,12 +53,24 @@ public interface AttachmentService {
      */
     void deleteAttachmentById(int id) throws IOException;
 
-    /**Copies the file into the provided http response.
+    /**Releases the blobs referenced by the attachments of issues that are
+     * about to be deleted. It has to be called before the issues are deleted,
+     * the blobs are released once the surrounding transaction commits.
+     *
+     * @param issueIds Database ids of the issues that are about to be deleted.
+     */
+    void releaseAttachmentsOfDeletedIssues(Collection<Integer> issueIds);
+
+    /**Sends the file, or the byte range of it requested by the client, in the
+     * provided http response. Conditional requests are answered with
+     * 304 Not Modified when the client's copy is still valid.
      *
      * @param filename name of the file.
      * @param issueId database id of the issue which the file belongs to.
+     * @param request http request with the conditional and range headers.
      * @param response used to send the requested file to user.
      * @throws IOException when there is a problem with downloading the file.
+     * @throws EntityNotFoundException when the requested file does not exist.
      */
-    void downloadAttachment(String filename, String issueId, HttpServletResponse response) throws IOException;
+    void downloadAttachment(String filename, String issueId, HttpServletRequest request, HttpServletResponse response) throws IOException;
 }
@@ -8,26 +8,35 @@ import com.jaikeex.issuetrackerservice.repository.AttachmentRepository;
 import com.jaikeex.issuetrackerservice.repository.IssueRepository;
 import com.jaikeex.issuetrackerservice.service.history.HistoryService;
 import com.jaikeex.issuetrackerservice.utility.RecordType;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
 import com.jaikeex.issuetrackerservice.utility.exception.EmptyAttachmentFileException;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidAttachmentUploadException;
+import com.jaikeex.issuetrackerservice.utility.download.FileSender;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
-import org.springframework.cache.annotation.CacheEvict;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
 public class AttachmentServiceImpl implements AttachmentService {
 
-    private static final String CACHE_NAME = "issue-cache-eh";
     private static final String ISSUE_NOT_FOUND_EXCEPTION_MESSAGE = "Requested issue report does not exist in the database.";
     private static final String ATTACHMENT_NOT_FOUND_EXCEPTION_MESSAGE = "Requested file does not exist.";
 
@@ -36,24 +45,52 @@ public class AttachmentServiceImpl implements AttachmentService {
     private final HistoryService historyService;
     private final Path issueAttachmentsFolder;
     private final String attachmentDownloadEndpoint;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FileSender fileSender;
+    private final AttachmentBlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
 
     public AttachmentServiceImpl(IssueRepository issueRepository,
                                  AttachmentRepository attachmentRepository,
                                  HistoryService historyService,
-                                 StorageProperties storageProperties) {
+                                 StorageProperties storageProperties,
+                                 ApplicationEventPublisher eventPublisher,
+                                 FileSender fileSender,
+                                 AttachmentBlobStore blobStore,
+                                 PlatformTransactionManager transactionManager) {
         this.issueRepository = issueRepository;
         this.attachmentRepository = attachmentRepository;
         this.historyService = historyService;
         this.issueAttachmentsFolder = Paths.get(storageProperties.getIssueAttachmentsFolder());
         this.attachmentDownloadEndpoint = storageProperties.getAttachmentDownloadEndpoint();
+        this.eventPublisher = eventPublisher;
+        this.fileSender = fileSender;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @Override
-    @CacheEvict(value = CACHE_NAME, allEntries = true)
     public void saveAttachment(AttachmentFileDto attachmentFileDto) throws IOException {
+        checkForEmptyFile(attachmentFileDto);
         Optional<Issue> issue = issueRepository.findByTitle(attachmentFileDto.getIssueTitle());
         if (issue.isPresent()) {
-            saveAttachmentToDiskAndDatabase(attachmentFileDto, issue.get());
+            String filename = getValidFilename(attachmentFileDto.getOriginalFilename());
+            String blobHash = blobStore.store(attachmentFileDto.getBytes());
+            saveAttachmentToDatabase(filename, blobHash, issue.get());
+        }
+        else {
+            throw new EntityNotFoundException(ISSUE_NOT_FOUND_EXCEPTION_MESSAGE);
+        }
+    }
+
+    @Override
+    public void saveAttachment(String issueTitle, String originalFilename, InputStream content) throws IOException {
+        Optional<Issue> issue = issueRepository.findByTitle(issueTitle);
+        if (issue.isPresent()) {
+            String filename = getValidFilename(originalFilename);
+            String blobHash = blobStore.store(content);
+            saveAttachmentToDatabase(filename, blobHash, issue.get());
         }
         else {
             throw new EntityNotFoundException(ISSUE_NOT_FOUND_EXCEPTION_MESSAGE);
@@ -61,7 +98,6 @@ public class AttachmentServiceImpl implements AttachmentService {
     }
 
     @Override
-    @CacheEvict(value = CACHE_NAME, allEntries = true)
     public void deleteAttachmentById(int id) throws IOException {
         Optional<Attachment> attachmentToDelete = attachmentRepository.findById(id);
         if(attachmentToDelete.isPresent()) {
@@ -72,42 +108,108 @@ public class AttachmentServiceImpl implements AttachmentService {
         }
     }
 
+    /** The attachment rows are removed together with their issues, the
+     * reference counts are decremented in a new transaction after the commit,
+     * so a rolled back delete never releases a blob that is still referenced.
+     */
+    @Override
+    public void releaseAttachmentsOfDeletedIssues(Collection<Integer> issueIds) {
+        List<String> blobHashes = attachmentRepository.findBlobHashesByIssueIds(issueIds);
+        if (blobHashes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseBlobs(blobHashes);
+                }
+            });
+        } else {
+            releaseBlobs(blobHashes);
+        }
+    }
+
     @Override
     public void downloadAttachment(String filename,
                                    String issueId,
+                                   HttpServletRequest request,
                                    HttpServletResponse response) throws IOException {
-        copyFileToResponse(filename, issueId, response);
-        response.flushBuffer();
+        Path attachmentPath = resolveAttachmentPath(issueId, filename);
+        fileSender.send(attachmentPath, filename, request, response);
+        log.info("Processed an attachment file for download [filename={}, status={}]", filename, response.getStatus());
     }
 
-    private void saveAttachmentToDiskAndDatabase(AttachmentFileDto attachmentFileDto, Issue issue) throws IOException {
-        String filePath = getFilePath(issue, attachmentFileDto.getOriginalFilename());
-        String downloadLink = getDownloadLink(filePath);
-        checkForEmptyFile(attachmentFileDto);
-        createIssueAttachmentDirectory(issue.getId());
-        writeAttachmentFileToDisk(attachmentFileDto.getBytes(), filePath);
-        saveAttachmentReferenceInDatabase(attachmentFileDto, issue, downloadLink);
-        log.info("Successfully saved new attachment file [filename={}]", attachmentFileDto.getOriginalFilename());
+    /** Saves the attachment record referencing an already stored blob. The
+     * reference is released again when the record cannot be saved.
+     */
+    private void saveAttachmentToDatabase(String filename, String blobHash, Issue issue) throws IOException {
+        String downloadLink = getDownloadLink(getFilePath(issue, filename));
+        try {
+            saveAttachmentReferenceInDatabase(filename, blobHash, issue, downloadLink);
+        } catch (RuntimeException exception) {
+            blobStore.release(blobHash);
+            throw exception;
+        }
+        log.info("Successfully saved new attachment file [filename={}, blob={}]", filename, blobHash);
     }
 
     private void deleteAttachmentFromDiskAndDatabase(Attachment attachmentToDelete) throws IOException {
         Issue parentIssue = attachmentToDelete.getIssue();
-        String attachmentFilePath = getFilePath(parentIssue, attachmentToDelete.getOriginalFilename());
-        deleteAttachmentFileFromDisk(attachmentFilePath);
         deleteAttachmentFromDatabase(attachmentToDelete, parentIssue);
+        if (attachmentToDelete.getBlobHash() != null) {
+            blobStore.release(attachmentToDelete.getBlobHash());
+        }
+        else {
+            deleteAttachmentFileFromDisk(getFilePath(parentIssue, attachmentToDelete.getOriginalFilename()));
+        }
         log.info("Successfully deleted an attachment file [filename={}]", attachmentToDelete);
     }
 
-    private void copyFileToResponse(String filename, String issueId, HttpServletResponse response) throws IOException {
-        File file = new File(String.format("/issue/attachments/%s/%s", issueId, filename));
-        InputStream inputStream = new FileInputStream(file);
-        IOUtils.copy(inputStream, response.getOutputStream());
-        log.info("Processed an attachment file for download [filename={}]", filename);
+    private void releaseBlobs(List<String> blobHashes) {
+        transactionTemplate.executeWithoutResult(status -> blobHashes.forEach(blobStore::release));
+        log.info("Released the attachment blobs of deleted issues [count={}]", blobHashes.size());
+    }
+
+    /** Returns the path of an existing attachment file. Attachments stored
+     * before the blob store was introduced are looked up under their issue
+     * folder.
+     * @throws EntityNotFoundException when the file does not exist or the path
+     *                                 points outside the attachments folder.
+     */
+    private Path resolveAttachmentPath(String issueId, String filename) {
+        Optional<Attachment> attachment = findAttachment(issueId, filename);
+        if (attachment.isPresent() && attachment.get().getBlobHash() != null) {
+            Path blobPath = blobStore.resolve(attachment.get().getBlobHash());
+            if (Files.isRegularFile(blobPath)) {
+                return blobPath;
+            }
+        }
+        return resolveLegacyAttachmentPath(issueId, filename);
+    }
+
+    private Optional<Attachment> findAttachment(String issueId, String filename) {
+        try {
+            return attachmentRepository.findFirstByIssueIdAndOriginalFilenameOrderByIdDesc(Integer.parseInt(issueId), filename);
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private Path resolveLegacyAttachmentPath(String issueId, String filename) {
+        Path attachmentsFolder = issueAttachmentsFolder.toAbsolutePath().normalize();
+        Path attachmentPath = attachmentsFolder.resolve(issueId).resolve(filename).normalize();
+        if (!attachmentPath.startsWith(attachmentsFolder) || !Files.isRegularFile(attachmentPath)) {
+            throw new EntityNotFoundException(ATTACHMENT_NOT_FOUND_EXCEPTION_MESSAGE);
+        }
+        return attachmentPath;
     }
 
     private void deleteAttachmentFromDatabase(Attachment attachmentToDelete, Issue issue) {
         historyService.record(RecordType.DELETE_ATTACHMENT, issue, attachmentToDelete);
         attachmentRepository.deleteById(attachmentToDelete.getId());
+        issueRepository.incrementVersion(issue.getId());
+        eventPublisher.publishEvent(IssueChangeEvent.of(IssueChange.attachmentDeleted(issue)));
     }
 
     private void deleteAttachmentFileFromDisk(String filePath) throws IOException {
@@ -117,18 +219,23 @@ public class AttachmentServiceImpl implements AttachmentService {
     }
 
     private void saveAttachmentReferenceInDatabase(
-            AttachmentFileDto attachmentFileDto,
+            String filename,
+            String blobHash,
             Issue issue,
             String downloadLink) {
-        Attachment newAttachment = new Attachment(downloadLink, attachmentFileDto, issue);
+        Attachment newAttachment = new Attachment(downloadLink, filename, blobHash, issue);
         historyService.record(RecordType.ADD_ATTACHMENT, issue, newAttachment);
         attachmentRepository.save(newAttachment);
+        issueRepository.incrementVersion(issue.getId());
+        eventPublisher.publishEvent(IssueChangeEvent.of(IssueChange.attachmentAdded(issue)));
     }
 
-    private void writeAttachmentFileToDisk(byte[] bytes, String filePath) throws IOException {
-        Path destinationPath = issueAttachmentsFolder.resolve(
-                Paths.get(filePath)).normalize().toAbsolutePath();
-        Files.write(destinationPath, bytes);
+    private String getValidFilename(String originalFilename) {
+        String filename = FilenameUtils.getName(originalFilename);
+        if (filename == null || filename.isEmpty() || filename.equals(".") || filename.equals("..")) {
+            throw new InvalidAttachmentUploadException();
+        }
+        return filename;
     }
 
     private void checkForEmptyFile(AttachmentFileDto attachmentFileDto) {
@@ -137,12 +244,6 @@ public class AttachmentServiceImpl implements AttachmentService {
         }
     }
 
-    private void createIssueAttachmentDirectory(int issueId) throws IOException {
-        Path issueDirectoryPath = Paths.get(
-                issueAttachmentsFolder.toString() + "/" + issueId);
-        Files.createDirectories(issueDirectoryPath);
-    }
-
     private String getFilePath(Issue issue, String originalFilename) {
         return issue.getId() + "/" + originalFilename;
     }
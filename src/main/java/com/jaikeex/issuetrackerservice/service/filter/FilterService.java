@@ -1,15 +1,23 @@
 package com.jaikeex.issuetrackerservice.service.filter;
 
-import com.jaikeex.issuetrackerservice.dto.IssueDto;
-import com.jaikeex.issuetrackerservice.entity.Issue;
-
-import java.util.List;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 
 public interface FilterService {
 
-    /** Returns those issue reports from database that match a given set of properties.
-     * @param issueDto Dto with values of those properties that should be matched by the filter.
-     * @return List of issues matching the filter.
+    /** Returns a page of those issue reports from database that match a given set of properties.
+     * @param filter Values of those properties that should be matched by the filter.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, null for the default size.
+     * @return Page of summaries of the issues matching the filter, newest first.
+     */
+    CursorPage<IssueSummary> filterIssues(IssueFilter filter, String cursor, Integer size);
+
+    /** Counts the issue reports matching a given set of properties per value of every property.
+     * @param filter Values of those properties that should be matched by the filter.
+     * @return Total number of matching issues and their numbers per property value.
      */
-    List<Issue> filterIssues(IssueDto issueDto);
+    FilterFacets countIssues(IssueFilter filter);
 }
@@ -1,39 +1,62 @@
 package com.jaikeex.issuetrackerservice.service.filter;
 
-import com.jaikeex.issuetrackerservice.dto.IssueDto;
-import com.jaikeex.issuetrackerservice.entity.Issue;
-import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
-import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
-import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
-import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.filter.index.BitmapFilterIndex;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 @Slf4j
 public class FilterServiceImpl implements FilterService {
 
     private final IssueRepository repository;
+    private final CursorPagination pagination;
+    private final BitmapFilterIndex filterIndex;
 
-    public FilterServiceImpl(IssueRepository repository) {
+    /**
+     * @param filterIndex in-memory index answering the filter, null when the
+     *                    filter should be run as a database query.
+     */
+    public FilterServiceImpl(IssueRepository repository, CursorPagination pagination, BitmapFilterIndex filterIndex) {
         this.repository = repository;
+        this.pagination = pagination;
+        this.filterIndex = filterIndex;
     }
 
+    /** Properties without values in the filter are not filtered on. */
     @Override
-    public List<Issue> filterIssues(IssueDto issueDto) {
-        IssueType type = issueDto.getType();
-        Severity severity = issueDto.getSeverity();
-        Project project = issueDto.getProject();
-        Status status = issueDto.getStatus();
-
-        ExampleMatcher matcher = ExampleMatcher.matching().withIgnoreNullValues();
-        Example<Issue> exampleQuery = Example.of(new Issue(type, severity, status, project), matcher);
-        List<Issue> results =  repository.findAll(exampleQuery);
-        Collections.reverse(results); //in order to display newest at the top.
-        return results;
+    public CursorPage<IssueSummary> filterIssues(IssueFilter filter, String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int beforeId = pagination.decodeCursor(cursor, Integer.MAX_VALUE);
+        List<IssueSummary> issues = filterIndex != null
+                ? findSummariesInIndex(filter, beforeId, pageSize + 1)
+                : repository.findSummaries(filter, beforeId, pageSize + 1);
+        return pagination.toPage(issues, pageSize, IssueSummary::getId);
+    }
+
+    @Override
+    public FilterFacets countIssues(IssueFilter filter) {
+        return filterIndex != null ? filterIndex.countFacets(filter) : repository.countFacets(filter);
+    }
+
+    /** Resolves the page of matching ids in the index, only the summaries of
+     * the issues on the page are loaded by their primary keys.
+     */
+    private List<IssueSummary> findSummariesInIndex(IssueFilter filter, int beforeId, int limit) {
+        List<Integer> ids = filterIndex.findIds(filter, beforeId, limit);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<IssueSummary> issues = new ArrayList<>(repository.findSummariesByIds(ids));
+        issues.sort(Comparator.comparing(IssueSummary::getId).reversed());
+        return issues;
     }
 }
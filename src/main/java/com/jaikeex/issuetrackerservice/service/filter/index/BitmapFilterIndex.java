@@ -0,0 +1,125 @@
+package com.jaikeex.issuetrackerservice.service.filter.index;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers the issue filter from in-memory property bitmaps. The index is
+ * built from the database at startup and then kept up to date by the issue
+ * change events published after every committed write, so the matching ids
+ * and their counts are resolved without a query.
+ */
+@Slf4j
+public class BitmapFilterIndex implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final IssueRepository repository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PropertyBitmapIndex index = new PropertyBitmapIndex();
+
+    public BitmapFilterIndex(IssueRepository repository) {
+        this.repository = repository;
+    }
+
+    /** Returns ids of the issues matching the filter with ids lower than the
+     * given one, newest first.
+     *
+     * @param filter criteria of the filter.
+     * @param beforeId exclusive upper bound of the returned ids.
+     * @param limit maximum number of returned ids.
+     * @return Matching ids in descending order.
+     */
+    public List<Integer> findIds(IssueFilter filter, int beforeId, int limit) {
+        BitSet matching = match(filter);
+        List<Integer> ids = new ArrayList<>(Math.min(limit, matching.cardinality()));
+        for (int id = matching.previousSetBit(beforeId - 1); id >= 0 && ids.size() < limit; id = matching.previousSetBit(id - 1)) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /** Counts the issues matching the filter per value of every property.
+     *
+     * @param filter criteria of the filter.
+     * @return The counts.
+     */
+    public FilterFacets countFacets(IssueFilter filter) {
+        lock.readLock().lock();
+        try {
+            return index.count(index.match(filter));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Builds the index from the database. The write lock is held for the
+     * whole build so that no change committed meanwhile gets lost.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            int beforeId = Integer.MAX_VALUE;
+            List<IssueSummary> batch;
+            do {
+                batch = repository.findSummariesBeforeId(beforeId, PageRequest.of(0, BATCH_SIZE));
+                for (IssueSummary issue : batch) {
+                    index.index(issue.getId(), issue.getType(), issue.getSeverity(), issue.getStatus(), issue.getProject());
+                }
+                if (!batch.isEmpty()) {
+                    beforeId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == BATCH_SIZE);
+            log.info("Filter index built with {} issues in {} ms", index.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Applies committed issue changes to the index.
+     *
+     * @param event Event published by the issue service.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChange(IssueChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (IssueChange change : event.getChanges()) {
+                Issue current = change.getCurrent();
+                if (current == null) {
+                    index.remove(change.getIssueId());
+                } else {
+                    index.index(current.getId(), current.getType(), current.getSeverity(), current.getStatus(), current.getProject());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet match(IssueFilter filter) {
+        lock.readLock().lock();
+        try {
+            return index.match(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.jaikeex.issuetrackerservice.service.filter.index;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bitmaps of the ids of the issues having each value of a single issue
+ * property. Issue ids are dense auto-increment keys, so a plain BitSet
+ * indexed by the id stays compact.
+ * Not thread safe, the access is synchronized by {@link BitmapFilterIndex}.
+ */
+class EnumBitmaps<E extends Enum<E>> {
+
+    private final Class<E> type;
+    private final EnumMap<E, BitSet> bitmaps;
+
+    EnumBitmaps(Class<E> type) {
+        this.type = type;
+        this.bitmaps = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            bitmaps.put(value, new BitSet());
+        }
+    }
+
+    /** Sets the value of the property of an issue, replacing its previous value.
+     *
+     * @param id id of the issue.
+     * @param value new value, null when the issue has no value.
+     */
+    void set(int id, E value) {
+        clear(id);
+        if (value != null) {
+            bitmaps.get(value).set(id);
+        }
+    }
+
+    /** Removes an issue from the bitmaps.
+     *
+     * @param id id of the issue.
+     */
+    void clear(int id) {
+        for (BitSet bitmap : bitmaps.values()) {
+            bitmap.clear(id);
+        }
+    }
+
+    /** Keeps only those ids in the given bitmap whose issues have one of the values.
+     * Nothing is filtered when no values are given.
+     *
+     * @param ids bitmap of ids, modified in place.
+     * @param values accepted values, may be null.
+     */
+    void retainMatching(BitSet ids, Set<E> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet matching = new BitSet();
+        for (E value : values) {
+            matching.or(bitmaps.get(value));
+        }
+        ids.and(matching);
+    }
+
+    /** Counts the issues of the given bitmap having each value.
+     *
+     * @param ids bitmap of ids.
+     * @return Number of issues per value, including values with zero issues.
+     */
+    Map<E, Long> count(BitSet ids) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (Map.Entry<E, BitSet> entry : bitmaps.entrySet()) {
+            BitSet matching = (BitSet) entry.getValue().clone();
+            matching.and(ids);
+            counts.put(entry.getKey(), (long) matching.cardinality());
+        }
+        return counts;
+    }
+}
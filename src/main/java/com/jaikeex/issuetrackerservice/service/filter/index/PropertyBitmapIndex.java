@@ -0,0 +1,78 @@
+package com.jaikeex.issuetrackerservice.service.filter.index;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+
+import java.util.BitSet;
+
+/**
+ * In-memory index of the type, severity, status and project of the issue
+ * reports. A filter is answered by OR-ing the bitmaps of the requested
+ * values of every property and AND-ing the results.
+ * Not thread safe, the access is synchronized by {@link BitmapFilterIndex}.
+ */
+class PropertyBitmapIndex {
+
+    private final BitSet ids = new BitSet();
+    private final EnumBitmaps<IssueType> types = new EnumBitmaps<>(IssueType.class);
+    private final EnumBitmaps<Severity> severities = new EnumBitmaps<>(Severity.class);
+    private final EnumBitmaps<Status> statuses = new EnumBitmaps<>(Status.class);
+    private final EnumBitmaps<Project> projects = new EnumBitmaps<>(Project.class);
+
+    /** Adds an issue to the index, replacing its previously indexed properties. */
+    void index(int id, IssueType type, Severity severity, Status status, Project project) {
+        ids.set(id);
+        types.set(id, type);
+        severities.set(id, severity);
+        statuses.set(id, status);
+        projects.set(id, project);
+    }
+
+    /** Removes an issue from the index.
+     *
+     * @param id id of the issue to be removed.
+     */
+    void remove(int id) {
+        ids.clear(id);
+        types.clear(id);
+        severities.clear(id);
+        statuses.clear(id);
+        projects.clear(id);
+    }
+
+    /** Returns the bitmap of ids of the issues matching the filter.
+     *
+     * @param filter criteria of the filter.
+     * @return New bitmap owned by the caller.
+     */
+    BitSet match(IssueFilter filter) {
+        BitSet matching = (BitSet) ids.clone();
+        types.retainMatching(matching, filter.getType());
+        severities.retainMatching(matching, filter.getSeverity());
+        statuses.retainMatching(matching, filter.getStatus());
+        projects.retainMatching(matching, filter.getProject());
+        return matching;
+    }
+
+    /** Counts the issues of the bitmap per value of every property.
+     *
+     * @param matching bitmap returned by {@link #match(IssueFilter)}.
+     * @return The counts.
+     */
+    FilterFacets count(BitSet matching) {
+        return new FilterFacets(
+                matching.cardinality(),
+                types.count(matching),
+                severities.count(matching),
+                statuses.count(matching),
+                projects.count(matching));
+    }
+
+    int size() {
+        return ids.cardinality();
+    }
+}
@@ -0,0 +1,252 @@
+package com.jaikeex.issuetrackerservice.service.history;
+
+import com.jaikeex.issuetrackerservice.config.properties.HistoryProperties;
+import com.jaikeex.issuetrackerservice.entity.HistoryRecord;
+import com.jaikeex.issuetrackerservice.repository.HistoryRepository;
+import com.jaikeex.issuetrackerservice.utility.event.IssueHistoryWrittenEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * History service writing the records asynchronously. Records are queued
+ * once the surrounding transaction commits and written by a background
+ * thread in JDBC batches, a batch is flushed when it is full or when the
+ * flush interval since its first record elapses. When the queue stays full
+ * for longer than the offer timeout, the calling thread writes its record
+ * itself. Records still queued or collected on shutdown are written before
+ * the service stops.
+ * Records are therefore visible to readers only after a short delay. Every
+ * written batch increments the versions of its issues in the same transaction
+ * and is announced with an {@link IssueHistoryWrittenEvent}.
+ */
+@Slf4j
+public class BatchingHistoryServiceImpl extends HistoryServiceImpl implements SmartInitializingSingleton, DisposableBean {
+
+    private static final String INSERT_HISTORY_RECORD_SQL = "INSERT INTO history (text, date, issueid) VALUES (?, ?, ?)";
+    private static final String INCREMENT_ISSUE_VERSIONS_SQL = "UPDATE issue SET version = version + 1 WHERE id IN (%s)";
+    private static final String WRITER_THREAD_NAME = "history-writer";
+    /** Queued by {@link #destroy()} to wake up the writer. */
+    private static final PendingRecord STOP = new PendingRecord(null, null, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final Thread writer;
+    /** Records queued or collected by the writer and not yet written. */
+    private final AtomicInteger unwrittenRecords = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    public BatchingHistoryServiceImpl(HistoryRepository repository,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      HistoryProperties properties,
+                                      ApplicationEventPublisher eventPublisher) {
+        super(repository);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis());
+        this.offerTimeoutMillis = properties.getOfferTimeoutMillis();
+        this.shutdownTimeoutMillis = properties.getShutdownTimeoutMillis();
+        this.writer = new Thread(this::writeQueuedRecords, WRITER_THREAD_NAME);
+        this.writer.setDaemon(true);
+    }
+
+    /** Starts the writer once the service is fully constructed. Records
+     * recorded earlier wait in the queue.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        writer.start();
+    }
+
+    @Override
+    protected void saveNewRecord(HistoryRecord record) {
+        saveNewRecords(Collections.singletonList(record));
+    }
+
+    @Override
+    protected void saveNewRecords(List<HistoryRecord> records) {
+        List<PendingRecord> pendingRecords = new ArrayList<>(records.size());
+        for (HistoryRecord record : records) {
+            pendingRecords.add(new PendingRecord(record.getText(), record.getDate(), record.getIssue().getId()));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingRecords.forEach(BatchingHistoryServiceImpl.this::enqueue);
+                }
+            });
+        } else {
+            pendingRecords.forEach(this::enqueue);
+        }
+    }
+
+    /** Stops accepting records into the queue and waits until the writer
+     * writes the records already queued, including the batch it is collecting.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        // Wakes up the writer waiting for the next record. When the queue is
+        // full, the writer does not wait and stops once the queue is empty.
+        queue.offer(STOP);
+        writer.join(shutdownTimeoutMillis);
+        if (writer.isAlive()) {
+            log.warn("History writer did not finish in time, {} records were not written", unwrittenRecords.get());
+            return;
+        }
+        writeRemainingRecords(new ArrayList<>(batchSize));
+    }
+
+    private void enqueue(PendingRecord record) {
+        try {
+            if (running && queue.offer(record, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                unwrittenRecords.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("History queue is full or closed, writing the record synchronously");
+        writeBatch(Collections.singletonList(record));
+    }
+
+    private void writeQueuedRecords() {
+        List<PendingRecord> batch = new ArrayList<>(batchSize);
+        boolean stopped = false;
+        while (!stopped && (running || !queue.isEmpty())) {
+            try {
+                stopped = collectBatch(batch);
+            } catch (InterruptedException exception) {
+                stopped = true;
+            }
+            writeCollectedBatch(batch);
+        }
+        // Records enqueued by callers racing with the shutdown.
+        writeRemainingRecords(batch);
+    }
+
+    /** Collects the records of the next batch.
+     * @return True when the writer was asked to stop.
+     */
+    private boolean collectBatch(List<PendingRecord> batch) throws InterruptedException {
+        PendingRecord first = queue.take();
+        if (first == STOP) {
+            return true;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.remove(STOP)) {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == batchSize || remaining <= 0 || !running) {
+                return false;
+            }
+            PendingRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return false;
+            }
+            if (next == STOP) {
+                return true;
+            }
+            batch.add(next);
+        }
+        return false;
+    }
+
+    private void writeRemainingRecords(List<PendingRecord> batch) {
+        while (queue.drainTo(batch, batchSize) > 0) {
+            batch.remove(STOP);
+            writeCollectedBatch(batch);
+        }
+    }
+
+    private void writeCollectedBatch(List<PendingRecord> batch) {
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+            unwrittenRecords.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingRecord> batch) {
+        try {
+            insert(batch);
+        } catch (RuntimeException exception) {
+            log.warn("Failed to write a batch of {} history records, writing them one by one", batch.size(), exception);
+            batch.forEach(this::writeSingleRecord);
+        }
+    }
+
+    private void writeSingleRecord(PendingRecord record) {
+        try {
+            insert(Collections.singletonList(record));
+        } catch (RuntimeException exception) {
+            log.error("Failed to write a history record [issueId={}, text={}]", record.getIssueId(), record.getText(), exception);
+        }
+    }
+
+    private void insert(List<PendingRecord> records) {
+        Set<Integer> issueIds = records.stream().map(PendingRecord::getIssueId).collect(Collectors.toCollection(TreeSet::new));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_RECORD_SQL, records, records.size(), (statement, record) -> {
+                statement.setString(1, record.getText());
+                statement.setTimestamp(2, record.getDate());
+                statement.setInt(3, record.getIssueId());
+            });
+            incrementIssueVersions(issueIds);
+        });
+        eventPublisher.publishEvent(new IssueHistoryWrittenEvent(issueIds));
+    }
+
+    /** The ids are sorted, so concurrent batches lock the issue rows in the same order. */
+    private void incrementIssueVersions(Set<Integer> issueIds) {
+        String placeholders = String.join(", ", Collections.nCopies(issueIds.size(), "?"));
+        jdbcTemplate.update(String.format(INCREMENT_ISSUE_VERSIONS_SQL, placeholders), issueIds.toArray());
+    }
+
+    /** Column values of a history record waiting in the queue. */
+    @Getter
+    @AllArgsConstructor
+    private static class PendingRecord {
+        private final String text;
+        private final Timestamp date;
+        private final int issueId;
+    }
+}
@@ -4,6 +4,8 @@ import com.jaikeex.issuetrackerservice.entity.Attachment;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.utility.RecordType;
 
+import java.util.List;
+
 public interface HistoryService {
 
     /**Creates an entry in database with information about a change to the issue report.
@@ -18,4 +20,10 @@ public interface HistoryService {
      * @param attachment Changed (uploaded/deleted) attachment.
      */
     void record(RecordType type, Issue issue, Attachment attachment);
+
+    /**Creates entries in database with information about the same change to several issue reports.
+     * @param type Type of the change.
+     * @param issues Changed issues.
+     */
+    void record(RecordType type, List<Issue> issues);
 }
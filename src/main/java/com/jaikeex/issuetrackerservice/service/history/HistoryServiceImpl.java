@@ -7,6 +7,7 @@ import com.jaikeex.issuetrackerservice.repository.HistoryRepository;
 import com.jaikeex.issuetrackerservice.utility.RecordType;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -30,10 +31,23 @@ public class HistoryServiceImpl implements HistoryService {
         saveNewRecord(newRecord);
     }
 
+    @Override
+    public void record(RecordType type, List<Issue> issues) {
+        List<HistoryRecord> newRecords = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            newRecords.add(new HistoryRecord(type.getTextForDbRecord(issue), issue));
+        }
+        saveNewRecords(newRecords);
+    }
+
     protected void saveNewRecord(HistoryRecord record) {
         repository.save(record);
     }
 
+    protected void saveNewRecords(List<HistoryRecord> records) {
+        repository.saveAll(records);
+    }
+
     public List<HistoryRecord> findRecordsByIssueId(int issueId) {
         return repository.findRecordsByIssueId(issueId);
     }
@@ -0,0 +1,47 @@
+package com.jaikeex.issuetrackerservice.service.issue;
+
+import com.jaikeex.issuetrackerservice.dto.BulkResult;
+import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Creates, updates and deletes many issues at once. Every operation runs in
+ * a single transaction, writes the rows in JDBC batches and publishes one
+ * change event for all affected issues. Items that cannot be processed are
+ * reported in the result and do not stop the rest of the operation.
+ */
+public interface BulkIssueService {
+
+    /** Saves the new issues. Attachments in the dtos are ignored.
+     *
+     * @param issueDtos Dtos with the issue report data.
+     * @return Result of every dto, CREATED with the new id or a failure.
+     * @throws com.jaikeex.issuetrackerservice.utility.exception.BulkLimitExceededException
+     *         when there are more dtos than the configured maximum.
+     */
+    @Transactional
+    BulkResult createIssues(List<IssueDto> issueDtos);
+
+    /** Updates the issues with new properties, each issue is specified by
+     * the id contained in its dto.
+     *
+     * @param issueDtos Dtos with the ids and the new properties.
+     * @return Result of every dto, UPDATED, UNCHANGED or a failure.
+     * @throws com.jaikeex.issuetrackerservice.utility.exception.BulkLimitExceededException
+     *         when there are more dtos than the configured maximum.
+     */
+    @Transactional
+    BulkResult updateIssuesWithNewProperties(List<IssueDto> issueDtos);
+
+    /** Deletes the issues matching the ids.
+     *
+     * @param ids ids of the issues which are to be deleted.
+     * @return Result of every id, DELETED or NOT_FOUND.
+     * @throws com.jaikeex.issuetrackerservice.utility.exception.BulkLimitExceededException
+     *         when there are more ids than the configured maximum.
+     */
+    @Transactional
+    BulkResult deleteIssuesByIds(List<Integer> ids);
+}
@@ -0,0 +1,264 @@
+package com.jaikeex.issuetrackerservice.service.issue;
+
+import com.jaikeex.issuetrackerservice.config.properties.BulkProperties;
+import com.jaikeex.issuetrackerservice.dto.BulkItemResult;
+import com.jaikeex.issuetrackerservice.dto.BulkItemStatus;
+import com.jaikeex.issuetrackerservice.dto.BulkResult;
+import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.attachment.AttachmentService;
+import com.jaikeex.issuetrackerservice.service.history.HistoryService;
+import com.jaikeex.issuetrackerservice.utility.RecordType;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.exception.BulkLimitExceededException;
+import com.jaikeex.issuetrackerservice.utility.exception.ConstraintViolations;
+import com.jaikeex.issuetrackerservice.utility.exception.TitleAlreadyExistsException;
+import com.jaikeex.issuetrackerservice.utility.html.HtmlParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Slf4j
+public class BulkIssueServiceImpl implements BulkIssueService {
+
+    private static final String MISSING_TITLE_MESSAGE = "The issue title is missing.";
+    private static final String MISSING_ID_MESSAGE = "The issue id is missing.";
+    private static final String DUPLICATE_TITLE_MESSAGE = "The title is used by another item of the request.";
+    private static final String ISSUE_NOT_FOUND_MESSAGE = "Requested issue report does not exist in the database.";
+
+    private final IssueRepository repository;
+    private final HistoryService historyService;
+    private final AttachmentService attachmentService;
+    private final HtmlParser parser;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxItems;
+    private final int batchSize;
+
+    public BulkIssueServiceImpl(IssueRepository repository,
+                                HistoryService historyService,
+                                AttachmentService attachmentService,
+                                HtmlParser parser,
+                                ApplicationEventPublisher eventPublisher,
+                                BulkProperties properties) {
+        this.repository = repository;
+        this.historyService = historyService;
+        this.attachmentService = attachmentService;
+        this.parser = parser;
+        this.eventPublisher = eventPublisher;
+        this.maxItems = properties.getMaxItems();
+        this.batchSize = properties.getBatchSize();
+    }
+
+    /** Saves the new issues. Titles already present in the database or
+     * repeated within the request are rejected, the issues are inserted in
+     * JDBC batches. Titles are compared ignoring case, as the unique
+     * constraint on the title column does.
+     */
+    @Override
+    public BulkResult createIssues(List<IssueDto> issueDtos) {
+        checkLimit(issueDtos);
+        BulkItemResult[] results = new BulkItemResult[issueDtos.size()];
+        Set<String> usedTitles = findExistingTitles(issueDtos);
+        Set<String> requestedTitles = new HashSet<>();
+        List<Issue> newIssues = new ArrayList<>();
+        List<Integer> newIssueIndexes = new ArrayList<>();
+        for (int index = 0; index < issueDtos.size(); index++) {
+            IssueDto issueDto = issueDtos.get(index);
+            String title = issueDto.getTitle();
+            if (title == null || title.trim().isEmpty()) {
+                results[index] = BulkItemResult.failure(index, null, BulkItemStatus.INVALID, MISSING_TITLE_MESSAGE);
+            }
+            else if (usedTitles.contains(titleKey(title))) {
+                results[index] = BulkItemResult.failure(index, null, BulkItemStatus.CONFLICT, new TitleAlreadyExistsException().getMessage());
+            }
+            else if (!requestedTitles.add(titleKey(title))) {
+                results[index] = BulkItemResult.failure(index, null, BulkItemStatus.CONFLICT, DUPLICATE_TITLE_MESSAGE);
+            }
+            else {
+                Issue issue = new Issue(issueDto);
+                if (issue.getDescription() != null) {
+                    parser.convertNewLinesInDescriptionToHtml(issue);
+                }
+                newIssues.add(issue);
+                newIssueIndexes.add(index);
+            }
+        }
+        insertInBatches(newIssues);
+        historyService.record(RecordType.CREATE, newIssues);
+        List<IssueChange> changes = new ArrayList<>(newIssues.size());
+        for (int i = 0; i < newIssues.size(); i++) {
+            Issue issue = newIssues.get(i);
+            int index = newIssueIndexes.get(i);
+            results[index] = BulkItemResult.success(index, issue.getId(), BulkItemStatus.CREATED);
+            changes.add(IssueChange.created(issue));
+        }
+        publishChanges(changes);
+        return toResult(results);
+    }
+
+    /** Applies the new properties to the managed issues, which are loaded
+     * locked. The changed rows are flushed every batch, so that the updates
+     * are sent in JDBC batches.
+     */
+    @Override
+    public BulkResult updateIssuesWithNewProperties(List<IssueDto> issueDtos) {
+        checkLimit(issueDtos);
+        BulkItemResult[] results = new BulkItemResult[issueDtos.size()];
+        Set<Integer> ids = new LinkedHashSet<>();
+        issueDtos.forEach(issueDto -> ids.add(issueDto.getId()));
+        ids.remove(null);
+        Map<Integer, Issue> issuesById = findIssuesByIdForUpdate(ids);
+        List<Issue> updatedIssues = new ArrayList<>();
+        List<IssueChange> changes = new ArrayList<>();
+        for (int index = 0; index < issueDtos.size(); index++) {
+            IssueDto issueDto = issueDtos.get(index);
+            if (issueDto.getId() == null) {
+                results[index] = BulkItemResult.failure(index, null, BulkItemStatus.INVALID, MISSING_ID_MESSAGE);
+                continue;
+            }
+            Issue issue = issuesById.get(issueDto.getId());
+            if (issue == null) {
+                results[index] = BulkItemResult.failure(index, issueDto.getId(), BulkItemStatus.NOT_FOUND, ISSUE_NOT_FOUND_MESSAGE);
+                continue;
+            }
+            Issue previous = IssueChange.snapshotOf(issue);
+            if (issue.updateProperties(issueDto)) {
+                updatedIssues.add(issue);
+                changes.add(IssueChange.propertiesUpdated(previous, issue));
+                results[index] = BulkItemResult.success(index, issue.getId(), BulkItemStatus.UPDATED);
+                if (updatedIssues.size() % batchSize == 0) {
+                    repository.flush();
+                }
+            }
+            else {
+                results[index] = BulkItemResult.success(index, issue.getId(), BulkItemStatus.UNCHANGED);
+            }
+        }
+        repository.flush();
+        historyService.record(RecordType.UPDATE_PROPERTIES, updatedIssues);
+        publishChanges(changes);
+        return toResult(results);
+    }
+
+    /** Deletes the existing issues with one statement per batch of ids. The
+     * blobs of their attachments are released after the commit.
+     */
+    @Override
+    public BulkResult deleteIssuesByIds(List<Integer> ids) {
+        checkLimit(ids);
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        Set<Integer> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        Map<Integer, Issue> issuesById = findIssuesById(distinctIds);
+        for (int index = 0; index < ids.size(); index++) {
+            Integer id = ids.get(index);
+            if (issuesById.containsKey(id)) {
+                results[index] = BulkItemResult.success(index, id, BulkItemStatus.DELETED);
+            }
+            else {
+                results[index] = BulkItemResult.failure(index, id, BulkItemStatus.NOT_FOUND, ISSUE_NOT_FOUND_MESSAGE);
+            }
+        }
+        for (List<Integer> batch : batches(new ArrayList<>(issuesById.keySet()))) {
+            attachmentService.releaseAttachmentsOfDeletedIssues(batch);
+            repository.deleteAllByIdInBatch(batch);
+        }
+        List<IssueChange> changes = new ArrayList<>(issuesById.size());
+        issuesById.values().forEach(issue -> changes.add(IssueChange.deleted(issue)));
+        publishChanges(changes);
+        return toResult(results);
+    }
+
+    /** Inserts the new issues. A title taken by a concurrent create after
+     * the titles were checked fails the whole request.
+     * @throws TitleAlreadyExistsException when any of the titles already exists.
+     */
+    private void insertInBatches(List<Issue> newIssues) {
+        try {
+            repository.insertInBatches(newIssues, batchSize);
+        } catch (DataIntegrityViolationException exception) {
+            if (ConstraintViolations.isViolationOf(exception, Issue.TITLE_CONSTRAINT)) {
+                throw new TitleAlreadyExistsException();
+            }
+            throw exception;
+        }
+    }
+
+    private void checkLimit(List<?> items) {
+        if (items.size() > maxItems) {
+            throw new BulkLimitExceededException(
+                    "A bulk request can contain at most " + maxItems + " items, got " + items.size() + ".");
+        }
+    }
+
+    /** Returns the keys of the requested titles already present in the
+     * database. The title column has a case-insensitive collation, so the
+     * query matches the stored titles in any case.
+     */
+    private Set<String> findExistingTitles(List<IssueDto> issueDtos) {
+        Map<String, String> titlesByKey = new LinkedHashMap<>();
+        issueDtos.stream()
+                .map(IssueDto::getTitle)
+                .filter(Objects::nonNull)
+                .forEach(title -> titlesByKey.putIfAbsent(titleKey(title), title));
+        Set<String> existingTitles = new HashSet<>();
+        for (List<String> batch : batches(new ArrayList<>(titlesByKey.values()))) {
+            repository.findExistingTitles(batch).forEach(title -> existingTitles.add(titleKey(title)));
+        }
+        return existingTitles;
+    }
+
+    private String titleKey(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    private Map<Integer, Issue> findIssuesByIdForUpdate(Set<Integer> ids) {
+        Map<Integer, Issue> issuesById = new LinkedHashMap<>();
+        for (List<Integer> batch : batches(new ArrayList<>(ids))) {
+            repository.findAllByIdForUpdate(batch).forEach(issue -> issuesById.put(issue.getId(), issue));
+        }
+        return issuesById;
+    }
+
+    private Map<Integer, Issue> findIssuesById(Set<Integer> ids) {
+        Map<Integer, Issue> issuesById = new LinkedHashMap<>();
+        for (List<Integer> batch : batches(new ArrayList<>(ids))) {
+            repository.findAllById(batch).forEach(issue -> issuesById.put(issue.getId(), issue));
+        }
+        return issuesById;
+    }
+
+    /** Splits the items into consecutive batches of at most the batch size. */
+    private <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            batches.add(items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+        return batches;
+    }
+
+    private BulkResult toResult(BulkItemResult[] results) {
+        BulkResult result = BulkResult.of(Arrays.asList(results));
+        log.info("Processed a bulk request [succeeded={}, failed={}]", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private void publishChanges(List<IssueChange> changes) {
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new IssueChangeEvent(changes));
+        }
+    }
+}
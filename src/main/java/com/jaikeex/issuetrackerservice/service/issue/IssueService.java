@@ -1,6 +1,8 @@
 package com.jaikeex.issuetrackerservice.service.issue;
 
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
 import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
@@ -9,7 +11,6 @@ import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Manages all issue related operations.
@@ -22,12 +23,14 @@ public interface IssueService {
      * @return saved Issue.
      * @throws IOException when there is a problem with saving any attached files.
      */
+    @Transactional
     Issue saveNewIssue(IssueDto issueDto) throws IOException;
 
     /** Deletes the issue report matching an id.
      *
      * @param id id of the issue which is to be deleted.
      */
+    @Transactional
     void deleteIssueById(Integer id);
 
     /** Returns the issue report matching an id.
@@ -46,44 +49,54 @@ public interface IssueService {
     @Transactional(readOnly = true)
     Issue findIssueByTitle(String title);
 
-    /** Returns List of all issues currently present in the database.
+    /** Returns one page of all issues, newest first.
      *
-     * @return List with all issues found.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the cursor pointing at the next page.
      */
     @Transactional(readOnly = true)
-    List<Issue> findAllIssues();
+    CursorPage<IssueSummary> findAllIssues(String cursor, Integer size);
 
-    /** Returns all issue reports with a specific type.
+    /** Returns one page of issue reports with a specific type, newest first.
      *
      * @param type Requested issue type.
-     * @return List of all issues with the provided type.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided type.
      */
     @Transactional(readOnly = true)
-    List<Issue> findAllIssuesByType(IssueType type);
+    CursorPage<IssueSummary> findAllIssuesByType(IssueType type, String cursor, Integer size);
 
-    /** Returns all issue reports with a specific severity.
+    /** Returns one page of issue reports with a specific severity, newest first.
      *
      * @param severity Requested issue severity.
-     * @return List of all issues with the provided severity.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided severity.
      */
     @Transactional(readOnly = true)
-    List<Issue> findAllIssuesBySeverity(Severity severity);
+    CursorPage<IssueSummary> findAllIssuesBySeverity(Severity severity, String cursor, Integer size);
 
-    /** Returns all issue reports with a specific status.
+    /** Returns one page of issue reports with a specific status, newest first.
      *
      * @param status Requested issue status.
-     * @return List of all issues with the provided status.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided status.
      */
     @Transactional(readOnly = true)
-    List<Issue> findAllIssuesByStatus(Status status);
+    CursorPage<IssueSummary> findAllIssuesByStatus(Status status, String cursor, Integer size);
 
-    /** Returns all issue reports with a specific project.
+    /** Returns one page of issue reports with a specific project, newest first.
      *
      * @param project Requested issue project.
-     * @return List of all issues with the provided project.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided project.
      */
     @Transactional(readOnly = true)
-    List<Issue> findAllIssuesByProject(Project project);
+    CursorPage<IssueSummary> findAllIssuesByProject(Project project, String cursor, Integer size);
 
     /** Updates an issue in database with new properties. The specific report
      * which is to be updated is specified by an id contained in the IssueDto
@@ -92,6 +105,7 @@ public interface IssueService {
      * @param issueDto Dto with all the necessary data.
      * @return updated issue.
      */
+    @Transactional
     Issue updateIssueWithNewProperties(IssueDto issueDto);
 
     /** Updates an issue in database with new properties. The specific report
@@ -101,6 +115,7 @@ public interface IssueService {
      * @param issueDto Dto with all the necessary data.
      * @return updated issue.
      */
+    @Transactional
     Issue updateIssueWithNewDescription(IssueDto issueDto);
 
 }
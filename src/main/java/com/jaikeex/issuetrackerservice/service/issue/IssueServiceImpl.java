@@ -1,7 +1,10 @@
 package com.jaikeex.issuetrackerservice.service.issue;
 
+import com.jaikeex.issuetrackerservice.config.cache.CacheConfig;
 import com.jaikeex.issuetrackerservice.dto.AttachmentFileDto;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
 import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
@@ -11,63 +14,76 @@ import com.jaikeex.issuetrackerservice.repository.IssueRepository;
 import com.jaikeex.issuetrackerservice.service.attachment.AttachmentService;
 import com.jaikeex.issuetrackerservice.service.history.HistoryService;
 import com.jaikeex.issuetrackerservice.utility.RecordType;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.exception.ConstraintViolations;
 import com.jaikeex.issuetrackerservice.utility.exception.TitleAlreadyExistsException;
 import com.jaikeex.issuetrackerservice.utility.html.HtmlParser;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import javax.persistence.EntityNotFoundException;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 @Slf4j
 public class IssueServiceImpl implements IssueService {
 
-    private static final String CACHE_NAME = "issue-cache-eh";
+    private static final String LIST_KEY_GENERATOR = "issueListKeyGenerator";
     private static final String ISSUE_NOT_FOUND_EXCEPTION_MESSAGE = "Requested issue report does not exist in the database.";
 
     private final HistoryService historyService;
     private final AttachmentService attachmentService;
     private final IssueRepository repository;
     private final HtmlParser parser;
+    private final CursorPagination pagination;
+    private final ApplicationEventPublisher eventPublisher;
 
     public IssueServiceImpl(HistoryService historyService,
                             AttachmentService attachmentService,
                             IssueRepository repository,
-                            HtmlParser parser) {
+                            HtmlParser parser,
+                            CursorPagination pagination,
+                            ApplicationEventPublisher eventPublisher) {
         this.historyService = historyService;
         this.attachmentService = attachmentService;
         this.repository = repository;
         this.parser = parser;
+        this.pagination = pagination;
+        this.eventPublisher = eventPublisher;
     }
 
     /** Converts an IssueDto to Issue object and saves it into the database.
      *
      * @param issueDto Dto with the issue report data.
      * @return saved Issue.
+     * @throws TitleAlreadyExistsException when an issue with the same title already exists.
      * @throws IOException when there is a problem with saving any attached files.
      */
     @Override
-    @CacheEvict(value = CACHE_NAME, allEntries = true)
     public Issue saveNewIssue(IssueDto issueDto) throws IOException {
         Issue issue = new Issue(issueDto);
-        if(canBeCreated(issue)) {
-            saveIssueToDatabase(issue);
-            saveAttachedFilesToDatabase(issueDto);
-        }
+        saveIssueToDatabase(issue);
+        saveAttachedFilesToDatabase(issueDto);
         return issue;
     }
 
-    /** Deletes the issue report matching an id.
+    /** Deletes the issue report matching an id. The blobs of its
+     * attachments are released after the commit.
      *
      * @param id id of the issue which is to be deleted.
      */
     @Override
-    @CacheEvict(value = CACHE_NAME, allEntries = true)
     public void deleteIssueById(Integer id) {
-        repository.deleteById(id);
+        Issue issue = getIssueFromOptional(repository.findById(id));
+        attachmentService.releaseAttachmentsOfDeletedIssues(Collections.singletonList(id));
+        repository.delete(issue);
+        publishChange(IssueChange.deleted(issue));
     }
 
     /** Returns the issue report matching an id.
@@ -76,7 +92,7 @@ public class IssueServiceImpl implements IssueService {
      * @return Issue with the provided id.
      */
     @Override
-    @Cacheable(value = CACHE_NAME, key = "'id' + #id")
+    @Cacheable(value = CacheConfig.ISSUE_CACHE_NAME, key = "'id' + #id", sync = true)
     public Issue findIssueById(int id) {
         Optional<Issue> issue = repository.findById(id);
         return getIssueFromOptional(issue);
@@ -88,64 +104,89 @@ public class IssueServiceImpl implements IssueService {
      * @return Issue with the provided title.
      */
     @Override
-    @Cacheable(value = CACHE_NAME, key = "'title' + #title")
+    @Cacheable(value = CacheConfig.ISSUE_CACHE_NAME, key = "'title' + #title", sync = true)
     public Issue findIssueByTitle(String title) {
         Optional<Issue> issue = repository.findByTitle(title);
         return getIssueFromOptional(issue);
     }
 
-    /** Returns List of all issues currently present in the database.
+    /** Returns one page of all issues, newest first.
      *
-     * @return List with all issues found.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the cursor pointing at the next page.
      */
     @Override
-    @Cacheable(value = CACHE_NAME, key = "'all'")
-    public List<Issue> findAllIssues() {
-        return repository.findAllIssues();
+    @Cacheable(value = CacheConfig.LIST_CACHE_NAME, keyGenerator = LIST_KEY_GENERATOR, sync = true)
+    public CursorPage<IssueSummary> findAllIssues(String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int beforeId = pagination.decodeCursor(cursor, Integer.MAX_VALUE);
+        List<IssueSummary> rows = repository.findSummariesBeforeId(beforeId, pagination.pageRequest(pageSize));
+        return pagination.toPage(rows, pageSize, IssueSummary::getId);
     }
 
-    /** Returns all issue reports with a specific type.
+    /** Returns one page of issue reports with a specific type, newest first.
      *
      * @param type Requested issue type.
-     * @return List of all issues with the provided type.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided type.
      */
     @Override
-    @Cacheable(value = CACHE_NAME, key = "'type' + #type")
-    public List<Issue> findAllIssuesByType(IssueType type) {
-        return repository.findAllByType(type);
+    @Cacheable(value = CacheConfig.LIST_CACHE_NAME, keyGenerator = LIST_KEY_GENERATOR, sync = true)
+    public CursorPage<IssueSummary> findAllIssuesByType(IssueType type, String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int beforeId = pagination.decodeCursor(cursor, Integer.MAX_VALUE);
+        List<IssueSummary> rows = repository.findSummariesByTypeBeforeId(type, beforeId, pagination.pageRequest(pageSize));
+        return pagination.toPage(rows, pageSize, IssueSummary::getId);
     }
 
-    /** Returns all issue reports with a specific severity.
+    /** Returns one page of issue reports with a specific severity, newest first.
      *
      * @param severity Requested issue severity.
-     * @return List of all issues with the provided severity.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided severity.
      */
     @Override
-    @Cacheable(value = CACHE_NAME, key = "'severity' + #severity")
-    public List<Issue> findAllIssuesBySeverity(Severity severity) {
-        return repository.findAllBySeverity(severity);
+    @Cacheable(value = CacheConfig.LIST_CACHE_NAME, keyGenerator = LIST_KEY_GENERATOR, sync = true)
+    public CursorPage<IssueSummary> findAllIssuesBySeverity(Severity severity, String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int beforeId = pagination.decodeCursor(cursor, Integer.MAX_VALUE);
+        List<IssueSummary> rows = repository.findSummariesBySeverityBeforeId(severity, beforeId, pagination.pageRequest(pageSize));
+        return pagination.toPage(rows, pageSize, IssueSummary::getId);
     }
 
-    /** Returns all issue reports with a specific status.
+    /** Returns one page of issue reports with a specific status, newest first.
      *
      * @param status Requested issue status.
-     * @return List of all issues with the provided status.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided status.
      */
     @Override
-    @Cacheable(value = CACHE_NAME, key = "'status' + #status")
-    public List<Issue> findAllIssuesByStatus(Status status) {
-        return repository.findAllByStatus(status);
+    @Cacheable(value = CacheConfig.LIST_CACHE_NAME, keyGenerator = LIST_KEY_GENERATOR, sync = true)
+    public CursorPage<IssueSummary> findAllIssuesByStatus(Status status, String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int beforeId = pagination.decodeCursor(cursor, Integer.MAX_VALUE);
+        List<IssueSummary> rows = repository.findSummariesByStatusBeforeId(status, beforeId, pagination.pageRequest(pageSize));
+        return pagination.toPage(rows, pageSize, IssueSummary::getId);
     }
 
-    /** Returns all issue reports with a specific project.
+    /** Returns one page of issue reports with a specific project, newest first.
      *
      * @param project Requested issue project.
-     * @return List of all issues with the provided project.
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of issue summaries with the provided project.
      */
     @Override
-    @Cacheable(value = CACHE_NAME, key = "'project' + #project")
-    public List<Issue> findAllIssuesByProject(Project project) {
-        return repository.findAllByProject(project);
+    @Cacheable(value = CacheConfig.LIST_CACHE_NAME, keyGenerator = LIST_KEY_GENERATOR, sync = true)
+    public CursorPage<IssueSummary> findAllIssuesByProject(Project project, String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int beforeId = pagination.decodeCursor(cursor, Integer.MAX_VALUE);
+        List<IssueSummary> rows = repository.findSummariesByProjectBeforeId(project, beforeId, pagination.pageRequest(pageSize));
+        return pagination.toPage(rows, pageSize, IssueSummary::getId);
     }
 
     /** Updates an issue in database with new properties. The specific report
@@ -156,10 +197,14 @@ public class IssueServiceImpl implements IssueService {
      * @return updated issue.
      */
     @Override
-    @CacheEvict(value = CACHE_NAME, allEntries = true)
     public Issue updateIssueWithNewProperties(IssueDto issueDto) {
-        Optional<Issue> updatedIssue = changePropertiesInDatabaseById(issueDto);
-        return getIssueFromOptional(updatedIssue);
+        Issue issue = getIssueFromOptional(repository.findByIdForUpdate(issueDto.getId()));
+        Issue previous = IssueChange.snapshotOf(issue);
+        if (issue.updateProperties(issueDto)) {
+            historyService.record(RecordType.UPDATE_PROPERTIES, issue);
+            publishChange(IssueChange.propertiesUpdated(previous, issue));
+        }
+        return issue;
     }
 
     /** Updates an issue in database with new properties. The specific report
@@ -170,26 +215,12 @@ public class IssueServiceImpl implements IssueService {
      * @return updated issue.
      */
     @Override
-    @CacheEvict(value = CACHE_NAME, allEntries = true)
     public Issue updateIssueWithNewDescription(IssueDto issueDto) {
         Optional<Issue> updatedIssue = updateIssueDescriptionInDatabase(issueDto);
         return getIssueFromOptional(updatedIssue);
     }
 
 
-    /** Checks whether an issue report already exists in the database.
-     * @return true if issue can be created, false otherwise.
-     * @throws TitleAlreadyExistsException when the issue already exists.
-     */
-    private boolean canBeCreated(Issue issue) {
-        Issue dbResponse = repository.findIssueByTitle(issue.getTitle());
-        if (dbResponse != null) {
-            throw new TitleAlreadyExistsException();
-        } else {
-            return true;
-        }
-    }
-
     /** Returns the issue inside the Optional container.
      * @return the retrieved issue
      * @throws EntityNotFoundException if there is nothing in the Optional.
@@ -203,8 +234,24 @@ public class IssueServiceImpl implements IssueService {
 
     private void saveIssueToDatabase(Issue issue) {
         parser.convertNewLinesInDescriptionToHtml(issue);
-        repository.save(issue);
+        insertIssue(issue);
         historyService.record(RecordType.CREATE, issue);
+        publishChange(IssueChange.created(issue));
+    }
+
+    /** Inserts the issue right away, duplicate titles are rejected by the
+     * unique index on the title instead of a lookup before the insert.
+     * @throws TitleAlreadyExistsException when the issue already exists.
+     */
+    private void insertIssue(Issue issue) {
+        try {
+            repository.saveAndFlush(issue);
+        } catch (DataIntegrityViolationException exception) {
+            if (ConstraintViolations.isViolationOf(exception, Issue.TITLE_CONSTRAINT)) {
+                throw new TitleAlreadyExistsException();
+            }
+            throw exception;
+        }
     }
 
     private void saveAttachedFilesToDatabase(IssueDto issueDto) throws IOException {
@@ -214,18 +261,6 @@ public class IssueServiceImpl implements IssueService {
         }
     }
 
-    private Optional<Issue> changePropertiesInDatabaseById(IssueDto issueDto) {
-        int id = issueDto.getId();
-        Issue issue = getIssueFromOptional(repository.findById(id));
-        repository.updateIssueWithNewType(id, issueDto.getType());
-        repository.updateIssueWithNewSeverity(id, issueDto.getSeverity());
-        repository.updateIssueWithNewStatus(id, issueDto.getStatus());
-        repository.updateIssueWithNewProject(id, issueDto.getProject());
-        historyService.record(RecordType.UPDATE_PROPERTIES, issue);
-        return repository.findById(id);
-
-    }
-
     private Optional<Issue> updateIssueDescriptionInDatabase(IssueDto issueDto) {
         parser.convertNewLinesInDescriptionToHtml(issueDto);
         repository.updateIssueWithNewDescription(
@@ -233,6 +268,11 @@ public class IssueServiceImpl implements IssueService {
         Optional<Issue> updatedIssue = repository.findByTitle(issueDto.getTitle());
         //TODO: the Optional is handled twice: here and in the calling method, this should not be the case.
         historyService.record(RecordType.UPDATE_DESCRIPTION, getIssueFromOptional(updatedIssue));
+        publishChange(IssueChange.descriptionUpdated(updatedIssue.get()));
         return updatedIssue;
     }
+
+    private void publishChange(IssueChange change) {
+        eventPublisher.publishEvent(IssueChangeEvent.of(change));
+    }
 }
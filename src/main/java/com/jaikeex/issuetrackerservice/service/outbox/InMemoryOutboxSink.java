@@ -0,0 +1,37 @@
+package com.jaikeex.issuetrackerservice.service.outbox;
+
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Sink keeping the most recently published messages in memory. Used for
+ * local runs and tests in place of a message broker.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /** Returns the retained messages, oldest first. */
+    public synchronized List<OutboxMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+}
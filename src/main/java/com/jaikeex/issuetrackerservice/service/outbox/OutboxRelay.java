@@ -0,0 +1,130 @@
+package com.jaikeex.issuetrackerservice.service.outbox;
+
+import com.jaikeex.issuetrackerservice.config.properties.OutboxProperties;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Background relay publishing the pending outbox events to the sinks. The
+ * events are published in batches ordered by id and marked as published
+ * afterwards. A batch stops before an id missing after the last published
+ * one until the grace period of {@link OutboxSequence} has passed, so an
+ * event committed late is not overtaken by the events after it. An event
+ * committed after its id was skipped is published on its own, behind them.
+ * A batch failing in any sink is retried on the next poll, so the sinks may
+ * receive it again. Published events are deleted once they are older than
+ * the retention.
+ */
+@Slf4j
+public class OutboxRelay implements SmartInitializingSingleton, DisposableBean {
+
+    private static final String RELAY_THREAD_NAME = "outbox-relay";
+
+    private final OutboxRepository repository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final long retentionMillis;
+    private final long gapGraceMillis;
+
+    private ScheduledExecutorService executor;
+
+    public OutboxRelay(OutboxRepository repository,
+                       List<OutboxSink> sinks,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProperties properties) {
+        this.repository = repository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.getBatchSize();
+        this.pollIntervalMillis = properties.getPollIntervalMillis();
+        this.retentionMillis = TimeUnit.HOURS.toMillis(properties.getRetentionHours());
+        this.gapGraceMillis = properties.getGapGraceMillis();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, RELAY_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::relay, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Publishes the pending events until there are none left, or until
+     * a missing id within its grace period.
+     *
+     * @return Number of published events.
+     */
+    public int publishPendingEvents() {
+        int published = 0;
+        Integer lastPublishedId = repository.findLastPublishedId();
+        List<OutboxEvent> batch;
+        do {
+            batch = OutboxSequence.releasable(
+                    lastPublishedId, repository.findUnpublished(PageRequest.of(0, batchSize)), gapGraceMillis);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<OutboxMessage> messages = batch.stream().map(OutboxMessage::new).collect(Collectors.toList());
+            for (OutboxSink sink : sinks) {
+                sink.publish(messages);
+            }
+            List<Integer> ids = batch.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            transactionTemplate.executeWithoutResult(status -> repository.markPublished(ids, now));
+            int batchLastId = ids.get(ids.size() - 1);
+            if (lastPublishedId == null || batchLastId > lastPublishedId) {
+                lastPublishedId = batchLastId;
+            }
+            published += batch.size();
+        } while (batch.size() == batchSize);
+        return published;
+    }
+
+    /** Deletes the published events older than the retention.
+     *
+     * @return Number of deleted events.
+     */
+    public int deleteExpiredEvents() {
+        Timestamp before = new Timestamp(System.currentTimeMillis() - retentionMillis);
+        Integer deleted = transactionTemplate.execute(status -> repository.deletePublishedBefore(before));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void relay() {
+        try {
+            int published = publishPendingEvents();
+            int deleted = deleteExpiredEvents();
+            if (published > 0 || deleted > 0) {
+                log.debug("Outbox relay published {} and deleted {} events", published, deleted);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Outbox relay failed, retrying in {} ms", pollIntervalMillis, exception);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.jaikeex.issuetrackerservice.service.outbox;
+
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Decides which of the outbox events read in id order can be handed out.
+ * The ids are assigned when the rows are inserted, but the transactions
+ * inserting them commit in any order, so an id missing between two events
+ * read may still be committed. The events are released as long as their ids
+ * follow each other. A missing id is skipped once the event after it is
+ * older than the grace period, the transaction holding it is then assumed
+ * to have rolled back.
+ */
+final class OutboxSequence {
+
+    private OutboxSequence() {
+    }
+
+    /** Returns the leading events which can be released.
+     *
+     * @param lastId         id of the last released event, null to release the
+     *                       first event without checking the ids before it.
+     * @param events         events ordered by id.
+     * @param gapGraceMillis age of the event after a missing id from which the
+     *                       missing id is skipped.
+     * @return The releasable events, a prefix of the events given. Events with
+     *         an id lower than the last one are released as they are.
+     */
+    static List<OutboxEvent> releasable(Integer lastId, List<OutboxEvent> events, long gapGraceMillis) {
+        long gapDeadline = System.currentTimeMillis() - gapGraceMillis;
+        Integer nextId = lastId == null ? null : lastId + 1;
+        int count = 0;
+        for (OutboxEvent event : events) {
+            if (nextId != null && event.getId() > nextId && event.getCreatedAt().getTime() > gapDeadline) {
+                break;
+            }
+            if (nextId == null || event.getId() >= nextId) {
+                nextId = event.getId() + 1;
+            }
+            count++;
+        }
+        return events.subList(0, count);
+    }
+}
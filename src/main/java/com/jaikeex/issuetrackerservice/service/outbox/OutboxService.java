@@ -0,0 +1,17 @@
+package com.jaikeex.issuetrackerservice.service.outbox;
+
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface OutboxService {
+
+    /** Returns the issue changes following a cursor, oldest first.
+     * @param cursor cursor returned with the previous page, null to start from the oldest retained change.
+     * @param size requested page size, null for the default size.
+     * @return Page of changes with the cursor to continue from, it is returned even
+     * when the page is empty so that the consumer can poll with it again.
+     */
+    @Transactional(readOnly = true)
+    CursorPage<OutboxMessage> findChanges(String cursor, Integer size);
+}
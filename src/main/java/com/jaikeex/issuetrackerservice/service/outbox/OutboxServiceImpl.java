@@ -0,0 +1,42 @@
+package com.jaikeex.issuetrackerservice.service.outbox;
+
+import com.jaikeex.issuetrackerservice.config.properties.OutboxProperties;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxRepository repository;
+    private final CursorPagination pagination;
+    private final long gapGraceMillis;
+
+    public OutboxServiceImpl(OutboxRepository repository, CursorPagination pagination, OutboxProperties properties) {
+        this.repository = repository;
+        this.pagination = pagination;
+        this.gapGraceMillis = properties.getGapGraceMillis();
+    }
+
+    /** A page ends before an id missing within its grace period, see
+     * {@link OutboxSequence}, so consumers resuming after the last id they
+     * read do not skip a change committed late. A change committed after the
+     * grace period is not returned.
+     */
+    @Override
+    public CursorPage<OutboxMessage> findChanges(String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int afterId = pagination.decodeCursor(cursor, 0);
+        List<OutboxEvent> events = repository.findAllAfterId(afterId, PageRequest.of(0, pageSize));
+        List<OutboxMessage> changes = OutboxSequence.releasable(afterId, events, gapGraceMillis).stream()
+                .map(OutboxMessage::new)
+                .collect(Collectors.toList());
+        int lastId = changes.isEmpty() ? afterId : changes.get(changes.size() - 1).getId();
+        return new CursorPage<>(changes, pagination.encodeCursor(lastId));
+    }
+}
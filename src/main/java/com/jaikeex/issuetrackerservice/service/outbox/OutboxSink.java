@@ -0,0 +1,20 @@
+package com.jaikeex.issuetrackerservice.service.outbox;
+
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay publishes the issue changes to, for example
+ * a message broker. The relay hands over the messages in the order of their
+ * ids and retries a batch until it is published, so a sink may receive a
+ * message more than once.
+ */
+public interface OutboxSink {
+
+    /** Publishes a batch of messages.
+     * @param messages messages ordered by id.
+     * @throws RuntimeException when the batch could not be published, it is retried later.
+     */
+    void publish(List<OutboxMessage> messages);
+}
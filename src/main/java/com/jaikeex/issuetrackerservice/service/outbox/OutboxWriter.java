@@ -0,0 +1,58 @@
+package com.jaikeex.issuetrackerservice.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the issue changes to the outbox table just before the transaction
+ * making them commits, so the outbox rows are committed or rolled back
+ * together with the change. Changes made outside of a transaction are
+ * written right after them.
+ *
+ * <p>The ids are assigned when the rows are inserted, concurrent transactions
+ * may commit them out of order. The readers put them in order, see
+ * {@link OutboxSequence}.
+ */
+public class OutboxWriter {
+
+    private final OutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Saves an outbox row for every change of the event.
+     *
+     * @param event Event published by the issue service.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIssueChange(IssueChangeEvent event) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>(event.getChanges().size());
+        for (IssueChange change : event.getChanges()) {
+            Issue issue = change.getCurrent() != null ? change.getCurrent() : change.getPrevious();
+            outboxEvents.add(new OutboxEvent(change.getIssueId(), change.getType(), toJson(new IssueSummary(issue))));
+        }
+        repository.saveAll(outboxEvents);
+    }
+
+    private String toJson(IssueSummary summary) {
+        try {
+            return objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to serialize an issue change", exception);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.jaikeex.issuetrackerservice.service.search;
+
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Search engine pushing the query down to the MySQL FULLTEXT index over
+ * the title, author and description columns (see db/mysql scripts).
+ * Every word of the query is required and matched as a prefix, results
+ * are ordered by the relevance computed by MySQL.
+ */
+@Slf4j
+public class FullTextSearchEngine implements SearchEngine {
+
+    private final IssueRepository repository;
+
+    public FullTextSearchEngine(IssueRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Integer> search(String query, int offset, int limit) {
+        String booleanModeQuery = toBooleanModeQuery(query);
+        if (booleanModeQuery.isEmpty()) {
+            log.debug("Search query contains no searchable words [query={}]", query);
+            return Collections.emptyList();
+        }
+        return repository.findIdsMatchingFullTextQuery(booleanModeQuery, limit, offset);
+    }
+
+    /** Converts user input to a boolean mode query, dropping all characters
+     * that have a special meaning for the FULLTEXT parser.
+     */
+    private String toBooleanModeQuery(String query) {
+        StringBuilder builder = new StringBuilder();
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                builder.append('+').append(word).append("* ");
+            }
+        }
+        return builder.toString().trim();
+    }
+}
@@ -0,0 +1,41 @@
+package com.jaikeex.issuetrackerservice.service.search;
+
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.utility.pagination.OffsetPageRequest;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Database agnostic search engine matching the query as a case-insensitive
+ * substring of the title, author or description. Issues matching in the
+ * title are ranked first. Does not need any special index, which makes it
+ * usable with the H2 database in tests.
+ */
+public class LikeSearchEngine implements SearchEngine {
+
+    private static final char ESCAPE_CHARACTER = '!';
+
+    private final IssueRepository repository;
+
+    public LikeSearchEngine(IssueRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Integer> search(String query, int offset, int limit) {
+        String pattern = "%" + escapeWildcards(query.toLowerCase(Locale.ROOT)) + "%";
+        return repository.findIdsContaining(pattern, new OffsetPageRequest(offset, limit));
+    }
+
+    private String escapeWildcards(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char character : text.toCharArray()) {
+            if (character == '%' || character == '_' || character == ESCAPE_CHARACTER) {
+                builder.append(ESCAPE_CHARACTER);
+            }
+            builder.append(character);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.jaikeex.issuetrackerservice.service.search;
+
+import java.util.List;
+
+/**
+ * Backend resolving full-text queries to the matching issue reports.
+ */
+public interface SearchEngine {
+
+    /** Returns ids of the issues matching the query, best matches first.
+     *
+     * @param query Text entered by the user, never empty.
+     * @param offset Number of best matches to skip.
+     * @param limit Maximum number of ids returned.
+     * @return Ranked list of ids of the matching issues.
+     */
+    List<Integer> search(String query, int offset, int limit);
+}
@@ -0,0 +1,13 @@
+package com.jaikeex.issuetrackerservice.service.search;
+
+/**
+ * Available implementations of the {@link SearchEngine}.
+ */
+public enum SearchEngineType {
+    /** MySQL FULLTEXT index queried in boolean mode. */
+    FULLTEXT,
+    /** Portable case-insensitive LIKE matching, used with H2 in tests. */
+    LIKE,
+    /** In-memory inverted index kept up to date by the issue change events. */
+    INDEX
+}
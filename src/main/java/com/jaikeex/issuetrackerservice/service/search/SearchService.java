@@ -1,17 +1,18 @@
 package com.jaikeex.issuetrackerservice.service.search;
 
-import com.jaikeex.issuetrackerservice.entity.Issue;
-
-import java.util.List;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 
 public interface SearchService {
 
     /**
-     * Searches all database entries and returns the ones containing the
-     * provided query string.
+     * Searches all database entries and returns one page of the ones
+     * containing the provided query string, best matches first.
      * @param query String which the returned issues must contain.
-     * @return List of issue objects that contain the query in either their
+     * @param cursor cursor returned with the previous page, null for the first page.
+     * @param size requested page size, capped by the configured maximum.
+     * @return Page of summaries of the issues that contain the query in either their
      *          title, author or description properties
      */
-    List<Issue> searchIssues (String query);
+    CursorPage<IssueSummary> searchIssues (String query, String cursor, Integer size);
 }
@@ -1,12 +1,17 @@
 package com.jaikeex.issuetrackerservice.service.search;
 
-import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.repository.IssueRepository;
 import com.jaikeex.issuetrackerservice.service.issue.IssueService;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -14,42 +19,52 @@ public class SearchServiceImpl implements SearchService {
 
     IssueRepository issueRepository;
     IssueService issueService;
+    SearchEngine searchEngine;
+    CursorPagination pagination;
 
-    public SearchServiceImpl(IssueRepository issueRepository, IssueService issueService) {
+    public SearchServiceImpl(IssueRepository issueRepository,
+                             IssueService issueService,
+                             SearchEngine searchEngine,
+                             CursorPagination pagination) {
         this.issueRepository = issueRepository;
         this.issueService = issueService;
+        this.searchEngine = searchEngine;
+        this.pagination = pagination;
     }
 
     @Override
-    public List<Issue> searchIssues (String query) {
-        List<Issue> listOfIssuesToSearch = issueRepository.findAllIssues();
-        return handleEmptyQueryAndFetchResults(query, listOfIssuesToSearch);
-    }
-
-    private List<Issue> handleEmptyQueryAndFetchResults(
-            String query, List<Issue> listOfIssuesToSearch) {
-        if (query == null || query.equals("")) {
+    public CursorPage<IssueSummary> searchIssues (String query, String cursor, Integer size) {
+        if (query == null || query.trim().isEmpty()) {
             log.debug("Search service called with empty query, returning default results");
-            return listOfIssuesToSearch;
+            return issueService.findAllIssues(cursor, size);
         } else {
-            return getSearchResults(query, listOfIssuesToSearch);
+            return getSearchResults(query.trim(), cursor, size);
         }
     }
 
-    private List<Issue> getSearchResults(
-            String query, List<Issue> listOfIssuesToSearch) {
-        return listOfIssuesToSearch.stream()
-                                    .filter(issue -> containsQuery(query, issue))
-                                    .collect(Collectors.toList());
-    }
-
-    private boolean containsQuery(String query, Issue issue) {
-        return checkForQueryOccurrence(query, issue.getDescription()) ||
-                checkForQueryOccurrence(query, issue.getAuthor()) ||
-                checkForQueryOccurrence(query, issue.getTitle());
+    private CursorPage<IssueSummary> getSearchResults(String query, String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        int offset = pagination.decodeCursor(cursor, 0);
+        List<Integer> matchingIds = searchEngine.search(query, offset, pageSize + 1);
+        List<Integer> pageIds = matchingIds.subList(0, Math.min(pageSize, matchingIds.size()));
+        List<IssueSummary> issues = findSummariesInRankOrder(pageIds);
+        String nextCursor = matchingIds.size() > pageSize ? pagination.encodeCursor(offset + pageSize) : null;
+        return new CursorPage<>(issues, nextCursor);
     }
 
-    private boolean checkForQueryOccurrence(String query, String textToSearch) {
-        return StringUtils.containsIgnoreCase(textToSearch, query);
+    private List<IssueSummary> findSummariesInRankOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Integer, IssueSummary> issuesById = issueRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(IssueSummary::getId, Function.identity()));
+        List<IssueSummary> issues = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            IssueSummary issue = issuesById.get(id);
+            if (issue != null) {
+                issues.add(issue);
+            }
+        }
+        return issues;
     }
 }
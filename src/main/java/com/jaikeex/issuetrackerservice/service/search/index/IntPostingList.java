@@ -0,0 +1,74 @@
+package com.jaikeex.issuetrackerservice.service.search.index;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of a single term: ascending array of ids of the issues
+ * containing the term. Stored as a plain int array so the lists stay compact
+ * and can be intersected without boxing.
+ */
+class IntPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /** Adds an id to the list, keeping the ascending order.
+     *
+     * @param id id of the issue.
+     */
+    void add(int id) {
+        if (size > 0 && ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertionPoint = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertionPoint, ids, insertionPoint + 1, size - insertionPoint);
+        ids[insertionPoint] = id;
+        size++;
+    }
+
+    /** Removes an id from the list.
+     *
+     * @param id id of the issue.
+     */
+    void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Returns a copy of the ids in ascending order. */
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /** Returns the backing array, only the first {@link #size()} elements are valid. */
+    int[] ids() {
+        return ids;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+}
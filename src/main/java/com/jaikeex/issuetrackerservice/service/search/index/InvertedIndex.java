@@ -0,0 +1,185 @@
+package com.jaikeex.issuetrackerservice.service.search.index;
+
+import com.jaikeex.issuetrackerservice.dto.IssueSearchText;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the title, author and description of the
+ * issue reports. Every term maps to a posting list of issue ids, the
+ * forward map keeps the terms of every indexed issue so that an issue can
+ * be removed or re-indexed without knowing its previous text.
+ * Not thread safe, the access is synchronized by {@link InvertedIndexSearchEngine}.
+ */
+class InvertedIndex {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_TERMS = new String[0];
+
+    private final NavigableMap<String, IntPostingList> postings = new TreeMap<>();
+    private final Map<Integer, String[]> documents = new HashMap<>();
+
+    /** Adds an issue to the index, replacing its previously indexed terms.
+     *
+     * @param issue Text fields of the issue to be indexed.
+     */
+    void index(IssueSearchText issue) {
+        int id = issue.getId();
+        remove(id);
+        String[] terms = termsOf(issue);
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = addPosting(terms[i], id);
+        }
+        documents.put(id, terms);
+    }
+
+    /** Removes an issue from the index.
+     *
+     * @param id id of the issue to be removed.
+     */
+    void remove(int id) {
+        String[] terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            IntPostingList list = postings.get(term);
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /** Returns ids of the issues containing every query term, either as a whole
+     * word or as a prefix of one.
+     *
+     * @param queryTerms Normalized query terms.
+     * @return Ascending array of matching issue ids.
+     */
+    int[] search(Collection<String> queryTerms) {
+        List<int[]> candidates = new ArrayList<>(queryTerms.size());
+        for (String term : queryTerms) {
+            int[] ids = idsWithPrefix(term);
+            if (ids.length == 0) {
+                return ids;
+            }
+            candidates.add(ids);
+        }
+        if (candidates.isEmpty()) {
+            return new int[0];
+        }
+        candidates.sort(Comparator.comparingInt(ids -> ids.length));
+        int[] result = candidates.get(0);
+        for (int i = 1; i < candidates.size() && result.length > 0; i++) {
+            result = intersect(result, candidates.get(i));
+        }
+        return result;
+    }
+
+    /** Returns the indexed terms of an issue, null if the issue is not indexed. */
+    String[] termsOf(int id) {
+        return documents.get(id);
+    }
+
+    Set<Integer> documentIds() {
+        return documents.keySet();
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /** Returns the sorted distinct terms of the indexed fields of an issue. */
+    static String[] termsOf(IssueSearchText issue) {
+        Set<String> terms = new TreeSet<>();
+        terms.addAll(tokenize(issue.getTitle()));
+        terms.addAll(tokenize(issue.getAuthor()));
+        terms.addAll(tokenize(issue.getDescription()));
+        return terms.toArray(NO_TERMS);
+    }
+
+    /** Splits a text into lower case words, ignoring html markup.
+     *
+     * @param text Text to be split, may be null.
+     * @return Distinct words in order of their first occurrence.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String plainText = HTML_TAG.matcher(text).replaceAll(" ").toLowerCase(Locale.ROOT);
+        for (String token : NON_WORD.split(plainText)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private String addPosting(String term, int id) {
+        Map.Entry<String, IntPostingList> entry = postings.floorEntry(term);
+        if (entry != null && entry.getKey().equals(term)) {
+            entry.getValue().add(id);
+            return entry.getKey();
+        }
+        IntPostingList list = new IntPostingList();
+        list.add(id);
+        postings.put(term, list);
+        return term;
+    }
+
+    private int[] idsWithPrefix(String prefix) {
+        Collection<IntPostingList> lists = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (lists.size() == 1) {
+            return lists.iterator().next().toArray();
+        }
+        int total = 0;
+        for (IntPostingList list : lists) {
+            total += list.size();
+        }
+        int[] ids = new int[total];
+        int position = 0;
+        for (IntPostingList list : lists) {
+            System.arraycopy(list.ids(), 0, ids, position, list.size());
+            position += list.size();
+        }
+        Arrays.sort(ids);
+        return distinct(ids);
+    }
+
+    private static int[] distinct(int[] sorted) {
+        if (sorted.length < 2) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
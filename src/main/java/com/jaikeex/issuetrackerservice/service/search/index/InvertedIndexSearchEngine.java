@@ -0,0 +1,202 @@
+package com.jaikeex.issuetrackerservice.service.search.index;
+
+import com.jaikeex.issuetrackerservice.dto.IssueSearchText;
+import com.jaikeex.issuetrackerservice.dto.SearchIndexReport;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.search.SearchEngine;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Search engine answering the queries from an in-memory inverted index.
+ * The index is built from the database at startup and then kept up to date
+ * by the issue change events published after every committed write.
+ * Matching issues are returned newest first.
+ */
+@Slf4j
+public class InvertedIndexSearchEngine implements SearchEngine, SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int REPORTED_IDS_LIMIT = 100;
+
+    private final IssueRepository repository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private InvertedIndex index = new InvertedIndex();
+
+    /** Changes committed while a rebuild is running, replayed on the rebuilt index. */
+    private List<IssueChange> changesDuringRebuild;
+
+    public InvertedIndexSearchEngine(IssueRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Integer> search(String query, int offset, int limit) {
+        Set<String> terms = InvertedIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Integer> page = new ArrayList<>(Math.min(limit, ids.length));
+        for (int i = ids.length - 1 - offset; i >= 0 && page.size() < limit; i--) {
+            page.add(ids[i]);
+        }
+        return page;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /** Applies committed issue changes to the index.
+     *
+     * @param event Event published by the issue service.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChange(IssueChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (IssueChange change : event.getChanges()) {
+                apply(index, change);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Builds a new index from the database and swaps it for the current one.
+     * Searches are served from the current index while the rebuild runs.
+     *
+     * @return Report comparing the rebuilt index with the database.
+     */
+    public SearchIndexReport rebuild() {
+        synchronized (rebuildMonitor) {
+            long start = System.currentTimeMillis();
+            setChangesDuringRebuild(new ArrayList<>());
+            InvertedIndex rebuilt = new InvertedIndex();
+            try {
+                forEachIssueInDatabase(rebuilt::index);
+            } catch (RuntimeException exception) {
+                setChangesDuringRebuild(null);
+                throw exception;
+            }
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+                changesDuringRebuild = null;
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Search index rebuilt with {} issues in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        }
+        return check();
+    }
+
+    /** Compares the index with the database. Writes committed during the check
+     * may show up as differences.
+     *
+     * @return Report listing the differences found, each list is limited to
+     * a hundred ids.
+     */
+    public SearchIndexReport check() {
+        Set<Integer> databaseIds = new HashSet<>();
+        List<Integer> missingIds = new ArrayList<>();
+        List<Integer> outdatedIds = new ArrayList<>();
+        forEachIssueInDatabase(issue -> {
+            databaseIds.add(issue.getId());
+            String[] indexedTerms = readIndexedTerms(issue.getId());
+            if (indexedTerms == null) {
+                addLimited(missingIds, issue.getId());
+            } else if (!Arrays.equals(indexedTerms, InvertedIndex.termsOf(issue))) {
+                addLimited(outdatedIds, issue.getId());
+            }
+        });
+        List<Integer> staleIds = new ArrayList<>();
+        int indexedIssues;
+        lock.readLock().lock();
+        try {
+            indexedIssues = index.size();
+            for (Integer id : index.documentIds()) {
+                if (!databaseIds.contains(id)) {
+                    addLimited(staleIds, id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Collections.sort(staleIds);
+        return new SearchIndexReport(indexedIssues, databaseIds.size(), missingIds, staleIds, outdatedIds);
+    }
+
+    private void apply(InvertedIndex target, IssueChange change) {
+        switch (change.getType()) {
+            case CREATE:
+            case UPDATE_DESCRIPTION:
+                target.index(new IssueSearchText(change.getCurrent()));
+                break;
+            case DELETE:
+                target.remove(change.getIssueId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void forEachIssueInDatabase(Consumer<IssueSearchText> action) {
+        int beforeId = Integer.MAX_VALUE;
+        List<IssueSearchText> batch;
+        do {
+            batch = repository.findSearchTextsBeforeId(beforeId, PageRequest.of(0, BATCH_SIZE));
+            batch.forEach(action);
+            if (!batch.isEmpty()) {
+                beforeId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    private String[] readIndexedTerms(int id) {
+        lock.readLock().lock();
+        try {
+            return index.termsOf(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setChangesDuringRebuild(List<IssueChange> changes) {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLimited(List<Integer> ids, int id) {
+        if (ids.size() < REPORTED_IDS_LIMIT) {
+            ids.add(id);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.jaikeex.issuetrackerservice.service.stats;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+
+public interface IssueStatsService {
+
+    /** Returns the numbers of all issue reports per value of every property.
+     * @return Total number of issues and their numbers per property value.
+     */
+    FilterFacets getStats();
+}
@@ -0,0 +1,134 @@
+package com.jaikeex.issuetrackerservice.service.stats;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssuePropertyCount;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps the issue counts per property value in memory. The counters are
+ * seeded by a single grouped query at startup and then adjusted by the
+ * issue change events published after every committed write. Every change
+ * publishes a new immutable snapshot, so reading the statistics costs
+ * nothing but a volatile read.
+ */
+@Slf4j
+public class IssueStatsServiceImpl implements IssueStatsService, SmartInitializingSingleton {
+
+    private static final IssueType[] TYPES = IssueType.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final Status[] STATUSES = Status.values();
+    private static final Project[] PROJECTS = Project.values();
+
+    private final IssueRepository repository;
+
+    private final long[] typeCounts = new long[TYPES.length];
+    private final long[] severityCounts = new long[SEVERITIES.length];
+    private final long[] statusCounts = new long[STATUSES.length];
+    private final long[] projectCounts = new long[PROJECTS.length];
+    private long total;
+
+    private volatile FilterFacets stats;
+
+    public IssueStatsServiceImpl(IssueRepository repository) {
+        this.repository = repository;
+        publishStats();
+    }
+
+    @Override
+    public FilterFacets getStats() {
+        return stats;
+    }
+
+    /** Seeds the counters from the database. */
+    @Override
+    public synchronized void afterSingletonsInstantiated() {
+        total = 0;
+        Arrays.fill(typeCounts, 0);
+        Arrays.fill(severityCounts, 0);
+        Arrays.fill(statusCounts, 0);
+        Arrays.fill(projectCounts, 0);
+        for (IssuePropertyCount count : repository.countByProperties()) {
+            add(count.getType(), count.getSeverity(), count.getStatus(), count.getProject(), count.getCount());
+        }
+        publishStats();
+        log.info("Issue statistics seeded with {} issues", total);
+    }
+
+    /** Adjusts the counters by committed issue changes.
+     *
+     * @param event Event published by the issue service.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onIssueChange(IssueChangeEvent event) {
+        boolean changed = false;
+        for (IssueChange change : event.getChanges()) {
+            switch (change.getType()) {
+                case CREATE:
+                    add(change.getCurrent(), 1);
+                    break;
+                case UPDATE_PROPERTIES:
+                    add(change.getPrevious(), -1);
+                    add(change.getCurrent(), 1);
+                    break;
+                case DELETE:
+                    add(change.getPrevious(), -1);
+                    break;
+                default:
+                    continue;
+            }
+            changed = true;
+        }
+        if (changed) {
+            publishStats();
+        }
+    }
+
+    private void add(Issue issue, long delta) {
+        add(issue.getType(), issue.getSeverity(), issue.getStatus(), issue.getProject(), delta);
+    }
+
+    private void add(IssueType type, Severity severity, Status status, Project project, long delta) {
+        total += delta;
+        add(typeCounts, type, delta);
+        add(severityCounts, severity, delta);
+        add(statusCounts, status, delta);
+        add(projectCounts, project, delta);
+    }
+
+    private void add(long[] counts, Enum<?> value, long delta) {
+        if (value != null) {
+            counts[value.ordinal()] += delta;
+        }
+    }
+
+    private void publishStats() {
+        stats = new FilterFacets(total,
+                snapshotOf(TYPES, typeCounts, IssueType.class),
+                snapshotOf(SEVERITIES, severityCounts, Severity.class),
+                snapshotOf(STATUSES, statusCounts, Status.class),
+                snapshotOf(PROJECTS, projectCounts, Project.class));
+    }
+
+    private <E extends Enum<E>> Map<E, Long> snapshotOf(E[] values, long[] counts, Class<E> type) {
+        Map<E, Long> snapshot = new EnumMap<>(type);
+        for (E value : values) {
+            snapshot.put(value, counts[value.ordinal()]);
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+}
@@ -0,0 +1,376 @@
+package com.jaikeex.issuetrackerservice.service.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaikeex.issuetrackerservice.config.properties.StreamProperties;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxSink;
+import com.jaikeex.issuetrackerservice.utility.exception.TooManySubscribersException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the issue changes published by the outbox relay to the subscribed
+ * clients as server-sent events, the id of every event is the id of its
+ * outbox message. The most recent events are kept in a bounded ring buffer,
+ * so a client reconnecting with the id of the last event it received gets
+ * the missed events replayed. When they are no longer buffered, the client
+ * receives a reset event instead and should reload its issues.
+ *
+ * <p>Subscribers are filtered on the state of the issue after the change,
+ * or its last state for deleted issues. The events of every subscriber are
+ * queued and sent by a pool of sender threads, a subscriber whose queue
+ * is full is dropped and has to reconnect, so a slow client never stalls
+ * the outbox relay.
+ */
+@Slf4j
+public class IssueStreamBroadcaster implements OutboxSink, SmartInitializingSingleton, DisposableBean {
+
+    public static final String RESET_EVENT_NAME = "RESET";
+
+    private static final String SENDER_THREAD_NAME = "issue-stream-sender-";
+    private static final int UNKNOWN_ID = Integer.MAX_VALUE;
+
+    private final OutboxRepository repository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final Executor senderExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final StreamEvent[] buffer;
+    private int oldestIndex;
+    private int size;
+    /** Every event with a greater id is still in the buffer. */
+    private int bufferedAfterId = UNKNOWN_ID;
+
+    public IssueStreamBroadcaster(OutboxRepository repository, ObjectMapper objectMapper, StreamProperties properties) {
+        this(repository, objectMapper, properties, createSenderExecutor(properties.getSenderThreads()));
+    }
+
+    /**
+     * @param senderExecutor executor sending the queued events, it is shut
+     *                       down with the broadcaster when it is an
+     *                       {@link ExecutorService}.
+     */
+    public IssueStreamBroadcaster(OutboxRepository repository,
+                                  ObjectMapper objectMapper,
+                                  StreamProperties properties,
+                                  Executor senderExecutor) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = properties.getTimeoutMillis();
+        this.maxSubscribers = properties.getMaxSubscribers();
+        this.queueCapacity = properties.getSubscriberQueueCapacity();
+        this.senderExecutor = senderExecutor;
+        this.buffer = new StreamEvent[properties.getBufferCapacity()];
+    }
+
+    /** Fills the buffer with the most recently published changes, so the
+     * clients can resume their streams across a restart of the service.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<OutboxEvent> latest = repository.findLatestPublished(PageRequest.of(0, buffer.length));
+        synchronized (this) {
+            if (size > 0) {
+                return;
+            }
+            for (int i = latest.size() - 1; i >= 0; i--) {
+                append(toStreamEvent(new OutboxMessage(latest.get(i))));
+            }
+        }
+        log.info("Initialized the issue stream buffer [events={}]", latest.size());
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(Subscriber::close);
+        subscribers.clear();
+        if (senderExecutor instanceof ExecutorService) {
+            ((ExecutorService) senderExecutor).shutdown();
+        }
+    }
+
+    /** Buffers the messages and queues them for the matching subscribers.
+     * It is called by the outbox relay thread in the order of the ids, the
+     * messages of a batch published again after a failure of another sink,
+     * and the ones committed after the relay skipped their id, are skipped.
+     * A subscriber whose queue is full is dropped.
+     */
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        List<StreamEvent> events = messages.stream().map(this::toStreamEvent).collect(Collectors.toList());
+        synchronized (this) {
+            for (StreamEvent event : events) {
+                if (event.getId() <= newestId()) {
+                    continue;
+                }
+                append(event);
+                subscribers.removeIf(subscriber -> !subscriber.queueIfMatching(event));
+            }
+        }
+    }
+
+    /** Opens a new stream of issue changes.
+     *
+     * @param filter      only changes of issues matching the filter are sent.
+     * @param lastEventId id of the last event the client received, when it
+     *                    is resuming a stream.
+     * @return Emitter of the stream.
+     * @throws TooManySubscribersException when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe(IssueFilter filter, Integer lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(exception -> subscribers.remove(subscriber));
+        // The limit is checked and the replay is queued while holding the
+        // lock, so concurrent subscriptions cannot exceed the limit and no
+        // event published meanwhile can overtake the replay. A replay that
+        // would not fit into the queue is replaced by a reset.
+        synchronized (this) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new TooManySubscribersException();
+            }
+            subscribers.add(subscriber);
+            if (lastEventId != null) {
+                List<StreamEvent> missed = eventsAfter(lastEventId);
+                if (lastEventId < bufferedAfterId || missed.size() > queueCapacity) {
+                    subscriber.queueReset(newestId());
+                }
+                else {
+                    missed.forEach(subscriber::queueIfMatching);
+                }
+            }
+        }
+        return emitter;
+    }
+
+    /** Returns the buffered messages following the given id.
+     *
+     * @param lastEventId id of the last received message.
+     * @return Messages ordered by id, empty when some of them are no longer buffered.
+     */
+    synchronized Optional<List<OutboxMessage>> findMissedMessages(int lastEventId) {
+        if (lastEventId < bufferedAfterId) {
+            return Optional.empty();
+        }
+        return Optional.of(eventsAfter(lastEventId).stream().map(event -> event.message).collect(Collectors.toList()));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void append(StreamEvent event) {
+        if (size == 0 && bufferedAfterId == UNKNOWN_ID) {
+            bufferedAfterId = event.getId() - 1;
+        }
+        if (size == buffer.length) {
+            bufferedAfterId = buffer[oldestIndex].getId();
+            buffer[oldestIndex] = event;
+            oldestIndex = (oldestIndex + 1) % buffer.length;
+        }
+        else {
+            buffer[(oldestIndex + size) % buffer.length] = event;
+            size++;
+        }
+    }
+
+    private List<StreamEvent> eventsAfter(int id) {
+        List<StreamEvent> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            StreamEvent event = buffer[(oldestIndex + i) % buffer.length];
+            if (event.getId() > id) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private int newestId() {
+        return size == 0 ? 0 : buffer[(oldestIndex + size - 1) % buffer.length].getId();
+    }
+
+    private StreamEvent toStreamEvent(OutboxMessage message) {
+        try {
+            IssueSummary issue = objectMapper.readValue(message.getIssue(), IssueSummary.class);
+            return new StreamEvent(message, issue, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to serialize an issue change [id=" + message.getId() + "]", exception);
+        }
+    }
+
+    private static ExecutorService createSenderExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, SENDER_THREAD_NAME + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static <E> boolean accepts(Set<E> values, E value) {
+        return values == null || values.isEmpty() || values.contains(value);
+    }
+
+    private static final class StreamEvent {
+
+        private final OutboxMessage message;
+        private final IssueSummary issue;
+        private final String json;
+
+        private StreamEvent(OutboxMessage message, IssueSummary issue, String json) {
+            this.message = message;
+            this.issue = issue;
+            this.json = json;
+        }
+
+        private int getId() {
+            return message.getId();
+        }
+    }
+
+    /**
+     * Stream of a client with its queue of events. At most one task sending
+     * the queued events runs for a subscriber, so they are sent in order.
+     * Sending to a slow client may block that task, but never the thread
+     * queuing the events.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final IssueFilter filter;
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean sending;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter, IssueFilter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        /** Queues the event unless it does not match the filter.
+         * @return False when the subscriber is closed or its queue is full.
+         */
+        private boolean queueIfMatching(StreamEvent event) {
+            return !matches(event.issue) || queue(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(event.message.getType().name())
+                    .data(event.json));
+        }
+
+        private void queueReset(int newestId) {
+            queue(SseEmitter.event().id(String.valueOf(newestId)).name(RESET_EVENT_NAME).data(""));
+        }
+
+        private synchronized boolean queue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return false;
+            }
+            if (pending.size() == queueCapacity) {
+                close();
+                return false;
+            }
+            pending.add(event);
+            scheduleSending();
+            return true;
+        }
+
+        /** Drops the queued events, the emitter is completed by the sending task. */
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            scheduleSending();
+        }
+
+        private void scheduleSending() {
+            if (sending) {
+                return;
+            }
+            sending = true;
+            try {
+                senderExecutor.execute(this::sendPending);
+            } catch (RejectedExecutionException exception) {
+                // The broadcaster is being destroyed, nothing is being sent.
+                sending = false;
+                closed = true;
+                pending.clear();
+                emitter.complete();
+            }
+        }
+
+        private void sendPending() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                boolean complete;
+                synchronized (this) {
+                    event = pending.poll();
+                    sending = event != null;
+                    complete = event == null && closed;
+                }
+                if (event == null) {
+                    if (complete) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                if (!send(event)) {
+                    synchronized (this) {
+                        sending = false;
+                        closed = true;
+                        pending.clear();
+                    }
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException exception) {
+                emitter.completeWithError(exception);
+                return false;
+            }
+        }
+
+        private boolean matches(IssueSummary issue) {
+            return filter == null
+                    || accepts(filter.getType(), issue.getType())
+                    && accepts(filter.getSeverity(), issue.getSeverity())
+                    && accepts(filter.getStatus(), issue.getStatus())
+                    && accepts(filter.getProject(), issue.getProject());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.List;
+
+/**
+ * Registers the hit ratio of every cache region, computed from the hit and
+ * miss counts since the start of the application, and the size of the
+ * off-heap tier of tiered regions.
+ */
+public class CacheHitRatioMetrics implements MeterBinder {
+
+    private final List<CaffeineCache> caches;
+
+    public CacheHitRatioMetrics(List<CaffeineCache> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CaffeineCache cache : caches) {
+            Gauge.builder("cache.hit.ratio", cache, CacheHitRatioMetrics::hitRatio)
+                    .tag("cache", cache.getName())
+                    .description("Ratio of cache lookups answered from the cache")
+                    .register(registry);
+            if (cache instanceof TieredIssueCache) {
+                bindOffHeapTier(registry, cache.getName(), ((TieredIssueCache) cache).getOffHeapStore());
+            }
+        }
+    }
+
+    private void bindOffHeapTier(MeterRegistry registry, String name, OffHeapIssueStore store) {
+        Gauge.builder("cache.offheap.size", store, OffHeapIssueStore::sizeInBytes)
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .description("Size of the entries stored in the off-heap tier")
+                .register(registry);
+        Gauge.builder("cache.offheap.entries", store, OffHeapIssueStore::entryCount)
+                .tag("cache", name)
+                .description("Number of entries stored in the off-heap tier")
+                .register(registry);
+    }
+
+    private static double hitRatio(CaffeineCache cache) {
+        CacheStats statistics = cache.getNativeCache().stats();
+        long hits = statistics.hitCount();
+        long lookups = hits + statistics.missCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,311 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Attachment;
+import com.jaikeex.issuetrackerservice.entity.HistoryRecord;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import org.hibernate.Hibernate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact binary encoding of cached lists and pages of issues or issue
+ * summaries. Strings are
+ * stored as length-prefixed UTF-8, enums by their ordinal and timestamps
+ * as epoch millis with nanos. History records and attachments are encoded
+ * along with their issue, so an issue decoded from the cache serializes to
+ * the same JSON as the original one. Values with associations that have
+ * not been loaded yet are not supported, they cannot be read outside of
+ * the persistence context.
+ */
+public class IssueBinaryCodec {
+
+    private static final byte LIST_FORMAT = 1;
+    private static final byte PAGE_FORMAT = 2;
+    private static final byte ISSUE_ELEMENTS = 1;
+    private static final byte SUMMARY_ELEMENTS = 2;
+    private static final int NULL_LENGTH = -1;
+    private static final byte NULL_ORDINAL = -1;
+
+    private static final IssueType[] ISSUE_TYPES = IssueType.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final Status[] STATUSES = Status.values();
+    private static final Project[] PROJECTS = Project.values();
+
+    /** Returns whether the value is a list or page of issue summaries or of
+     * issues with all associations loaded.
+     */
+    public boolean supports(Object value) {
+        if (value instanceof CursorPage) {
+            return supportsElements(((CursorPage<?>) value).getContent());
+        }
+        return value instanceof List && supportsElements((List<?>) value);
+    }
+
+    /** Encodes a list or page of issues or issue summaries.
+     *
+     * @param value value accepted by {@link #supports(Object)}.
+     * @return Encoded value.
+     * @throws IllegalArgumentException when the value is not supported.
+     */
+    public byte[] encode(Object value) {
+        if (!supports(value)) {
+            throw new IllegalArgumentException("Unsupported cache value: " + value.getClass().getName());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            if (value instanceof CursorPage) {
+                CursorPage<?> page = (CursorPage<?>) value;
+                output.writeByte(PAGE_FORMAT);
+                writeString(output, page.getNextCursor());
+                writeElements(output, page.getContent());
+            }
+            else {
+                output.writeByte(LIST_FORMAT);
+                writeElements(output, (List<?>) value);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Decodes a value written by {@link #encode(Object)}. The position of
+     * the buffer is not changed.
+     *
+     * @param buffer buffer with the encoded value.
+     * @return Decoded list or page of issues or issue summaries.
+     */
+    public Object decode(ByteBuffer buffer) {
+        ByteBuffer input = buffer.duplicate();
+        input.rewind();
+        byte format = input.get();
+        if (format == PAGE_FORMAT) {
+            String nextCursor = readString(input);
+            return new CursorPage<>(readElements(input), nextCursor);
+        }
+        return readElements(input);
+    }
+
+    private boolean supportsElements(Collection<?> values) {
+        if (values == null) {
+            return false;
+        }
+        boolean summaries = !values.isEmpty() && values.iterator().next() instanceof IssueSummary;
+        for (Object value : values) {
+            boolean supported = summaries
+                    ? value instanceof IssueSummary
+                    : value instanceof Issue && isLoaded((Issue) value);
+            if (!supported) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isLoaded(Issue issue) {
+        return Hibernate.isInitialized(issue)
+                && Hibernate.isInitialized(issue.getHistoryRecords())
+                && Hibernate.isInitialized(issue.getAttachments());
+    }
+
+    private void writeElements(DataOutputStream output, Collection<?> elements) throws IOException {
+        boolean summaries = !elements.isEmpty() && elements.iterator().next() instanceof IssueSummary;
+        output.writeByte(summaries ? SUMMARY_ELEMENTS : ISSUE_ELEMENTS);
+        output.writeInt(elements.size());
+        for (Object element : elements) {
+            if (summaries) {
+                writeSummary(output, (IssueSummary) element);
+            }
+            else {
+                writeIssue(output, (Issue) element);
+            }
+        }
+    }
+
+    private void writeSummary(DataOutputStream output, IssueSummary summary) throws IOException {
+        writeId(output, summary.getId());
+        writeString(output, summary.getTitle());
+        writeString(output, summary.getAuthor());
+        writeTimestamp(output, summary.getDate());
+        writeEnum(output, summary.getType());
+        writeEnum(output, summary.getSeverity());
+        writeEnum(output, summary.getStatus());
+        writeEnum(output, summary.getProject());
+    }
+
+    private void writeIssue(DataOutputStream output, Issue issue) throws IOException {
+        writeId(output, issue.getId());
+        writeString(output, issue.getTitle());
+        writeString(output, issue.getDescription());
+        writeTimestamp(output, issue.getDate());
+        writeString(output, issue.getAuthor());
+        writeEnum(output, issue.getType());
+        writeEnum(output, issue.getSeverity());
+        writeEnum(output, issue.getStatus());
+        writeEnum(output, issue.getProject());
+        output.writeLong(issue.getVersion());
+        writeHistoryRecords(output, issue.getHistoryRecords());
+        writeAttachments(output, issue.getAttachments());
+    }
+
+    private void writeHistoryRecords(DataOutputStream output, List<HistoryRecord> records) throws IOException {
+        output.writeInt(records == null ? NULL_LENGTH : records.size());
+        if (records != null) {
+            for (HistoryRecord record : records) {
+                output.writeInt(record.getId());
+                writeString(output, record.getText());
+                writeTimestamp(output, record.getDate());
+            }
+        }
+    }
+
+    private void writeAttachments(DataOutputStream output, List<Attachment> attachments) throws IOException {
+        output.writeInt(attachments == null ? NULL_LENGTH : attachments.size());
+        if (attachments != null) {
+            for (Attachment attachment : attachments) {
+                output.writeInt(attachment.getId());
+                writeString(output, attachment.getPath());
+                writeString(output, attachment.getOriginalFilename());
+                writeTimestamp(output, attachment.getDate());
+                writeString(output, attachment.getBlobHash());
+            }
+        }
+    }
+
+    private void writeId(DataOutputStream output, Integer id) throws IOException {
+        output.writeBoolean(id != null);
+        if (id != null) {
+            output.writeInt(id);
+        }
+    }
+
+    private void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private void writeTimestamp(DataOutputStream output, Timestamp value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeLong(value.getTime());
+            output.writeInt(value.getNanos());
+        }
+    }
+
+    private void writeEnum(DataOutputStream output, Enum<?> value) throws IOException {
+        output.writeByte(value == null ? NULL_ORDINAL : value.ordinal());
+    }
+
+    private List<?> readElements(ByteBuffer input) {
+        boolean summaries = input.get() == SUMMARY_ELEMENTS;
+        int count = input.getInt();
+        List<Object> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(summaries ? readSummary(input) : readIssue(input));
+        }
+        return elements;
+    }
+
+    private IssueSummary readSummary(ByteBuffer input) {
+        IssueSummary summary = new IssueSummary();
+        summary.setId(readId(input));
+        summary.setTitle(readString(input));
+        summary.setAuthor(readString(input));
+        summary.setDate(readTimestamp(input));
+        summary.setType(readEnum(input, ISSUE_TYPES));
+        summary.setSeverity(readEnum(input, SEVERITIES));
+        summary.setStatus(readEnum(input, STATUSES));
+        summary.setProject(readEnum(input, PROJECTS));
+        return summary;
+    }
+
+    private Issue readIssue(ByteBuffer input) {
+        Issue issue = new Issue();
+        issue.setId(readId(input));
+        issue.setTitle(readString(input));
+        issue.setDescription(readString(input));
+        issue.setDate(readTimestamp(input));
+        issue.setAuthor(readString(input));
+        issue.setType(readEnum(input, ISSUE_TYPES));
+        issue.setSeverity(readEnum(input, SEVERITIES));
+        issue.setStatus(readEnum(input, STATUSES));
+        issue.setProject(readEnum(input, PROJECTS));
+        issue.setVersion(input.getLong());
+        issue.setHistoryRecords(readHistoryRecords(input, issue));
+        issue.setAttachments(readAttachments(input, issue));
+        return issue;
+    }
+
+    private List<HistoryRecord> readHistoryRecords(ByteBuffer input, Issue issue) {
+        int count = input.getInt();
+        if (count == NULL_LENGTH) {
+            return null;
+        }
+        List<HistoryRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(new HistoryRecord(input.getInt(), readString(input), readTimestamp(input), issue));
+        }
+        return records;
+    }
+
+    private List<Attachment> readAttachments(ByteBuffer input, Issue issue) {
+        int count = input.getInt();
+        if (count == NULL_LENGTH) {
+            return null;
+        }
+        List<Attachment> attachments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            attachments.add(new Attachment(input.getInt(), readString(input), readString(input),
+                    readTimestamp(input), readString(input), issue));
+        }
+        return attachments;
+    }
+
+    private Integer readId(ByteBuffer input) {
+        return input.get() == 0 ? null : input.getInt();
+    }
+
+    private String readString(ByteBuffer input) {
+        int length = input.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Timestamp readTimestamp(ByteBuffer input) {
+        if (input.get() == 0) {
+            return null;
+        }
+        Timestamp timestamp = new Timestamp(input.getLong());
+        timestamp.setNanos(input.getInt());
+        return timestamp;
+    }
+
+    private <E extends Enum<E>> E readEnum(ByteBuffer input, E[] values) {
+        byte ordinal = input.get();
+        return ordinal == NULL_ORDINAL ? null : values[ordinal];
+    }
+}
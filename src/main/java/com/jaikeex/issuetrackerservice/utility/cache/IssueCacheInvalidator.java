@@ -0,0 +1,127 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.event.IssueHistoryWrittenEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Evicts the cache entries affected by committed issue changes: the entries
+ * of the changed issue itself from the issue region and the lists filtered
+ * by its previous or current type, severity, status or project from the
+ * list region. Lists of all issues are evicted on every change. The lists
+ * can be refreshed instead, so that readers keep getting the previous list
+ * while a single reload per list runs in the background. The listeners run
+ * before any other, so those never read an entry that is about to be evicted.
+ */
+@Slf4j
+public class IssueCacheInvalidator {
+
+    private static final String ID_KEY_PREFIX = "id";
+    private static final String TITLE_KEY_PREFIX = "title";
+
+    private final Cache issueCache;
+    private final Cache listCache;
+    private final boolean refreshLists;
+
+    /**
+     * @param refreshLists reload the affected lists in the background instead
+     *                     of evicting them, the previous lists are served until
+     *                     the reload finishes. Only applies when the list cache
+     *                     is a loading cache.
+     */
+    public IssueCacheInvalidator(Cache issueCache, Cache listCache, boolean refreshLists) {
+        this.issueCache = issueCache;
+        this.listCache = listCache;
+        this.refreshLists = refreshLists;
+    }
+
+    /** Evicts the entries affected by the changes in the event.
+     *
+     * @param event Event published by the issue or attachment service.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onIssueChange(IssueChangeEvent event) {
+        Set<Enum<?>> affectedValues = new HashSet<>();
+        for (IssueChange change : event.getChanges()) {
+            issueCache.evict(ID_KEY_PREFIX + change.getIssueId());
+            evictIssueEntries(change.getPrevious(), affectedValues);
+            evictIssueEntries(change.getCurrent(), affectedValues);
+        }
+        int invalidatedLists = invalidateLists(affectedValues);
+        log.debug("Invalidated {} cached issue lists [values={}, refresh={}]", invalidatedLists, affectedValues, refreshLists);
+    }
+
+    /** Evicts the issues whose history records were written asynchronously.
+     *
+     * @param event Event published by the history service.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onHistoryWritten(IssueHistoryWrittenEvent event) {
+        event.getIssueIds().forEach(id -> issueCache.evict(ID_KEY_PREFIX + id));
+    }
+
+    private void evictIssueEntries(Issue issue, Set<Enum<?>> affectedValues) {
+        if (issue == null) {
+            return;
+        }
+        issueCache.evict(TITLE_KEY_PREFIX + issue.getTitle());
+        affectedValues.add(issue.getType());
+        affectedValues.add(issue.getSeverity());
+        affectedValues.add(issue.getStatus());
+        affectedValues.add(issue.getProject());
+    }
+
+    private int invalidateLists(Set<Enum<?>> affectedValues) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeListCache();
+        boolean refresh = refreshLists && nativeCache instanceof LoadingCache;
+        int invalidated = 0;
+        for (Object key : nativeCache.asMap().keySet()) {
+            if (key instanceof IssueListCacheKey && isAffected((IssueListCacheKey) key, affectedValues)) {
+                if (refresh) {
+                    ((LoadingCache<Object, Object>) nativeCache).refresh(key);
+                }
+                else {
+                    listCache.evict(key);
+                }
+                invalidated++;
+            }
+        }
+        if (listCache instanceof TieredIssueCache) {
+            invalidated += evictOffHeapLists(((TieredIssueCache) listCache).getOffHeapStore(), affectedValues);
+        }
+        return invalidated;
+    }
+
+    private int evictOffHeapLists(OffHeapIssueStore offHeapStore, Set<Enum<?>> affectedValues) {
+        int evicted = 0;
+        for (Object key : offHeapStore.keys()) {
+            if (key instanceof IssueListCacheKey && isAffected((IssueListCacheKey) key, affectedValues)) {
+                listCache.evict(key);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private boolean isAffected(IssueListCacheKey key, Set<Enum<?>> affectedValues) {
+        return key.getFilterValue() == null || affectedValues.contains(key.getFilterValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeListCache() {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) listCache.getNativeCache();
+    }
+}
@@ -0,0 +1,75 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+
+import java.util.Collection;
+
+/**
+ * Weighs cache entries by a rough estimate of their retained heap size in
+ * bytes, so that a region holding whole lists of issues is bounded by memory
+ * rather than by the number of entries. The estimate counts the strings and
+ * object headers of issues, issue summaries and lists, lazily loaded
+ * associations are ignored.
+ */
+public class IssueCacheWeigher implements Weigher<Object, Object> {
+
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int ISSUE_OVERHEAD = 112;
+    private static final int SUMMARY_OVERHEAD = 80;
+    private static final int DEFAULT_WEIGHT = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = ENTRY_OVERHEAD + estimate(key) + estimate(value);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return STRING_OVERHEAD + 2L * ((String) value).length();
+        }
+        if (value instanceof Issue) {
+            return estimateIssue((Issue) value);
+        }
+        if (value instanceof IssueSummary) {
+            IssueSummary summary = (IssueSummary) value;
+            return SUMMARY_OVERHEAD + estimate(summary.getTitle()) + estimate(summary.getAuthor());
+        }
+        if (value instanceof Collection) {
+            return estimateCollection((Collection<?>) value);
+        }
+        if (value instanceof CursorPage) {
+            CursorPage<?> page = (CursorPage<?>) value;
+            return OBJECT_OVERHEAD + estimate(page.getContent()) + estimate(page.getNextCursor());
+        }
+        if (value instanceof IssueListCacheKey) {
+            IssueListCacheKey key = (IssueListCacheKey) value;
+            return OBJECT_OVERHEAD + estimate(key.getMethodName()) + estimateCollection(key.getParams());
+        }
+        return DEFAULT_WEIGHT;
+    }
+
+    private static long estimateIssue(Issue issue) {
+        return ISSUE_OVERHEAD
+                + estimate(issue.getTitle())
+                + estimate(issue.getDescription())
+                + estimate(issue.getAuthor());
+    }
+
+    private static long estimateCollection(Collection<?> collection) {
+        long weight = OBJECT_OVERHEAD;
+        for (Object element : collection) {
+            weight += REFERENCE_SIZE + estimate(element);
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,48 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Cache key of a list of issue reports. Besides the method and its arguments,
+ * the key exposes the issue property the list is filtered by, so that
+ * a write can evict only the lists which may contain the changed issue.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class IssueListCacheKey implements Serializable {
+
+    private final String methodName;
+
+    /** Property value the list is filtered by, null for lists of all issues. */
+    private final Enum<?> filterValue;
+
+    private final List<Object> params;
+
+    /** Service the list was loaded from, used to reload the list on refresh. */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient Object target;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient Method method;
+
+    public IssueListCacheKey(String methodName, Enum<?> filterValue, List<Object> params) {
+        this(methodName, filterValue, params, null, null);
+    }
+
+    public IssueListCacheKey(String methodName, Enum<?> filterValue, List<Object> params, Object target, Method method) {
+        this.methodName = methodName;
+        this.filterValue = filterValue;
+        this.params = params;
+        this.target = target;
+        this.method = method;
+    }
+}
@@ -0,0 +1,25 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Loads a list of issues by calling the cached service method again. The
+ * method and the service target are carried by the {@link IssueListCacheKey},
+ * the call goes straight to the target and does not pass through the cache.
+ * Used to refresh the list region in the background after a write.
+ */
+public class IssueListCacheLoader implements CacheLoader<Object, Object> {
+
+    @Override
+    public Object load(Object key) {
+        if (!(key instanceof IssueListCacheKey)) {
+            return null;
+        }
+        IssueListCacheKey listKey = (IssueListCacheKey) key;
+        if (listKey.getTarget() == null || listKey.getMethod() == null) {
+            return null;
+        }
+        return ReflectionUtils.invokeMethod(listKey.getMethod(), listKey.getTarget(), listKey.getParams().toArray());
+    }
+}
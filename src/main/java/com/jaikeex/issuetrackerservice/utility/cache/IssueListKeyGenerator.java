@@ -0,0 +1,26 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Generates {@link IssueListCacheKey} keys, the first enum argument of the
+ * cached method is used as the filter value. The key keeps the target and
+ * the method, so that the list can be reloaded when it is refreshed.
+ */
+public class IssueListKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Enum<?> filterValue = null;
+        for (Object param : params) {
+            if (param instanceof Enum) {
+                filterValue = (Enum<?>) param;
+                break;
+            }
+        }
+        return new IssueListCacheKey(method.getName(), filterValue, Arrays.asList(params.clone()), target, method);
+    }
+}
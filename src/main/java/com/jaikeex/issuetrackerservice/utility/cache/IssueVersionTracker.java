@@ -0,0 +1,109 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.event.IssueHistoryWrittenEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides the ETags of the issue endpoints. A single issue is tagged with
+ * its id and version. The tags of the issues served recently are remembered
+ * until the issue changes, so an unchanged issue can be validated without
+ * loading it; the least recently used tags are dropped beyond the capacity.
+ * Issue lists are tagged with a counter of the committed changes, prefixed
+ * with the start time of the service so tags of a previous run are never
+ * matched. The counter is shared by all lists, any change invalidates the
+ * tags of every list, including lists the changed issue is not part of.
+ *
+ * <p>The listeners run after the cache invalidator, an issue read after a
+ * change was counted is never an evicted cache entry.
+ */
+public class IssueVersionTracker {
+
+    private final String runPrefix = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong changeCount = new AtomicLong();
+    private final ConcurrentMap<Integer, String> issueETags;
+    private final boolean listETags;
+
+    /**
+     * @param listETags    whether the lists are tagged. Lists must not be tagged
+     *                     when the cached lists are refreshed in the background
+     *                     after a change, the previous lists would get the new tag.
+     * @param eTagCapacity maximum number of remembered issue tags.
+     */
+    public IssueVersionTracker(boolean listETags, long eTagCapacity) {
+        this.listETags = listETags;
+        // The tags are tiny, evicting them on the calling thread keeps the bound strict.
+        this.issueETags = Caffeine.newBuilder()
+                .maximumSize(eTagCapacity)
+                .executor(Runnable::run)
+                .<Integer, String>build()
+                .asMap();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onIssueChange(IssueChangeEvent event) {
+        changeCount.incrementAndGet();
+        for (IssueChange change : event.getChanges()) {
+            issueETags.remove(change.getIssueId());
+        }
+    }
+
+    @EventListener
+    public void onHistoryWritten(IssueHistoryWrittenEvent event) {
+        changeCount.incrementAndGet();
+        event.getIssueIds().forEach(issueETags::remove);
+    }
+
+    /** Returns the number of changes counted so far. It has to be read
+     * before loading an issue that is to be remembered.
+     */
+    public long getChangeCount() {
+        return changeCount.get();
+    }
+
+    /** Returns the remembered tag of an issue.
+     *
+     * @param id id of the issue.
+     * @return Strong ETag, null when the issue was not served since its last change.
+     */
+    public String findIssueETag(int id) {
+        return issueETags.get(id);
+    }
+
+    /** Returns the tag of a loaded issue and remembers it, unless the issue
+     * may have changed while it was loaded.
+     *
+     * @param issue             the loaded issue.
+     * @param changeCountBefore change count read before loading the issue.
+     * @return Strong ETag of the issue.
+     */
+    public String rememberIssueETag(Issue issue, long changeCountBefore) {
+        String eTag = "\"" + issue.getId() + "-" + issue.getVersion() + "\"";
+        if (changeCount.get() == changeCountBefore) {
+            issueETags.put(issue.getId(), eTag);
+            // A change counted meanwhile may have missed the new entry.
+            if (changeCount.get() != changeCountBefore) {
+                issueETags.remove(issue.getId(), eTag);
+            }
+        }
+        return eTag;
+    }
+
+    /** Returns the tag shared by all issue lists.
+     *
+     * @return Weak ETag, null when the lists are not tagged.
+     */
+    public String getListETag() {
+        return listETags ? "W/\"" + runPrefix + "-" + changeCount.get() + "\"" : null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+/**
+ * Keeps encoded issue lists in direct byte buffers outside of the heap.
+ * The store is bounded by the total size of the buffers, the heap only holds
+ * the small buffer handles. The memory of an evicted buffer is released
+ * once its handle is collected, so -XX:MaxDirectMemorySize should leave some
+ * headroom above the configured size.
+ */
+public class OffHeapIssueStore {
+
+    private final IssueBinaryCodec codec;
+    private final Cache<Object, Entry> entries;
+
+    public OffHeapIssueStore(long maximumSizeBytes, IssueBinaryCodec codec) {
+        this.codec = codec;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maximumSizeBytes)
+                .weigher((Object key, Entry entry) -> entry.buffer.capacity())
+                .build();
+    }
+
+    /** Encodes and stores the value, values which cannot be encoded are
+     * ignored.
+     *
+     * @param key cache key.
+     * @param value cached value.
+     * @return true when the value has been stored.
+     */
+    public boolean put(Object key, Object value) {
+        if (!codec.supports(value)) {
+            return false;
+        }
+        byte[] bytes = codec.encode(value);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        entries.put(key, new Entry(buffer));
+        return true;
+    }
+
+    /** Returns the stored entry, or null when there is none. */
+    public Entry get(Object key) {
+        return entries.getIfPresent(key);
+    }
+
+    /** Removes the entry only if it is still stored under the key. */
+    public boolean remove(Object key, Entry entry) {
+        return entries.asMap().remove(key, entry);
+    }
+
+    public void evict(Object key) {
+        entries.invalidate(key);
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    public Set<Object> keys() {
+        return entries.asMap().keySet();
+    }
+
+    public long entryCount() {
+        return entries.estimatedSize();
+    }
+
+    /** Returns the total size of the stored buffers in bytes. */
+    public long sizeInBytes() {
+        return entries.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    /**
+     * One encoded value with the number of times it has been read.
+     */
+    public class Entry {
+
+        private final ByteBuffer buffer;
+        private volatile int hits;
+
+        private Entry(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public Object decode() {
+            return codec.decode(buffer);
+        }
+
+        /** Counts a read of the entry, concurrent reads may be counted once.
+         *
+         * @return Number of reads including this one.
+         */
+        public int recordHit() {
+            return ++hits;
+        }
+    }
+}
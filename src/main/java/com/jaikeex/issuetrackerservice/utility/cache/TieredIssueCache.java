@@ -0,0 +1,139 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine heap cache backed by an off-heap tier. Entries evicted from the
+ * heap for size are demoted to the {@link OffHeapIssueStore} by the listener
+ * returned from {@link #demotingListener(OffHeapIssueStore)}, which has to be
+ * set as the eviction listener of the heap cache. An off-heap entry is decoded on every read and is
+ * promoted back to the heap once it has been read the configured number
+ * of times.
+ */
+public class TieredIssueCache extends CaffeineCache {
+
+    private final OffHeapIssueStore offHeapStore;
+    private final int promotionHits;
+
+    public TieredIssueCache(String name,
+                            com.github.benmanes.caffeine.cache.Cache<Object, Object> heapCache,
+                            OffHeapIssueStore offHeapStore,
+                            int promotionHits) {
+        super(name, heapCache);
+        this.offHeapStore = offHeapStore;
+        this.promotionHits = promotionHits;
+    }
+
+    /** Returns an eviction listener demoting the entries evicted from the
+     * heap for size. The listener runs while the heap entry is being removed,
+     * so a concurrent eviction of the same key cannot miss the demoted copy.
+     */
+    public static RemovalListener<Object, Object> demotingListener(OffHeapIssueStore offHeapStore) {
+        return (key, value, cause) -> {
+            if (cause == RemovalCause.SIZE && value != null) {
+                offHeapStore.put(key, value);
+            }
+        };
+    }
+
+    public OffHeapIssueStore getOffHeapStore() {
+        return offHeapStore;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = getNativeCache().getIfPresent(key);
+        if (value == null) {
+            value = lookupOffHeap(key);
+        }
+        return value != null ? value : super.lookup(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = getNativeCache().getIfPresent(key);
+        if (value == null) {
+            value = lookupOffHeap(key);
+        }
+        return value != null ? (T) fromStoreValue(value) : super.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        offHeapStore.evict(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return super.putIfAbsent(key, value);
+    }
+
+    /** The off-heap copy is removed both before and after the heap entry:
+     * first so that a concurrent promotion cannot bring it back to the heap,
+     * then to drop a copy demoted while the heap entry was being removed.
+     */
+    @Override
+    public void evict(Object key) {
+        offHeapStore.evict(key);
+        super.evict(key);
+        offHeapStore.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        offHeapStore.evict(key);
+        boolean evicted = super.evictIfPresent(key);
+        offHeapStore.evict(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        offHeapStore.clear();
+        super.clear();
+        offHeapStore.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        offHeapStore.clear();
+        boolean invalidated = super.invalidate();
+        offHeapStore.clear();
+        return invalidated;
+    }
+
+    private Object lookupOffHeap(Object key) {
+        OffHeapIssueStore.Entry entry = offHeapStore.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Object value = entry.decode();
+        if (entry.recordHit() >= promotionHits) {
+            promote(key, entry, value);
+        }
+        return value;
+    }
+
+    /** Moves the entry to the heap, unless it has been removed from the
+     * off-heap tier meanwhile. Runs under the lock of the heap key, so it
+     * cannot interleave with the removal of the heap entry.
+     */
+    private void promote(Object key, OffHeapIssueStore.Entry entry, Object value) {
+        getNativeCache().asMap().compute(key, (heapKey, heapValue) -> {
+            if (heapValue != null) {
+                return heapValue;
+            }
+            return offHeapStore.remove(key, entry) ? value : null;
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.jaikeex.issuetrackerservice.utility.download;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes files into http responses. Supports conditional requests and
+ * single byte range requests. The content is sent by the servlet container
+ * using sendfile when the container supports it, otherwise it is transferred
+ * from the file channel directly into the response.
+ */
+@Slf4j
+public class FileSender {
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    private static final String BYTES_RANGE_UNIT = "bytes";
+
+    /** Sends the whole file or its requested range, or only the status when
+     * the client's copy is still valid.
+     *
+     * @param file Regular file which is to be sent.
+     * @param request Http request, its conditional and range headers are honoured.
+     * @param response Http response the file is written into.
+     * @throws IOException when there is a problem with reading the file or
+     *                     writing the response.
+     */
+    public void send(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(file, file.getFileName().toString(), request, response);
+    }
+
+    /** Sends the whole file or its requested range, or only the status when
+     * the client's copy is still valid. The content type is derived from the
+     * given filename instead of the name of the file on disk.
+     *
+     * @param file Regular file which is to be sent.
+     * @param filename Name the content type is derived from.
+     * @param request Http request, its conditional and range headers are honoured.
+     * @param response Http response the file is written into.
+     * @throws IOException when there is a problem with reading the file or
+     *                     writing the response.
+     */
+    public void send(Path file, String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = createEtag(length, lastModified);
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_RANGE_UNIT);
+        response.setContentType(getMediaType(filename).toString());
+
+        HttpRange range = getRequestedRange(request, etag, lastModified);
+        long start = 0;
+        long end = length - 1;
+        if (range != null) {
+            if (length == 0 || range.getRangeStart(length) >= length) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_RANGE_UNIT + " */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_RANGE_UNIT + " " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1);
+            log.debug("Handed file over to the container for sendfile [file={}, bytes={}]", file, count);
+            return;
+        }
+        transfer(file, start, count, response);
+    }
+
+    private void transfer(Path file, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new IOException("File ended before the requested range was sent: " + file);
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    /** Returns the single range requested by the client, or null when the whole
+     * file should be sent: no Range header, an If-Range validator which does not
+     * match the current file, multiple ranges or an unparsable header.
+     */
+    private HttpRange getRequestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !isIfRangeSatisfied(request, etag, lastModified)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException exception) {
+            log.debug("Ignoring invalid Range header [range={}]", rangeHeader);
+            return null;
+        }
+    }
+
+    private boolean isIfRangeSatisfied(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return ifRangeDate != -1 && lastModified / 1000 == ifRangeDate / 1000;
+        } catch (IllegalArgumentException exception) {
+            log.debug("Ignoring invalid If-Range header [ifRange={}]", ifRange);
+            return false;
+        }
+    }
+
+    private String createEtag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private MediaType getMediaType(String filename) {
+        return MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jaikeex.issuetrackerservice.utility.event;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A single change made to an issue report. Holds detached copies of the
+ * issue taken before and after the change, so the listeners can read them
+ * long after the persistence context was closed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class IssueChange {
+
+    private final IssueChangeType type;
+    private final Integer issueId;
+
+    /** State of the issue before the change, null when the issue was created. */
+    private final Issue previous;
+
+    /** State of the issue after the change, null when the issue was deleted. */
+    private final Issue current;
+
+    public static IssueChange created(Issue issue) {
+        return new IssueChange(IssueChangeType.CREATE, issue.getId(), null, snapshotOf(issue));
+    }
+
+    public static IssueChange propertiesUpdated(Issue previous, Issue current) {
+        return new IssueChange(IssueChangeType.UPDATE_PROPERTIES, current.getId(), snapshotOf(previous), snapshotOf(current));
+    }
+
+    public static IssueChange descriptionUpdated(Issue current) {
+        return new IssueChange(IssueChangeType.UPDATE_DESCRIPTION, current.getId(), null, snapshotOf(current));
+    }
+
+    public static IssueChange deleted(Issue previous) {
+        return new IssueChange(IssueChangeType.DELETE, previous.getId(), snapshotOf(previous), null);
+    }
+
+    public static IssueChange attachmentAdded(Issue issue) {
+        return new IssueChange(IssueChangeType.ADD_ATTACHMENT, issue.getId(), null, snapshotOf(issue));
+    }
+
+    public static IssueChange attachmentDeleted(Issue issue) {
+        return new IssueChange(IssueChangeType.DELETE_ATTACHMENT, issue.getId(), null, snapshotOf(issue));
+    }
+
+    /** Returns a detached copy of the issue without its history and attachments. */
+    public static Issue snapshotOf(Issue issue) {
+        Issue snapshot = new Issue(issue.getType(), issue.getSeverity(), issue.getStatus(), issue.getProject());
+        snapshot.setId(issue.getId());
+        snapshot.setTitle(issue.getTitle());
+        snapshot.setDescription(issue.getDescription());
+        snapshot.setAuthor(issue.getAuthor());
+        snapshot.setDate(issue.getDate());
+        return snapshot;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jaikeex.issuetrackerservice.utility.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Application event published by the issue service for every write. The
+ * event is bound to the surrounding transaction, listeners that need to
+ * see committed data should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class IssueChangeEvent {
+
+    private final List<IssueChange> changes;
+
+    public static IssueChangeEvent of(IssueChange change) {
+        return new IssueChangeEvent(Collections.singletonList(change));
+    }
+}
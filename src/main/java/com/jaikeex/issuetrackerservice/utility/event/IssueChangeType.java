@@ -0,0 +1,13 @@
+package com.jaikeex.issuetrackerservice.utility.event;
+
+/**
+ * Kind of a change made to an issue report.
+ */
+public enum IssueChangeType {
+    CREATE,
+    UPDATE_PROPERTIES,
+    UPDATE_DESCRIPTION,
+    DELETE,
+    ADD_ATTACHMENT,
+    DELETE_ATTACHMENT
+}
@@ -0,0 +1,20 @@
+package com.jaikeex.issuetrackerservice.utility.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Application event published by the asynchronous history service after it
+ * committed a batch of history records. The records are part of the issues
+ * they belong to, so the versions of those issues were incremented with them.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class IssueHistoryWrittenEvent {
+
+    private final Set<Integer> issueIds;
+}
@@ -0,0 +1,11 @@
+package com.jaikeex.issuetrackerservice.utility.exception;
+
+public class AttachmentTooLargeException extends RuntimeException{
+    public AttachmentTooLargeException() {
+        super("The attachment file exceeds the maximum allowed size.");
+    }
+
+    public AttachmentTooLargeException(String message) {
+        super(message);
+    }
+}
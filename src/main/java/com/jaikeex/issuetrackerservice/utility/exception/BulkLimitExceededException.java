@@ -0,0 +1,11 @@
+package com.jaikeex.issuetrackerservice.utility.exception;
+
+public class BulkLimitExceededException extends RuntimeException{
+    public BulkLimitExceededException() {
+        super("Too many items in a single bulk request.");
+    }
+
+    public BulkLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.jaikeex.issuetrackerservice.utility.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Helper for telling which database constraint rejected a write.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /** Checks whether the violation was caused by the named constraint. The
+     * name is looked up in the messages of the causes, where both MySQL and
+     * H2 report the violated key.
+     *
+     * @param exception translated violation thrown by the repository.
+     * @param constraintName name of the constraint.
+     * @return true if the named constraint was violated.
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException exception, String constraintName) {
+        String name = constraintName.toLowerCase();
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase().contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
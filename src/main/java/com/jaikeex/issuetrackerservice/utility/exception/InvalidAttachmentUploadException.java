@@ -0,0 +1,11 @@
+package com.jaikeex.issuetrackerservice.utility.exception;
+
+public class InvalidAttachmentUploadException extends RuntimeException{
+    public InvalidAttachmentUploadException() {
+        super("The upload must contain the issueTitle field followed by a file with a valid name.");
+    }
+
+    public InvalidAttachmentUploadException(String message) {
+        super(message);
+    }
+}
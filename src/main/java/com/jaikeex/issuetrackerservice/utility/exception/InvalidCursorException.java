@@ -0,0 +1,11 @@
+package com.jaikeex.issuetrackerservice.utility.exception;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException() {
+        super("The provided page cursor is not valid.");
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
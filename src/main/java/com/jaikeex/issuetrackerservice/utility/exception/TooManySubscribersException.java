@@ -0,0 +1,11 @@
+package com.jaikeex.issuetrackerservice.utility.exception;
+
+public class TooManySubscribersException extends RuntimeException{
+    public TooManySubscribersException() {
+        super("The issue stream has reached its maximum number of subscribers.");
+    }
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
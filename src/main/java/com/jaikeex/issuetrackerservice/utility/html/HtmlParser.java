@@ -3,10 +3,16 @@ package com.jaikeex.issuetrackerservice.utility.html;
 import com.jaikeex.issuetrackerservice.dto.IssueDto;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
 
 @Slf4j
 public class HtmlParser {
+
+    private static final String LINE_BREAK_TAG = "<br />";
+    private static final char[] LINE_BREAK_TAG_CHARS = LINE_BREAK_TAG.toCharArray();
+
     public void convertNewLinesInDescriptionToHtml(Issue issue) {
         String convertedText = replaceNewLinesWithHtml(issue.getDescription());
         issue.setDescription(convertedText);
@@ -19,7 +25,56 @@ public class HtmlParser {
         log.debug("Converted new lines in descriptionDto description to <br> tags [title={}]", issueDto.getTitle());
     }
 
-    private String replaceNewLinesWithHtml(String text) {
-        return text.replaceAll("(\r\n|\n)", "<br />");
+    /** Writes the text with every \n and \r\n replaced by a br tag, without
+     * building the converted text in memory first.
+     *
+     * @param text Text which is to be converted.
+     * @param writer Writer the converted text is written into.
+     * @throws IOException when the writer fails.
+     */
+    public void writeNewLinesAsHtml(String text, Writer writer) throws IOException {
+        int segmentStart = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            int segmentEnd = endOfLine(text, segmentStart, i);
+            writer.write(text, segmentStart, segmentEnd - segmentStart);
+            writer.write(LINE_BREAK_TAG_CHARS);
+            segmentStart = i + 1;
+        }
+        writer.write(text, segmentStart, text.length() - segmentStart);
+    }
+
+    /** Replaces every \n and \r\n with a br tag in a single pass. The output
+     * buffer is sized exactly up front and the text itself is returned when
+     * it contains no new lines.
+     */
+    String replaceNewLinesWithHtml(String text) {
+        int lineFeeds = 0;
+        int carriageReturns = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            lineFeeds++;
+            if (i > 0 && text.charAt(i - 1) == '\r') {
+                carriageReturns++;
+            }
+        }
+        if (lineFeeds == 0) {
+            return text;
+        }
+        char[] converted = new char[text.length() + lineFeeds * (LINE_BREAK_TAG_CHARS.length - 1) - carriageReturns];
+        int position = 0;
+        int segmentStart = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            int segmentEnd = endOfLine(text, segmentStart, i);
+            text.getChars(segmentStart, segmentEnd, converted, position);
+            position += segmentEnd - segmentStart;
+            System.arraycopy(LINE_BREAK_TAG_CHARS, 0, converted, position, LINE_BREAK_TAG_CHARS.length);
+            position += LINE_BREAK_TAG_CHARS.length;
+            segmentStart = i + 1;
+        }
+        text.getChars(segmentStart, text.length(), converted, position);
+        return new String(converted);
+    }
+
+    private int endOfLine(String text, int lineStart, int lineFeedIndex) {
+        return lineFeedIndex > lineStart && text.charAt(lineFeedIndex - 1) == '\r' ? lineFeedIndex - 1 : lineFeedIndex;
     }
 }
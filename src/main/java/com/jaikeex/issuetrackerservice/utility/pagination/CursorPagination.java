@@ -0,0 +1,97 @@
+package com.jaikeex.issuetrackerservice.utility.pagination;
+
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Helper for keyset (seek) pagination. Page boundaries are expressed as
+ * opaque, url-safe cursors wrapping the position the next page starts
+ * from, so the clients never depend on the underlying key.
+ */
+public class CursorPagination {
+
+    private final PaginationProperties properties;
+
+    public CursorPagination(PaginationProperties properties) {
+        this.properties = properties;
+    }
+
+    /** Returns the requested page size capped by the configured maximum.
+     * @param requestedSize page size sent by the client, may be null.
+     * @return the page size that should be used for the query.
+     */
+    public int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize < 1) {
+            return properties.getDefaultPageSize();
+        }
+        return Math.min(requestedSize, properties.getMaxPageSize());
+    }
+
+    /** Returns the Pageable limiting a query to a single page. One extra row
+     * is fetched, which tells whether there is a next page without the need
+     * of a count query.
+     * @param pageSize resolved page size.
+     * @return Pageable for the repository query.
+     */
+    public Pageable pageRequest(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /** Decodes the position wrapped in a cursor.
+     * @param cursor cursor sent by the client, may be null.
+     * @param defaultPosition position used when no cursor is provided.
+     * @return decoded position.
+     * @throws InvalidCursorException when the cursor cannot be decoded or
+     *                                wraps a negative position.
+     */
+    public int decodeCursor(String cursor, int defaultPosition) {
+        if (cursor == null || cursor.isEmpty()) {
+            return defaultPosition;
+        }
+        int position;
+        try {
+            byte[] decoded = Base64.getUrlDecoder().decode(cursor);
+            position = Integer.parseInt(new String(decoded, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException();
+        }
+        if (position < 0) {
+            throw new InvalidCursorException();
+        }
+        return position;
+    }
+
+    /** Encodes a position into an opaque cursor.
+     * @param position position the next page starts from.
+     * @return url-safe cursor.
+     */
+    public String encodeCursor(int position) {
+        byte[] bytes = String.valueOf(position).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /** Trims the rows returned by a keyset query to the page size and
+     * creates the cursor pointing at the next page.
+     * @param rows rows fetched with {@link #pageRequest(int)}, ordered by id descending.
+     * @param pageSize resolved page size.
+     * @param idOf function returning the key of a row.
+     * @return the page.
+     */
+    public <T> CursorPage<T> toPage(List<T> rows, int pageSize, ToIntFunction<T> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = new ArrayList<>(rows.subList(0, pageSize));
+        String nextCursor = encodeCursor(idOf.applyAsInt(content.get(pageSize - 1)));
+        return new CursorPage<>(content, nextCursor);
+    }
+}
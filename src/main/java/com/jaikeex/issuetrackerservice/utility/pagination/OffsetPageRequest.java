@@ -0,0 +1,75 @@
+package com.jaikeex.issuetrackerservice.utility.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable with an arbitrary offset. Unlike PageRequest, the offset does not
+ * have to be a multiple of the page size, which is needed when the client
+ * changes the page size between two requests of a ranked listing.
+ */
+@ToString
+@EqualsAndHashCode
+public class OffsetPageRequest implements Pageable {
+
+    private final long offset;
+    private final int limit;
+
+    public OffsetPageRequest(long offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative.");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least one.");
+        }
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + limit, limit);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - limit, 0), limit) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, limit);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * limit, limit);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
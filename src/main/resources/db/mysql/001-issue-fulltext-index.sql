@@ -0,0 +1,2 @@
+-- FULLTEXT index used by the FULLTEXT search engine (search.config.engine=fulltext).
+ALTER TABLE issue ADD FULLTEXT INDEX ft_issue_search (title, author, description);
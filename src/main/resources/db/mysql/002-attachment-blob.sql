@@ -0,0 +1,10 @@
+-- Content-addressed attachment blobs, reference-counted by the attachment rows.
+CREATE TABLE attachment_blob (
+    hash VARCHAR(64) NOT NULL PRIMARY KEY,
+    size BIGINT NOT NULL,
+    reference_count INT NOT NULL
+);
+
+-- Existing attachments keep a NULL blob_hash and are served from <issueId>/<filename>.
+ALTER TABLE attachment ADD COLUMN blob_hash VARCHAR(64) NULL;
+CREATE INDEX idx_attachment_issue_filename ON attachment (issueid, original_filename);
@@ -0,0 +1,3 @@
+-- Composite indexes serving the issue filter, each ends with the id so the newest-first pages are read in index order.
+CREATE INDEX idx_issue_project_status_id ON issue (project, status, id);
+CREATE INDEX idx_issue_type_severity_id ON issue (type, severity, id);
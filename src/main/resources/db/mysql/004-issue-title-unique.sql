@@ -0,0 +1,3 @@
+-- Issue titles are unique, duplicates are rejected by the index instead of a lookup before every insert.
+-- Existing duplicate titles have to be renamed before the index can be created.
+ALTER TABLE issue ADD CONSTRAINT uk_issue_title UNIQUE (title);
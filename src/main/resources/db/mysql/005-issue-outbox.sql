@@ -0,0 +1,12 @@
+-- Outbox of the issue changes, written in the transaction of the change and published by the outbox relay.
+CREATE TABLE issue_outbox (
+    id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    issue_id INT NULL,
+    change_type VARCHAR(32) NULL,
+    payload LONGTEXT NULL,
+    created_at DATETIME(6) NULL,
+    published_at DATETIME(6) NULL
+);
+
+-- Pending events are looked up by the relay, expired ones are deleted by it.
+CREATE INDEX idx_issue_outbox_published ON issue_outbox (published_at, id);
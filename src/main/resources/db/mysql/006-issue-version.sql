@@ -0,0 +1,3 @@
+-- Version of every issue, incremented with each change of the issue and its history records or attachments.
+-- The ETags of the issue endpoints are derived from it.
+ALTER TABLE issue ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
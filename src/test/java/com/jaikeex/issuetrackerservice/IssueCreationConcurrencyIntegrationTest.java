@@ -0,0 +1,89 @@
+package com.jaikeex.issuetrackerservice;
+
+import com.jaikeex.issuetrackerservice.dto.AttachmentFileDto;
+import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.issue.IssueService;
+import com.jaikeex.issuetrackerservice.utility.exception.TitleAlreadyExistsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class IssueCreationConcurrencyIntegrationTest {
+
+    private static final int PARALLEL_CREATES = 8;
+    private static final String CONCURRENT_TEST_TITLE = "concurrent title";
+
+    @Autowired
+    IssueService service;
+
+    @Autowired
+    IssueRepository repository;
+
+    private IssueDto createDto(int author) {
+        IssueDto issueDto = new IssueDto();
+        issueDto.setTitle(CONCURRENT_TEST_TITLE);
+        issueDto.setAuthor("author " + author);
+        issueDto.setDescription("description");
+        issueDto.setType(IssueType.BUG);
+        issueDto.setSeverity(Severity.HIGH);
+        issueDto.setProject(Project.MWP);
+        AttachmentFileDto noAttachment = new AttachmentFileDto();
+        noAttachment.setBytes(new byte[0]);
+        issueDto.setAttachmentFileDto(noAttachment);
+        return issueDto;
+    }
+
+    @Test
+    public void saveNewIssue_givenParallelCreatesWithTheSameTitle_shouldCreateExactlyOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_CREATES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < PARALLEL_CREATES; i++) {
+                IssueDto issueDto = createDto(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.saveNewIssue(issueDto);
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int rejected = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException exception) {
+                    assertTrue(exception.getCause() instanceof TitleAlreadyExistsException, exception.getCause().toString());
+                    rejected++;
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(PARALLEL_CREATES - 1, rejected);
+            assertEquals(1, repository.findExistingTitles(Collections.singletonList(CONCURRENT_TEST_TITLE)).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
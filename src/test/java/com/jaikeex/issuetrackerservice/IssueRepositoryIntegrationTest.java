@@ -30,7 +30,7 @@ public class IssueRepositoryIntegrationTest {
     private static final String GENERAL_TEST_TITLE = "testTitle";
     private static final String UPDATE_TEST_TITLE = "update title";
     private static final String FILTER_TEST_TITLE = "filter title";
-    private static final String CACHE_NAME = "issue-cache-eh";
+    private static final String CACHE_NAME = "issue-cache";
 
     @Autowired
     CacheManager cacheManager;
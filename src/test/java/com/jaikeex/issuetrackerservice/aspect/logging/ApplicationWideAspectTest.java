@@ -0,0 +1,78 @@
+package com.jaikeex.issuetrackerservice.aspect.logging;
+
+import com.jaikeex.issuetrackerservice.config.properties.TracingProperties;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class ApplicationWideAspectTest {
+
+    private static final String TEST_RESULT = "result";
+
+    @Mock
+    ProceedingJoinPoint joinPoint;
+    @Mock
+    Signature signature;
+
+    TracingProperties properties;
+    ApplicationWideAspect aspect;
+
+    @BeforeEach
+    public void beforeEach() throws Throwable {
+        properties = new TracingProperties(true, 1.0, 10, new HashSet<>());
+        aspect = new ApplicationWideAspect(properties);
+        when(joinPoint.proceed()).thenReturn(TEST_RESULT);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"argument"});
+    }
+
+    @Test
+    public void trace_givenDisabledPointcut_shouldOnlyProceed() throws Throwable {
+        properties.setDisabledPointcuts(Collections.singleton(ApplicationWideAspect.REPOSITORY_POINTCUT));
+        assertEquals(TEST_RESULT, aspect.trace(joinPoint, ApplicationWideAspect.REPOSITORY_POINTCUT));
+        verify(joinPoint, times(1)).proceed();
+        verify(joinPoint, never()).getArgs();
+        verify(joinPoint, never()).getSignature();
+    }
+
+    @Test
+    public void trace_givenTracingDisabled_shouldOnlyProceed() throws Throwable {
+        properties.setEnabled(false);
+        assertEquals(TEST_RESULT, aspect.trace(joinPoint, ApplicationWideAspect.SERVICE_POINTCUT));
+        verify(joinPoint, never()).getArgs();
+    }
+
+    @Test
+    public void trace_givenZeroSampleRate_shouldNotReadArguments() throws Throwable {
+        properties.setSampleRate(0);
+        assertEquals(TEST_RESULT, aspect.trace(joinPoint, ApplicationWideAspect.SERVICE_POINTCUT));
+        verify(joinPoint, never()).getArgs();
+    }
+
+    @Test
+    public void trace_givenException_shouldRethrowIt() throws Throwable {
+        IllegalArgumentException exception = new IllegalArgumentException();
+        when(joinPoint.proceed()).thenThrow(exception);
+        assertSame(exception, assertThrows(IllegalArgumentException.class,
+                () -> aspect.trace(joinPoint, ApplicationWideAspect.CONTROLLER_POINTCUT)));
+    }
+
+    @Test
+    public void tracedArguments_shouldSummarizeLargeArguments() {
+        TracedArguments arguments = new TracedArguments(new Object[]{
+                new byte[1024], "0123456789abcdef", Arrays.asList(1, 2, 3), null, 7}, 10);
+        assertEquals("byte[1024], 0123456789...(16 chars), ArrayList(size=3), null, 7", arguments.toString());
+    }
+}
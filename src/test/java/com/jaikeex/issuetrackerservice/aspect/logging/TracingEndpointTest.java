@@ -0,0 +1,56 @@
+package com.jaikeex.issuetrackerservice.aspect.logging;
+
+import com.jaikeex.issuetrackerservice.config.properties.TracingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingEndpointTest {
+
+    TracingProperties properties;
+    TracingEndpoint endpoint;
+
+    @BeforeEach
+    public void beforeEach() {
+        properties = new TracingProperties(true, 1.0, 10, new HashSet<>());
+        endpoint = new TracingEndpoint(properties);
+    }
+
+    @Test
+    public void configure_shouldChangeOnlyTheProvidedProperties() {
+        endpoint.configure(false, null, 20, ApplicationWideAspect.REPOSITORY_POINTCUT + "," + ApplicationWideAspect.SERVICE_POINTCUT);
+        assertFalse(properties.isEnabled());
+        assertEquals(1.0, properties.getSampleRate());
+        assertEquals(20, properties.getMaxArgumentLength());
+        assertEquals(new HashSet<>(Arrays.asList(ApplicationWideAspect.REPOSITORY_POINTCUT, ApplicationWideAspect.SERVICE_POINTCUT)),
+                properties.getDisabledPointcuts());
+    }
+
+    @Test
+    public void configure_givenSampleRateOutOfRange_shouldChangeNothing() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.configure(false, 1.5, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.configure(false, Double.NaN, null, null));
+        assertTrue(properties.isEnabled());
+        assertEquals(1.0, properties.getSampleRate());
+    }
+
+    @Test
+    public void configure_givenUnknownPointcut_shouldChangeNothing() {
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.configure(null, null, null, ApplicationWideAspect.SERVICE_POINTCUT + ",unknown"));
+        assertTrue(properties.getDisabledPointcuts().isEmpty());
+    }
+
+    @Test
+    public void configure_givenEmptyPointcutList_shouldEnableAllPointcuts() {
+        properties.setDisabledPointcuts(Collections.singleton(ApplicationWideAspect.SERVICE_POINTCUT));
+        endpoint.configure(null, null, null, "");
+        assertTrue(properties.getDisabledPointcuts().isEmpty());
+    }
+}
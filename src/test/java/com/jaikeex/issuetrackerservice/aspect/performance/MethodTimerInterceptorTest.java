@@ -0,0 +1,101 @@
+package com.jaikeex.issuetrackerservice.aspect.performance;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class MethodTimerInterceptorTest {
+
+    private static final String TEST_RESULT = "result";
+
+    @Mock
+    MethodInvocation invocation;
+    @Mock
+    ObjectProvider<MeterRegistry> registryProvider;
+
+    MeterRegistry registry;
+    MethodTimerInterceptor interceptor;
+    Method method;
+
+    @BeforeEach
+    public void beforeEach() throws Throwable {
+        registry = new SimpleMeterRegistry();
+        when(registryProvider.getObject()).thenReturn(registry);
+        interceptor = new MethodTimerInterceptor(registryProvider);
+        method = TimedService.class.getMethod("find");
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.getThis()).thenReturn(new TimedService());
+        when(invocation.proceed()).thenReturn(TEST_RESULT);
+    }
+
+    @Test
+    public void invoke_shouldReturnResultOfInvocation() throws Throwable {
+        assertEquals(TEST_RESULT, interceptor.invoke(invocation));
+    }
+
+    @Test
+    public void invoke_shouldRecordSuccessTaggedByClassAndMethod() throws Throwable {
+        interceptor.invoke(invocation);
+        Timer timer = findTimer(MethodTimerInterceptor.SUCCESS_OUTCOME);
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void invoke_givenException_shouldRecordErrorAndRethrow() throws Throwable {
+        when(invocation.proceed()).thenThrow(new IllegalStateException());
+        assertThrows(IllegalStateException.class, () -> interceptor.invoke(invocation));
+        assertEquals(1, findTimer(MethodTimerInterceptor.ERROR_OUTCOME).count());
+        assertEquals(0, findTimer(MethodTimerInterceptor.SUCCESS_OUTCOME).count());
+    }
+
+    @Test
+    public void invoke_givenNoException_shouldNotRegisterErrorTimer() throws Throwable {
+        interceptor.invoke(invocation);
+        assertNull(findTimer(MethodTimerInterceptor.ERROR_OUTCOME));
+    }
+
+    @Test
+    public void invoke_givenRepeatedCalls_shouldReuseTimer() throws Throwable {
+        interceptor.invoke(invocation);
+        interceptor.invoke(invocation);
+        interceptor.invoke(invocation);
+        assertEquals(3, findTimer(MethodTimerInterceptor.SUCCESS_OUTCOME).count());
+        assertEquals(1, registry.getMeters().size());
+        verify(registryProvider, times(1)).getObject();
+    }
+
+    @Test
+    public void invoke_givenAnonymousSubclass_shouldTagSuperclassName() throws Throwable {
+        when(invocation.getThis()).thenReturn(new TimedService() {});
+        interceptor.invoke(invocation);
+        assertNotNull(findTimer(MethodTimerInterceptor.SUCCESS_OUTCOME));
+    }
+
+    private Timer findTimer(String outcome) {
+        return registry.find(MethodTimerInterceptor.METRIC_NAME)
+                .tag(MethodTimerInterceptor.CLASS_TAG, TimedService.class.getSimpleName())
+                .tag(MethodTimerInterceptor.METHOD_TAG, method.getName())
+                .tag(MethodTimerInterceptor.OUTCOME_TAG, outcome)
+                .timer();
+    }
+
+    public static class TimedService {
+        public String find() {
+            return TEST_RESULT;
+        }
+    }
+}
@@ -5,22 +5,28 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.jaikeex.issuetrackerservice.dto.AttachmentFileDto;
 import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
-import com.jaikeex.issuetrackerservice.service.attachment.AttachmentServiceImpl;
-import com.jaikeex.issuetrackerservice.service.filter.FilterServiceImpl;
-import com.jaikeex.issuetrackerservice.service.issue.IssueServiceImpl;
-import com.jaikeex.issuetrackerservice.service.search.SearchServiceImpl;
+import com.jaikeex.issuetrackerservice.service.attachment.AttachmentService;
+import com.jaikeex.issuetrackerservice.service.filter.FilterService;
+import com.jaikeex.issuetrackerservice.service.issue.IssueService;
+import com.jaikeex.issuetrackerservice.service.search.SearchService;
+import com.jaikeex.issuetrackerservice.utility.cache.IssueVersionTracker;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
 import com.jaikeex.issuetrackerservice.utility.exception.TitleAlreadyExistsException;
+import com.jaikeex.issuetrackerservice.utility.filter.CorsFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -29,6 +35,10 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import javax.persistence.EntityNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,7 +51,7 @@ class IssueControllerTest {
 
     private static final String CROSS_ORIGIN_VALUE = "*";
     private static final String CROSS_ORIGIN_ALLOWED_METHODS = "POST, PUT, GET, OPTIONS, DELETE";
-    private static final String CROSS_ORIGIN_ALLOWED_HEADERS = "Authorization, Content-Type";
+    private static final String CROSS_ORIGIN_ALLOWED_HEADERS = "Authorization, Content-Type, Last-Event-ID";
     private static final String CROSS_ORIGIN_MAX_AGE = "3600";
     private static final String GENERAL_TEST_ISSUE_DESCRIPTION = "this is the general test ISSUE";
     private static final String UPDATE_TEST_ISSUE_DESCRIPTION = "this is the update test issue";
@@ -54,29 +64,54 @@ class IssueControllerTest {
     private static final String TEST_FILE_NAME = "testFileName";
     private static final byte[] TEST_FILE_CONTENT = {1, 2, 3};
     private static final String MULTIPART_FORM_DATA_TYPE = "multipart/form-data";
+    private static final String MULTIPART_BOUNDARY = "testBoundary";
     private static final MockMultipartFile TEST_ATTACHMENT_FILE =
             new MockMultipartFile(TEST_FILE_NAME, TEST_FILE_NAME, MULTIPART_FORM_DATA_TYPE, TEST_FILE_CONTENT);
 
     @MockBean
-    IssueServiceImpl service;
+    IssueService service;
     @MockBean
-    SearchServiceImpl searchService;
+    SearchService searchService;
     @MockBean
-    FilterServiceImpl filterServiceImpl;
+    FilterService filterServiceImpl;
     @MockBean
-    AttachmentServiceImpl attachmentService;
+    AttachmentService attachmentService;
 
     @Autowired
     private MockMvc mockMvc;
 
+    /** The controllers are declared in IssueTrackerServiceConfig together with
+     * the services and repositories, so the slice declares them on its own. */
+    @Configuration
+    static class ControllerTestConfig {
+
+        @Bean
+        public IssueController issueController(IssueService issueService,
+                                               SearchService searchService,
+                                               FilterService filterService) {
+            return new IssueController(issueService, searchService, filterService,
+                    new IssueVersionTracker(true, 100));
+        }
+
+        @Bean
+        public AttachmentController attachmentController(AttachmentService attachmentService) {
+            return new AttachmentController(attachmentService);
+        }
+
+        @Bean
+        public CorsFilter corsFilter() {
+            return new CorsFilter();
+        }
+    }
+
     Issue testIssue;
     Issue updateTestIssue;
     IssueDto updateTestIssueDto;
     String testIssueJson;
     String updateTestIssueJson;
 
-    IssueDto testFilterDto;
-    String testFilterDtoJson;
+    IssueFilter testFilter;
+    String testFilterJson;
     IssueDto descriptionDto;
     String descriptionDtoJson;
     AttachmentFileDto testAttachmentFileDto;
@@ -98,7 +133,7 @@ class IssueControllerTest {
         ObjectWriter writer = mapper.writer().withDefaultPrettyPrinter();
         testIssueJson = writer.writeValueAsString(testIssue);
         updateTestIssueJson = writer.writeValueAsString(updateTestIssueDto);
-        testFilterDtoJson = writer.writeValueAsString(testFilterDto);
+        testFilterJson = writer.writeValueAsString(testFilter);
         descriptionDtoJson = writer.writeValueAsString(descriptionDto);
         attachmentDtoJson = writer.writeValueAsString(testAttachmentFileDto);
         issueDtoJson = writer.writeValueAsString(testIssueDto);
@@ -143,11 +178,11 @@ class IssueControllerTest {
     }
 
     private void initFilterDto() {
-        testFilterDto = new IssueDto();
-        testFilterDto.setType(IssueType.BUG);
-        testFilterDto.setSeverity(Severity.CRITICAL);
-        testFilterDto.setStatus(Status.SUBMITTED);
-        testFilterDto.setProject(Project.MWP);
+        testFilter = new IssueFilter();
+        testFilter.setType(EnumSet.of(IssueType.BUG));
+        testFilter.setSeverity(EnumSet.of(Severity.CRITICAL));
+        testFilter.setStatus(EnumSet.of(Status.SUBMITTED));
+        testFilter.setProject(EnumSet.of(Project.MWP));
     }
 
     private void initTestIssueDto() {
@@ -168,6 +203,18 @@ class IssueControllerTest {
         descriptionDto.setTitle(NEW_TITLE);
     }
 
+    private byte[] multipartBody(String issueTitle) {
+        String body = "--" + MULTIPART_BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"issueTitle\"\r\n\r\n"
+                + issueTitle + "\r\n"
+                + "--" + MULTIPART_BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + TEST_FILE_NAME + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n"
+                + "content\r\n"
+                + "--" + MULTIPART_BOUNDARY + "--\r\n";
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
     private void initAttachmentDto() throws IOException {
         testAttachmentFileDto = new AttachmentFileDto();
         testAttachmentFileDto.setBytes(TEST_ATTACHMENT_FILE.getBytes());
@@ -227,6 +274,7 @@ class IssueControllerTest {
 
     @Test
     public void findIssueById_shouldCallIssueService() throws Exception {
+        when(service.findIssueById(1)).thenReturn(testIssue);
         mockMvc.perform(get("/issue/id/1"));
         verify(service, times(1)).findIssueById(1);
     }
@@ -247,12 +295,14 @@ class IssueControllerTest {
 
     @Test
     public void findIssueById_shouldSendCorsHeaders() throws Exception {
+        when(service.findIssueById(1)).thenReturn(testIssue);
         ResultActions resultActions = mockMvc.perform(get("/issue/id/1"));
         assertCorsHeadersAreIncluded(resultActions);
     }
 
     @Test
     public void findIssueByTitle_shouldCallIssueService() throws Exception {
+        when(service.findIssueByTitle("testTitle")).thenReturn(testIssue);
         mockMvc.perform(get("/issue/title/testTitle"));
         verify(service, times(1)).findIssueByTitle("testTitle");
     }
@@ -273,6 +323,7 @@ class IssueControllerTest {
 
     @Test
     public void findIssueByTitle_shouldSendCorsHeaders() throws Exception {
+        when(service.findIssueByTitle("testTitle")).thenReturn(testIssue);
         ResultActions resultActions = mockMvc.perform(get("/issue/title/testTitle"));
         assertCorsHeadersAreIncluded(resultActions);
     }
@@ -287,7 +338,20 @@ class IssueControllerTest {
     @Test
     public void findAllIssues_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/all"));
-        verify(service, times(1)).findAllIssues();
+        verify(service, times(1)).findAllIssues(null, null);
+    }
+
+    @Test
+    public void findAllIssues_givenCursorAndSize_shouldPassThemToIssueService() throws Exception {
+        mockMvc.perform(get("/issue/all?cursor=MTA&size=20"));
+        verify(service, times(1)).findAllIssues("MTA", 20);
+    }
+
+    @Test
+    public void findAllIssues_givenInvalidCursor_shouldReturnBadRequest() throws Exception {
+        when(service.findAllIssues("invalid", null)).thenThrow(InvalidCursorException.class);
+        mockMvc.perform(get("/issue/all?cursor=invalid"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -299,7 +363,7 @@ class IssueControllerTest {
     @Test
     public void findAllByType_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/type/BUG"));
-        verify(service, times(1)).findAllIssuesByType(IssueType.BUG);
+        verify(service, times(1)).findAllIssuesByType(IssueType.BUG, null, null);
     }
 
     @Test
@@ -311,7 +375,7 @@ class IssueControllerTest {
     @Test
     public void findAllBySeverity_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/severity/CRITICAL"));
-        verify(service, times(1)).findAllIssuesBySeverity(Severity.CRITICAL);
+        verify(service, times(1)).findAllIssuesBySeverity(Severity.CRITICAL, null, null);
     }
 
     @Test
@@ -323,7 +387,7 @@ class IssueControllerTest {
     @Test
     public void findAllByStatus_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/status/OPEN"));
-        verify(service, times(1)).findAllIssuesByStatus(Status.OPEN);
+        verify(service, times(1)).findAllIssuesByStatus(Status.OPEN, null, null);
     }
 
     @Test
@@ -335,7 +399,7 @@ class IssueControllerTest {
     @Test
     public void findAllByProject_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/project/MWP"));
-        verify(service, times(1)).findAllIssuesByProject(Project.MWP);
+        verify(service, times(1)).findAllIssuesByProject(Project.MWP, null, null);
     }
 
     @Test
@@ -408,38 +472,56 @@ class IssueControllerTest {
         assertCorsHeadersAreIncluded(resultActions);
     }
 
+    @Test
+    public void uploadNewAttachmentMultipart_givenAllOk_shouldStreamFileToAttachmentService() throws Exception {
+        mockMvc.perform(post("/issue/attachments/upload")
+                .contentType(MULTIPART_FORM_DATA_TYPE + "; boundary=" + MULTIPART_BOUNDARY)
+                .content(multipartBody(GENERAL_TEST_TITLE)))
+                .andExpect(status().isOk());
+        verify(attachmentService, times(1)).saveAttachment(eq(GENERAL_TEST_TITLE), eq(TEST_FILE_NAME), any(InputStream.class));
+    }
+
+    @Test
+    public void uploadNewAttachmentMultipart_givenTooLongIssueTitle_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/issue/attachments/upload")
+                .contentType(MULTIPART_FORM_DATA_TYPE + "; boundary=" + MULTIPART_BOUNDARY)
+                .content(multipartBody(String.join("", Collections.nCopies(4097, "a")))))
+                .andExpect(status().isBadRequest());
+        verify(attachmentService, never()).saveAttachment(anyString(), anyString(), any(InputStream.class));
+    }
+
     @Test
     public void filterIssues_shouldCallIssueService() throws Exception {
         mockMvc.perform(post("/issue/filter")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(testFilterDtoJson));
-        verify(filterServiceImpl, times(1)).filterIssues(testFilterDto);
+                .content(testFilterJson));
+        verify(filterServiceImpl, times(1)).filterIssues(testFilter, null, null);
     }
 
     @Test
     public void filterIssues_shouldSendCorsHeaders() throws Exception {
         ResultActions resultActions = mockMvc.perform(post("/issue/filter")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(testFilterDtoJson));
+                .content(testFilterJson));
         assertCorsHeadersAreIncluded(resultActions);
     }
 
     @Test
     public void searchIssues_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/search?query=testQuery"));
-        verify(searchService, times(1)).searchIssues("testQuery");
+        verify(searchService, times(1)).searchIssues("testQuery", null, null);
     }
 
     @Test
     public void searchIssues_givenNoParamDeclaration_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/search"));
-        verify(searchService, times(1)).searchIssues(null);
+        verify(searchService, times(1)).searchIssues(null, null, null);
     }
 
     @Test
     public void searchIssues_givenNoParamValue_shouldCallIssueService() throws Exception {
         mockMvc.perform(get("/issue/search?query="));
-        verify(searchService, times(1)).searchIssues("");
+        verify(searchService, times(1)).searchIssues("", null, null);
     }
 
     @Test
@@ -0,0 +1,186 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.config.properties.StorageProperties;
+import com.jaikeex.issuetrackerservice.entity.AttachmentBlob;
+import com.jaikeex.issuetrackerservice.repository.AttachmentBlobRepository;
+import com.jaikeex.issuetrackerservice.service.attachment.AttachmentBlobStore;
+import com.jaikeex.issuetrackerservice.utility.exception.AttachmentTooLargeException;
+import com.jaikeex.issuetrackerservice.utility.exception.EmptyAttachmentFileException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class AttachmentBlobStoreTest {
+
+    private static final byte[] TEST_BYTES = {1, 2, 3};
+    private static final String TEST_BYTES_HASH = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+
+    @Mock
+    AttachmentBlobRepository blobRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path attachmentsFolder;
+
+    AttachmentBlobStore blobStore;
+
+    AttachmentBlob blob;
+
+    @BeforeEach
+    public void beforeEach() {
+        StorageProperties properties = new StorageProperties(
+                attachmentsFolder.toString(), "testIssueEndpoint", DataSize.ofBytes(TEST_BYTES.length));
+        blobStore = new AttachmentBlobStore(blobRepository, properties, transactionManager);
+        blob = new AttachmentBlob(TEST_BYTES_HASH, TEST_BYTES.length, 0);
+        when(blobRepository.findByHashForUpdate(TEST_BYTES_HASH)).thenReturn(Optional.of(blob));
+    }
+
+    private void givenStoredBlob(int referenceCount) {
+        blob.setReferenceCount(referenceCount);
+        when(blobRepository.existsById(TEST_BYTES_HASH)).thenReturn(true);
+    }
+
+    @Test
+    public void store_givenNewContent_shouldWriteBlobNamedByHash() throws IOException {
+        assertEquals(TEST_BYTES_HASH, blobStore.store(new ByteArrayInputStream(TEST_BYTES)));
+        assertArrayEquals(TEST_BYTES, Files.readAllBytes(blobStore.resolve(TEST_BYTES_HASH)));
+        verify(blobRepository, times(1)).insertUnreferenced(TEST_BYTES_HASH, TEST_BYTES.length);
+        assertEquals(1, blob.getReferenceCount());
+        assertEquals(1, countFiles(attachmentsFolder.resolve("blobs")));
+    }
+
+    @Test
+    public void store_givenStoredContent_shouldOnlyAddReference() throws IOException {
+        givenStoredBlob(1);
+        assertEquals(TEST_BYTES_HASH, blobStore.store(new ByteArrayInputStream(TEST_BYTES)));
+        assertFalse(Files.exists(blobStore.resolve(TEST_BYTES_HASH)));
+        assertEquals(0, countFiles(attachmentsFolder.resolve("blobs")));
+        verify(blobRepository, never()).insertUnreferenced(anyString(), anyLong());
+        assertEquals(2, blob.getReferenceCount());
+    }
+
+    @Test
+    public void store_givenStoredBytes_shouldNotTouchTheDisk() throws IOException {
+        givenStoredBlob(1);
+        assertEquals(TEST_BYTES_HASH, blobStore.store(TEST_BYTES));
+        assertFalse(Files.exists(attachmentsFolder.resolve("blobs")));
+        assertEquals(2, blob.getReferenceCount());
+    }
+
+    @Test
+    public void store_givenUnreferencedBytes_shouldWriteTheBlobAgain() throws IOException {
+        givenStoredBlob(0);
+        assertEquals(TEST_BYTES_HASH, blobStore.store(TEST_BYTES));
+        assertArrayEquals(TEST_BYTES, Files.readAllBytes(blobStore.resolve(TEST_BYTES_HASH)));
+        assertEquals(1, countFiles(attachmentsFolder.resolve("blobs")));
+        assertEquals(1, blob.getReferenceCount());
+    }
+
+    @Test
+    public void store_givenRowCreatedConcurrently_shouldAddReference() throws IOException {
+        when(blobRepository.insertUnreferenced(TEST_BYTES_HASH, TEST_BYTES.length))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        blob.setReferenceCount(1);
+        assertEquals(TEST_BYTES_HASH, blobStore.store(TEST_BYTES));
+        assertEquals(2, blob.getReferenceCount());
+    }
+
+    @Test
+    public void store_givenRowDeletedBeforeItWasLocked_shouldCreateItAgain() throws IOException {
+        when(blobRepository.findByHashForUpdate(TEST_BYTES_HASH)).thenReturn(Optional.empty(), Optional.of(blob));
+        assertEquals(TEST_BYTES_HASH, blobStore.store(TEST_BYTES));
+        verify(blobRepository, times(2)).insertUnreferenced(TEST_BYTES_HASH, TEST_BYTES.length);
+        assertTrue(Files.exists(blobStore.resolve(TEST_BYTES_HASH)));
+        assertEquals(1, blob.getReferenceCount());
+    }
+
+    @Test
+    public void store_givenContentOverSizeLimit_shouldThrowAndRemoveTempFile() throws IOException {
+        byte[] tooLarge = new byte[TEST_BYTES.length + 1];
+        assertThrows(AttachmentTooLargeException.class, () -> blobStore.store(new ByteArrayInputStream(tooLarge)));
+        assertEquals(0, countFiles(attachmentsFolder.resolve("blobs")));
+        verify(blobRepository, never()).findByHashForUpdate(anyString());
+    }
+
+    @Test
+    public void store_givenEmptyContent_shouldThrowException() throws IOException {
+        assertThrows(EmptyAttachmentFileException.class, () -> blobStore.store(new ByteArrayInputStream(new byte[0])));
+        assertEquals(0, countFiles(attachmentsFolder.resolve("blobs")));
+        verify(blobRepository, never()).findByHashForUpdate(anyString());
+    }
+
+    @Test
+    public void release_givenLastReference_shouldDeleteBlob() throws IOException {
+        blobStore.store(new ByteArrayInputStream(TEST_BYTES));
+        blobStore.release(TEST_BYTES_HASH);
+        assertEquals(0, blob.getReferenceCount());
+        assertFalse(Files.exists(blobStore.resolve(TEST_BYTES_HASH)));
+        verify(blobRepository, times(1)).delete(blob);
+    }
+
+    @Test
+    public void release_givenRemainingReferences_shouldKeepBlob() throws IOException {
+        blobStore.store(new ByteArrayInputStream(TEST_BYTES));
+        blob.setReferenceCount(2);
+        blobStore.release(TEST_BYTES_HASH);
+        assertEquals(1, blob.getReferenceCount());
+        assertTrue(Files.exists(blobStore.resolve(TEST_BYTES_HASH)));
+        verify(blobRepository, never()).delete(any(AttachmentBlob.class));
+    }
+
+    @Test
+    public void release_givenTransaction_shouldDeleteBlobOnlyAfterCommit() throws IOException {
+        blobStore.store(new ByteArrayInputStream(TEST_BYTES));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blobStore.release(TEST_BYTES_HASH);
+            assertTrue(Files.exists(blobStore.resolve(TEST_BYTES_HASH)));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(Files.exists(blobStore.resolve(TEST_BYTES_HASH)));
+    }
+
+    @Test
+    public void release_givenReferenceAddedBeforeTheDeletion_shouldKeepBlob() throws IOException {
+        blobStore.store(new ByteArrayInputStream(TEST_BYTES));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blobStore.release(TEST_BYTES_HASH);
+            blob.setReferenceCount(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(Files.exists(blobStore.resolve(TEST_BYTES_HASH)));
+        verify(blobRepository, never()).delete(any(AttachmentBlob.class));
+    }
+
+    private long countFiles(Path folder) throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
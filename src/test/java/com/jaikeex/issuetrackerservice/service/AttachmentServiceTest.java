@@ -1,24 +1,56 @@
 package com.jaikeex.issuetrackerservice.service;
 
 import com.jaikeex.issuetrackerservice.config.properties.StorageProperties;
+import com.jaikeex.issuetrackerservice.entity.Attachment;
+import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.repository.AttachmentRepository;
+import com.jaikeex.issuetrackerservice.service.attachment.AttachmentBlobStore;
 import com.jaikeex.issuetrackerservice.service.attachment.AttachmentServiceImpl;
 import com.jaikeex.issuetrackerservice.service.history.HistoryServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.download.FileSender;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidAttachmentUploadException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.jaikeex.issuetrackerservice.repository.IssueRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 
+import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 class AttachmentServiceTest {
 
     private static final String TEST_ATTACHMENTS_FOLDER = "testAttachmentsFolder";
+    private static final String TEST_ISSUE_ID = "1";
+    private static final String TEST_FILENAME = "testFile.txt";
+    private static final String TEST_ISSUE_TITLE = "testTitle";
+    private static final String TEST_BLOB_HASH = "03b3c5c0e8fd0db1b5d2b3a3e5b4d5f2a1c0e9d8c7b6a5f4e3d2c1b0a9f8e7d6";
+    private static final byte[] TEST_BYTES = {1, 2, 3};
     @Mock
     IssueRepository issueRepository;
     @Mock
@@ -27,19 +59,183 @@ class AttachmentServiceTest {
     StorageProperties properties;
     @Mock
     HistoryServiceImpl historyService;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    FileSender fileSender;
+    @Mock
+    AttachmentBlobStore blobStore;
+    @Mock
+    PlatformTransactionManager transactionManager;
 
     AttachmentServiceImpl attachmentService;
 
 
     @BeforeEach
-    public void beforeEach() {
+    public void beforeEach() throws IOException {
         when(properties.getIssueAttachmentsFolder()).thenReturn("testIssueFolder");
         when(properties.getAttachmentDownloadEndpoint()).thenReturn("testIssueEndpoint");
-        attachmentService = new AttachmentServiceImpl(issueRepository, attachmentRepository, historyService, properties);
+        when(blobStore.store(any(byte[].class))).thenReturn(TEST_BLOB_HASH);
+        when(blobStore.store(any(InputStream.class))).thenReturn(TEST_BLOB_HASH);
+        attachmentService = new AttachmentServiceImpl(issueRepository, attachmentRepository, historyService, properties, eventPublisher, fileSender, blobStore, transactionManager);
     }
 
     @Test
     public void saveAttachment_shouldCallRepository() {
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void saveAttachment_givenStream_shouldSaveAttachmentReferencingTheBlob() throws IOException {
+        mockIssue();
+        attachmentService.saveAttachment(TEST_ISSUE_TITLE, TEST_FILENAME, new ByteArrayInputStream(TEST_BYTES));
+        ArgumentCaptor<Attachment> attachment = ArgumentCaptor.forClass(Attachment.class);
+        verify(attachmentRepository, times(1)).save(attachment.capture());
+        assertEquals(TEST_BLOB_HASH, attachment.getValue().getBlobHash());
+        assertEquals(TEST_FILENAME, attachment.getValue().getOriginalFilename());
+        assertEquals("testIssueEndpoint" + TEST_ISSUE_ID + "/" + TEST_FILENAME, attachment.getValue().getPath());
+    }
+
+    @Test
+    public void saveAttachment_givenFilenameWithPath_shouldKeepOnlyTheName() throws IOException {
+        mockIssue();
+        attachmentService.saveAttachment(TEST_ISSUE_TITLE, "../../" + TEST_FILENAME, new ByteArrayInputStream(TEST_BYTES));
+        ArgumentCaptor<Attachment> attachment = ArgumentCaptor.forClass(Attachment.class);
+        verify(attachmentRepository, times(1)).save(attachment.capture());
+        assertEquals(TEST_FILENAME, attachment.getValue().getOriginalFilename());
+    }
+
+    @Test
+    public void saveAttachment_givenInvalidFilename_shouldThrowException() throws IOException {
+        mockIssue();
+        assertThrows(InvalidAttachmentUploadException.class, () -> attachmentService.saveAttachment(
+                TEST_ISSUE_TITLE, "..", new ByteArrayInputStream(TEST_BYTES)));
+        verify(blobStore, never()).store(any(InputStream.class));
+    }
+
+    @Test
+    public void saveAttachment_givenMissingIssue_shouldNotStoreBlob() throws IOException {
+        assertThrows(EntityNotFoundException.class, () -> attachmentService.saveAttachment(
+                TEST_ISSUE_TITLE, TEST_FILENAME, new ByteArrayInputStream(TEST_BYTES)));
+        verify(blobStore, never()).store(any(InputStream.class));
+    }
+
+    @Test
+    public void saveAttachment_givenFailingRepository_shouldReleaseTheBlob() throws IOException {
+        mockIssue();
+        when(attachmentRepository.save(any(Attachment.class))).thenThrow(new IllegalStateException());
+        assertThrows(IllegalStateException.class, () -> attachmentService.saveAttachment(
+                TEST_ISSUE_TITLE, TEST_FILENAME, new ByteArrayInputStream(TEST_BYTES)));
+        verify(blobStore, times(1)).release(TEST_BLOB_HASH);
+    }
+
+    @Test
+    public void deleteAttachmentById_givenBlobAttachment_shouldReleaseTheBlob() throws IOException {
+        Attachment attachment = new Attachment("path", TEST_FILENAME, TEST_BLOB_HASH, createIssue());
+        attachment.setId(5);
+        when(attachmentRepository.findById(5)).thenReturn(Optional.of(attachment));
+        attachmentService.deleteAttachmentById(5);
+        verify(attachmentRepository, times(1)).deleteById(5);
+        verify(blobStore, times(1)).release(TEST_BLOB_HASH);
+    }
+
+    @Test
+    public void deleteAttachmentById_givenLegacyAttachment_shouldDeleteTheIssueFile(@TempDir Path attachmentsFolder) throws IOException {
+        Path file = Files.createDirectories(attachmentsFolder.resolve(TEST_ISSUE_ID)).resolve(TEST_FILENAME);
+        Files.write(file, TEST_BYTES);
+        initService(attachmentsFolder);
+        Attachment attachment = new Attachment("path", TEST_FILENAME, createIssue());
+        attachment.setId(5);
+        when(attachmentRepository.findById(5)).thenReturn(Optional.of(attachment));
+        attachmentService.deleteAttachmentById(5);
+        assertFalse(Files.exists(file));
+        verify(blobStore, never()).release(anyString());
+    }
+
+    @Test
+    public void downloadAttachment_givenBlobAttachment_shouldSendTheBlob(@TempDir Path attachmentsFolder) throws IOException {
+        Path blob = attachmentsFolder.resolve(TEST_BLOB_HASH);
+        Files.write(blob, TEST_BYTES);
+        when(blobStore.resolve(TEST_BLOB_HASH)).thenReturn(blob);
+        when(attachmentRepository.findFirstByIssueIdAndOriginalFilenameOrderByIdDesc(anyInt(), eq(TEST_FILENAME)))
+                .thenReturn(Optional.of(new Attachment("path", TEST_FILENAME, TEST_BLOB_HASH, createIssue())));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        attachmentService.downloadAttachment(TEST_FILENAME, TEST_ISSUE_ID, request, response);
+        verify(fileSender, times(1)).send(blob, TEST_FILENAME, request, response);
+    }
+
+    @Test
+    public void downloadAttachment_givenExistingFile_shouldSendIt(@TempDir Path attachmentsFolder) throws IOException {
+        Path attachment = Files.createDirectories(attachmentsFolder.resolve(TEST_ISSUE_ID)).resolve(TEST_FILENAME);
+        Files.write(attachment, TEST_BYTES);
+        initService(attachmentsFolder);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        attachmentService.downloadAttachment(TEST_FILENAME, TEST_ISSUE_ID, request, response);
+        verify(fileSender, times(1)).send(attachment.toAbsolutePath().normalize(), TEST_FILENAME, request, response);
+    }
+
+    @Test
+    public void downloadAttachment_givenMissingFile_shouldThrowException(@TempDir Path attachmentsFolder) {
+        initService(attachmentsFolder);
+        assertThrows(EntityNotFoundException.class, () -> attachmentService.downloadAttachment(
+                TEST_FILENAME, TEST_ISSUE_ID, new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    @Test
+    public void downloadAttachment_givenPathOutsideAttachmentsFolder_shouldThrowException(@TempDir Path tempDir) throws IOException {
+        Path attachmentsFolder = Files.createDirectories(tempDir.resolve("attachments"));
+        Files.write(tempDir.resolve(TEST_FILENAME), TEST_BYTES);
+        initService(attachmentsFolder);
+        assertThrows(EntityNotFoundException.class, () -> attachmentService.downloadAttachment(
+                TEST_FILENAME, "..", new MockHttpServletRequest(), new MockHttpServletResponse()));
+        verifyNoInteractions(fileSender);
+    }
+
+    private void initService(Path attachmentsFolder) {
+        when(properties.getIssueAttachmentsFolder()).thenReturn(attachmentsFolder.toString());
+        attachmentService = new AttachmentServiceImpl(issueRepository, attachmentRepository, historyService, properties, eventPublisher, fileSender, blobStore, transactionManager);
+    }
+
+    private void mockIssue() {
+        when(issueRepository.findByTitle(TEST_ISSUE_TITLE)).thenReturn(Optional.of(createIssue()));
+    }
+
+    private Issue createIssue() {
+        Issue issue = new Issue();
+        issue.setId(Integer.parseInt(TEST_ISSUE_ID));
+        issue.setTitle(TEST_ISSUE_TITLE);
+        return issue;
+    }
+
+    @Test
+    public void releaseAttachmentsOfDeletedIssues_shouldReleaseEveryReferenceAfterCommit() throws IOException {
+        when(attachmentRepository.findBlobHashesByIssueIds(Collections.singletonList(1)))
+                .thenReturn(Arrays.asList(TEST_BLOB_HASH, TEST_BLOB_HASH));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            attachmentService.releaseAttachmentsOfDeletedIssues(Collections.singletonList(1));
+            verify(blobStore, never()).release(anyString());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(blobStore, times(2)).release(TEST_BLOB_HASH);
+    }
+
+    @Test
+    public void releaseAttachmentsOfDeletedIssues_givenRollback_shouldKeepTheBlobs() throws IOException {
+        when(attachmentRepository.findBlobHashesByIssueIds(Collections.singletonList(1)))
+                .thenReturn(Collections.singletonList(TEST_BLOB_HASH));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            attachmentService.releaseAttachmentsOfDeletedIssues(Collections.singletonList(1));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(blobStore, never()).release(anyString());
+    }
+}
@@ -0,0 +1,129 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.filter.index.BitmapFilterIndex;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class BitmapFilterIndexTest {
+
+    @Mock
+    IssueRepository repository;
+
+    @InjectMocks
+    BitmapFilterIndex filterIndex;
+
+    Issue submittedBug;
+    Issue openBug;
+    Issue solvedBug;
+    Issue submittedEnhancement;
+
+    List<Issue> databaseIssues = new LinkedList<>();
+
+    @BeforeEach
+    public void beforeEach() {
+        submittedBug = createIssue(1, IssueType.BUG, Severity.HIGH, Status.SUBMITTED, Project.MWP);
+        openBug = createIssue(2, IssueType.BUG, Severity.LOW, Status.OPEN, Project.MWP);
+        solvedBug = createIssue(3, IssueType.BUG, Severity.LOW, Status.SOLVED, Project.MWP);
+        submittedEnhancement = createIssue(4, IssueType.ENHANCEMENT, Severity.LOW, Status.SUBMITTED, Project.TRACKER);
+        databaseIssues.addAll(Arrays.asList(submittedEnhancement, solvedBug, openBug, submittedBug));
+
+        when(repository.findSummariesBeforeId(anyInt(), any(Pageable.class))).thenAnswer(invocation -> {
+            int beforeId = invocation.getArgument(0);
+            return databaseIssues.stream()
+                    .filter(issue -> issue.getId() < beforeId)
+                    .map(IssueSummary::new)
+                    .collect(Collectors.toList());
+        });
+        filterIndex.afterSingletonsInstantiated();
+    }
+
+    private Issue createIssue(int id, IssueType type, Severity severity, Status status, Project project) {
+        Issue issue = new Issue(type, severity, status, project);
+        issue.setId(id);
+        issue.setTitle("title " + id);
+        return issue;
+    }
+
+    private IssueFilter statusFilter(Status... statuses) {
+        IssueFilter filter = new IssueFilter();
+        filter.setStatus(EnumSet.copyOf(Arrays.asList(statuses)));
+        return filter;
+    }
+
+    @Test
+    public void findIds_givenEmptyFilter_shouldReturnAllIdsNewestFirst() {
+        assertEquals(Arrays.asList(4, 3, 2, 1), filterIndex.findIds(new IssueFilter(), Integer.MAX_VALUE, 10));
+    }
+
+    @Test
+    public void findIds_givenMultipleValues_shouldMatchAnyOfThem() {
+        IssueFilter filter = statusFilter(Status.SUBMITTED, Status.OPEN);
+        filter.setType(EnumSet.of(IssueType.BUG));
+        assertEquals(Arrays.asList(2, 1), filterIndex.findIds(filter, Integer.MAX_VALUE, 10));
+    }
+
+    @Test
+    public void findIds_givenBeforeIdAndLimit_shouldReturnTheRequestedSlice() {
+        assertEquals(Arrays.asList(3, 2), filterIndex.findIds(new IssueFilter(), 4, 2));
+    }
+
+    @Test
+    public void onIssueChange_givenUpdatedProperties_shouldMoveTheIssue() {
+        Issue previous = IssueChange.snapshotOf(openBug);
+        openBug.setStatus(Status.SOLVED);
+        filterIndex.onIssueChange(IssueChangeEvent.of(IssueChange.propertiesUpdated(previous, openBug)));
+        assertEquals(Collections.emptyList(), filterIndex.findIds(statusFilter(Status.OPEN), Integer.MAX_VALUE, 10));
+        assertEquals(Arrays.asList(3, 2), filterIndex.findIds(statusFilter(Status.SOLVED), Integer.MAX_VALUE, 10));
+    }
+
+    @Test
+    public void onIssueChange_givenCreatedAndDeletedIssues_shouldUpdateTheIndex() {
+        Issue created = createIssue(5, IssueType.BUG, Severity.CRITICAL, Status.SUBMITTED, Project.MWP);
+        filterIndex.onIssueChange(new IssueChangeEvent(Arrays.asList(
+                IssueChange.created(created), IssueChange.deleted(submittedBug))));
+        assertEquals(Arrays.asList(5, 4), filterIndex.findIds(statusFilter(Status.SUBMITTED), Integer.MAX_VALUE, 10));
+    }
+
+    @Test
+    public void countFacets_shouldCountMatchingIssuesPerValue() {
+        IssueFilter filter = new IssueFilter();
+        filter.setType(EnumSet.of(IssueType.BUG));
+        FilterFacets facets = filterIndex.countFacets(filter);
+        assertEquals(3, facets.getTotal());
+        assertEquals(1L, facets.getStatus().get(Status.SUBMITTED));
+        assertEquals(1L, facets.getStatus().get(Status.OPEN));
+        assertEquals(1L, facets.getStatus().get(Status.SOLVED));
+        assertEquals(2L, facets.getSeverity().get(Severity.LOW));
+        assertEquals(0L, facets.getType().get(IssueType.ENHANCEMENT));
+        assertEquals(0L, facets.getProject().get(Project.TRACKER));
+    }
+}
@@ -0,0 +1,197 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.config.properties.BulkProperties;
+import com.jaikeex.issuetrackerservice.dto.BulkItemResult;
+import com.jaikeex.issuetrackerservice.dto.BulkItemStatus;
+import com.jaikeex.issuetrackerservice.dto.BulkResult;
+import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.attachment.AttachmentServiceImpl;
+import com.jaikeex.issuetrackerservice.service.history.HistoryServiceImpl;
+import com.jaikeex.issuetrackerservice.service.issue.BulkIssueServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.RecordType;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.exception.BulkLimitExceededException;
+import com.jaikeex.issuetrackerservice.utility.html.HtmlParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class BulkIssueServiceTest {
+
+    private static final int TEST_MAX_ITEMS = 4;
+    private static final int TEST_BATCH_SIZE = 2;
+    private static final String EXISTING_TITLE = "existing title";
+
+    @Mock
+    IssueRepository repository;
+    @Mock
+    HistoryServiceImpl historyService;
+    @Mock
+    AttachmentServiceImpl attachmentService;
+    @Mock
+    HtmlParser parser;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Spy
+    BulkProperties properties = new BulkProperties(TEST_MAX_ITEMS, TEST_BATCH_SIZE);
+
+    @InjectMocks
+    BulkIssueServiceImpl service;
+
+    private IssueDto createDto(String title) {
+        IssueDto issueDto = new IssueDto();
+        issueDto.setTitle(title);
+        issueDto.setAuthor("author");
+        issueDto.setType(IssueType.BUG);
+        issueDto.setSeverity(Severity.HIGH);
+        issueDto.setProject(Project.MWP);
+        return issueDto;
+    }
+
+    private IssueDto updateDto(Integer id, Status status) {
+        IssueDto issueDto = new IssueDto();
+        issueDto.setId(id);
+        issueDto.setStatus(status);
+        return issueDto;
+    }
+
+    private Issue createIssue(int id, Status status) {
+        Issue issue = new Issue(IssueType.BUG, Severity.HIGH, status, Project.MWP);
+        issue.setId(id);
+        issue.setTitle("title " + id);
+        issue.setAuthor("author");
+        return issue;
+    }
+
+    private void assignIdsOnInsert() {
+        doAnswer(invocation -> {
+            List<Issue> issues = invocation.getArgument(0);
+            for (int i = 0; i < issues.size(); i++) {
+                issues.get(i).setId(100 + i);
+            }
+            return null;
+        }).when(repository).insertInBatches(anyList(), anyInt());
+    }
+
+    private List<BulkItemStatus> statusesOf(BulkResult result) {
+        return result.getItems().stream().map(BulkItemResult::getStatus).collect(Collectors.toList());
+    }
+
+    @Test
+    public void createIssues_givenNewTitles_shouldInsertThemInBatchesAndReturnTheirIds() {
+        assignIdsOnInsert();
+        BulkResult result = service.createIssues(Arrays.asList(createDto("first"), createDto("second")));
+        verify(repository, times(1)).insertInBatches(argThat(issues -> issues.size() == 2), eq(TEST_BATCH_SIZE));
+        assertEquals(Arrays.asList(BulkItemStatus.CREATED, BulkItemStatus.CREATED), statusesOf(result));
+        assertEquals(100, result.getItems().get(0).getId());
+        assertEquals(101, result.getItems().get(1).getId());
+        assertEquals(2, result.getSucceeded());
+    }
+
+    @Test
+    public void createIssues_givenExistingRepeatedOrMissingTitles_shouldReportThemPerItem() {
+        when(repository.findExistingTitles(anyCollection())).thenReturn(Collections.singletonList(EXISTING_TITLE));
+        assignIdsOnInsert();
+        BulkResult result = service.createIssues(Arrays.asList(
+                createDto(EXISTING_TITLE), createDto("new"), createDto("new"), createDto(" ")));
+        assertEquals(Arrays.asList(BulkItemStatus.CONFLICT, BulkItemStatus.CREATED, BulkItemStatus.CONFLICT, BulkItemStatus.INVALID),
+                statusesOf(result));
+        assertEquals(100, result.getItems().get(1).getId());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+    }
+
+    @Test
+    public void createIssues_givenTitlesDifferingInCase_shouldReportThemAsConflicts() {
+        when(repository.findExistingTitles(anyCollection())).thenReturn(Collections.singletonList(EXISTING_TITLE));
+        assignIdsOnInsert();
+        BulkResult result = service.createIssues(Arrays.asList(
+                createDto(EXISTING_TITLE.toUpperCase(Locale.ROOT)), createDto("New"), createDto("NEW")));
+        assertEquals(Arrays.asList(BulkItemStatus.CONFLICT, BulkItemStatus.CREATED, BulkItemStatus.CONFLICT),
+                statusesOf(result));
+        verify(repository, times(1)).findExistingTitles(Arrays.asList(EXISTING_TITLE.toUpperCase(Locale.ROOT), "New"));
+    }
+
+    @Test
+    public void createIssues_shouldRecordHistoryAndPublishOneEvent() {
+        assignIdsOnInsert();
+        service.createIssues(Arrays.asList(createDto("first"), createDto("second"), createDto("third")));
+        verify(historyService, times(1)).record(eq(RecordType.CREATE), argThat((List<Issue> issues) -> issues.size() == 3));
+        ArgumentCaptor<IssueChangeEvent> captor = ArgumentCaptor.forClass(IssueChangeEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(3, captor.getValue().getChanges().size());
+    }
+
+    @Test
+    public void createIssues_givenTooManyItems_shouldThrowException() {
+        List<IssueDto> issueDtos = Collections.nCopies(TEST_MAX_ITEMS + 1, createDto("title"));
+        assertThrows(BulkLimitExceededException.class, () -> service.createIssues(issueDtos));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void updateIssuesWithNewProperties_shouldReportUpdatedUnchangedAndMissingIssues() {
+        Issue submitted = createIssue(1, Status.SUBMITTED);
+        Issue solved = createIssue(2, Status.SOLVED);
+        when(repository.findAllByIdForUpdate(anyCollection())).thenReturn(Arrays.asList(submitted, solved));
+        BulkResult result = service.updateIssuesWithNewProperties(Arrays.asList(
+                updateDto(1, Status.SOLVED), updateDto(2, Status.SOLVED), updateDto(3, Status.SOLVED), updateDto(null, Status.SOLVED)));
+        assertEquals(Arrays.asList(BulkItemStatus.UPDATED, BulkItemStatus.UNCHANGED, BulkItemStatus.NOT_FOUND, BulkItemStatus.INVALID),
+                statusesOf(result));
+        assertEquals(Status.SOLVED, submitted.getStatus());
+        assertEquals(1, submitted.getVersion());
+        assertEquals(0, solved.getVersion());
+        verify(historyService, times(1)).record(eq(RecordType.UPDATE_PROPERTIES), eq(Collections.singletonList(submitted)));
+        verify(eventPublisher, times(1)).publishEvent(any(IssueChangeEvent.class));
+    }
+
+    @Test
+    public void updateIssuesWithNewProperties_shouldLoadTheIssuesInBatches() {
+        when(repository.findAllByIdForUpdate(anyCollection())).thenReturn(Collections.emptyList());
+        service.updateIssuesWithNewProperties(Arrays.asList(
+                updateDto(1, Status.SOLVED), updateDto(2, Status.SOLVED), updateDto(3, Status.SOLVED)));
+        verify(repository, times(1)).findAllByIdForUpdate(Arrays.asList(1, 2));
+        verify(repository, times(1)).findAllByIdForUpdate(Collections.singletonList(3));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void deleteIssuesByIds_shouldDeleteExistingIssuesInBatches() {
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Integer> ids = invocation.getArgument(0);
+            return ids.contains(4) ? Collections.emptyList()
+                    : Arrays.asList(createIssue(ids.get(0), Status.SUBMITTED), createIssue(ids.get(1), Status.SUBMITTED));
+        });
+        BulkResult result = service.deleteIssuesByIds(Arrays.asList(1, 2, 4));
+        assertEquals(Arrays.asList(BulkItemStatus.DELETED, BulkItemStatus.DELETED, BulkItemStatus.NOT_FOUND), statusesOf(result));
+        InOrder inOrder = inOrder(attachmentService, repository);
+        inOrder.verify(attachmentService, times(1)).releaseAttachmentsOfDeletedIssues(Arrays.asList(1, 2));
+        inOrder.verify(repository, times(1)).deleteAllByIdInBatch(Arrays.asList(1, 2));
+        ArgumentCaptor<IssueChangeEvent> captor = ArgumentCaptor.forClass(IssueChangeEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(2, captor.getValue().getChanges().size());
+    }
+}
@@ -1,6 +1,10 @@
 package com.jaikeex.issuetrackerservice.service;
 
-import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
@@ -8,18 +12,26 @@ import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
 import com.jaikeex.issuetrackerservice.repository.IssueRepository;
 import com.jaikeex.issuetrackerservice.service.filter.FilterServiceImpl;
+import com.jaikeex.issuetrackerservice.service.filter.index.BitmapFilterIndex;
 import com.jaikeex.issuetrackerservice.service.issue.IssueServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
 
@@ -36,10 +48,14 @@ class FilterServiceImplTest {
     private static final String FILTER_TEST_TITLE = "filter title";
     private static final String NEW_DESCRIPTION = "new description";
     private static final String NEW_TITLE = "new title";
+    private static final int TEST_PAGE_SIZE = 2;
+    private static final int TEST_MAX_PAGE_SIZE = 5;
     @Mock
     IssueRepository repository;
     @Mock
     IssueServiceImpl issueService;
+    @Spy
+    CursorPagination pagination = new CursorPagination(new PaginationProperties(TEST_PAGE_SIZE, TEST_MAX_PAGE_SIZE));
 
     @InjectMocks
     FilterServiceImpl service;
@@ -47,7 +63,7 @@ class FilterServiceImplTest {
     Issue testIssue;
     Issue updateTestIssue;
     Issue filterTestIssue;
-    IssueDto testFilterDto;
+    IssueFilter testFilter;
 
     List<Issue> findAllResults = new LinkedList<>();
 
@@ -56,7 +72,7 @@ class FilterServiceImplTest {
         initTestIssue();
         initUpdateTestIssue();
         initFilterTestIssue();
-        initFilterDto();
+        initFilter();
 
         findAllResults.add(testIssue);
         findAllResults.add(updateTestIssue);
@@ -100,52 +116,73 @@ class FilterServiceImplTest {
         filterTestIssue.setProject(Project.MWP);
     }
 
-    private void initFilterDto() {
-        testFilterDto = new IssueDto();
-        testFilterDto.setType(IssueType.BUG);
-        testFilterDto.setSeverity(null);
-        testFilterDto.setStatus(Status.SUBMITTED);
-        testFilterDto.setProject(Project.MWP);
+    private void initFilter() {
+        testFilter = new IssueFilter();
+        testFilter.setType(EnumSet.of(IssueType.BUG));
+        testFilter.setStatus(EnumSet.of(Status.SUBMITTED, Status.OPEN));
+        testFilter.setProject(EnumSet.of(Project.MWP));
     }
 
     @Test
-    public void filterIssues_givenAllOk_shouldCallRepository() {
-        when(issueService.findAllIssues()).thenReturn(findAllResults);
-        service.filterIssues(testFilterDto);
-        verify(repository, times(1)).findAllByType(IssueType.BUG);
-        verify(repository, times(0)).findAllBySeverity(Severity.HIGH);
-        verify(repository, times(1)).findAllByStatus(Status.SUBMITTED);
-        verify(repository, times(1)).findAllByProject(Project.MWP);
+    public void filterIssues_givenNoCursor_shouldQueryFromTheNewestIssue() {
+        service.filterIssues(testFilter, null, null);
+        verify(repository, times(1)).findSummaries(testFilter, Integer.MAX_VALUE, TEST_PAGE_SIZE + 1);
     }
 
     @Test
-    public void filterIssues_givenAllOk_shouldProcessResultsCorrectly() {
-        List<Issue> findAllResults = getFindAllResults();
-
-        List<Issue> findAllBugs = new LinkedList<>();
-        findAllBugs.add(testIssue);
-        findAllBugs.add(filterTestIssue);
+    public void filterIssues_givenCursor_shouldQueryBeforeTheCursorId() {
+        service.filterIssues(testFilter, pagination.encodeCursor(42), 3);
+        verify(repository, times(1)).findSummaries(testFilter, 42, 4);
+    }
 
-        List<Issue> findAllMWP = new LinkedList<>();
-        findAllMWP.add(testIssue);
-        findAllMWP.add(filterTestIssue);
+    @Test
+    public void filterIssues_givenAllOk_shouldReturnResults() {
+        List<IssueSummary> summaries = Collections.singletonList(new IssueSummary(testIssue));
+        when(repository.findSummaries(eq(testFilter), anyInt(), anyInt())).thenReturn(summaries);
+        CursorPage<IssueSummary> page = service.filterIssues(testFilter, null, null);
+        assertEquals(summaries, page.getContent());
+        assertNull(page.getNextCursor());
+    }
 
-        List<Issue> findAllSubmitted = new LinkedList<>();
-        findAllSubmitted.add(testIssue);
+    @Test
+    public void filterIssues_givenMoreResultsThanPageSize_shouldReturnNextCursor() {
+        testIssue.setId(3);
+        updateTestIssue.setId(2);
+        filterTestIssue.setId(1);
+        when(repository.findSummaries(eq(testFilter), anyInt(), anyInt())).thenReturn(Arrays.asList(
+                new IssueSummary(testIssue), new IssueSummary(updateTestIssue), new IssueSummary(filterTestIssue)));
+        CursorPage<IssueSummary> page = service.filterIssues(testFilter, null, null);
+        assertEquals(TEST_PAGE_SIZE, page.getContent().size());
+        assertEquals(pagination.encodeCursor(2), page.getNextCursor());
+    }
 
-        when(repository.findAll()).thenReturn(findAllResults);
-        when(repository.findAllByType(IssueType.BUG)).thenReturn(findAllBugs);
-        when(repository.findAllByStatus(Status.SUBMITTED)).thenReturn(findAllSubmitted);
-        when(repository.findAllByProject(Project.MWP)).thenReturn(findAllMWP);
-        assertEquals(Collections.singletonList(testIssue), service.filterIssues(testFilterDto));
+    @Test
+    public void filterIssues_givenNegativeCursor_shouldThrowException() {
+        BitmapFilterIndex filterIndex = mock(BitmapFilterIndex.class);
+        FilterServiceImpl indexedService = new FilterServiceImpl(repository, pagination, filterIndex);
+        assertThrows(InvalidCursorException.class,
+                () -> indexedService.filterIssues(testFilter, pagination.encodeCursor(-2), null));
+        verifyNoInteractions(filterIndex);
     }
 
-    private List<Issue> getFindAllResults() {
-        List<Issue> findAllResults = new LinkedList<>();
-        findAllResults.add(testIssue);
-        findAllResults.add(updateTestIssue);
-        findAllResults.add(filterTestIssue);
-        return findAllResults;
+    @Test
+    public void countIssues_givenNoIndex_shouldRunAggregateQueries() {
+        FilterFacets facets = new FilterFacets();
+        when(repository.countFacets(testFilter)).thenReturn(facets);
+        assertSame(facets, service.countIssues(testFilter));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void filterIssues_givenIndex_shouldLoadOnlyThePageFromRepository() {
+        BitmapFilterIndex filterIndex = mock(BitmapFilterIndex.class);
+        FilterServiceImpl indexedService = new FilterServiceImpl(repository, pagination, filterIndex);
+        testIssue.setId(3);
+        updateTestIssue.setId(2);
+        when(filterIndex.findIds(testFilter, Integer.MAX_VALUE, TEST_PAGE_SIZE + 1)).thenReturn(Arrays.asList(3, 2));
+        when(repository.findSummariesByIds(Arrays.asList(3, 2))).thenReturn(Arrays.asList(
+                new IssueSummary(updateTestIssue), new IssueSummary(testIssue)));
+        CursorPage<IssueSummary> page = indexedService.filterIssues(testFilter, null, null);
+        assertEquals(Arrays.asList(3, 2), Arrays.asList(page.getContent().get(0).getId(), page.getContent().get(1).getId()));
+        verify(repository, never()).findSummaries(any(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,158 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.dto.IssueSearchText;
+import com.jaikeex.issuetrackerservice.dto.SearchIndexReport;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.search.index.InvertedIndexSearchEngine;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class InvertedIndexSearchEngineTest {
+
+    private static final String GENERAL_TEST_ISSUE_DESCRIPTION = "this is the general test ISSUE";
+    private static final String UPDATE_TEST_ISSUE_DESCRIPTION = "this is the update test issue<br />second line";
+    private static final String FILTER_TEST_ISSUE_DESCRIPTION = "this is the filter test issue";
+    private static final String NEW_DESCRIPTION = "new description";
+
+    @Mock
+    IssueRepository repository;
+
+    @InjectMocks
+    InvertedIndexSearchEngine engine;
+
+    Issue testIssue;
+    Issue updateTestIssue;
+    Issue filterTestIssue;
+
+    List<Issue> databaseIssues = new LinkedList<>();
+
+    @BeforeEach
+    public void beforeEach() {
+        testIssue = createIssue(1, "testTitle", "general author", GENERAL_TEST_ISSUE_DESCRIPTION);
+        updateTestIssue = createIssue(2, "update title", "update author", UPDATE_TEST_ISSUE_DESCRIPTION);
+        filterTestIssue = createIssue(3, "filter title", "filter author", FILTER_TEST_ISSUE_DESCRIPTION);
+        databaseIssues.addAll(Arrays.asList(filterTestIssue, updateTestIssue, testIssue));
+
+        when(repository.findSearchTextsBeforeId(anyInt(), any(Pageable.class))).thenAnswer(invocation -> {
+            int beforeId = invocation.getArgument(0);
+            List<IssueSearchText> batch = new LinkedList<>();
+            databaseIssues.stream()
+                    .filter(issue -> issue.getId() < beforeId)
+                    .map(IssueSearchText::new)
+                    .forEach(batch::add);
+            return batch;
+        });
+        engine.rebuild();
+    }
+
+    private Issue createIssue(int id, String title, String author, String description) {
+        Issue issue = new Issue(IssueType.BUG, Severity.HIGH, Status.SUBMITTED, Project.MWP);
+        issue.setId(id);
+        issue.setTitle(title);
+        issue.setAuthor(author);
+        issue.setDescription(description);
+        return issue;
+    }
+
+    @Test
+    public void search_givenCommonWord_shouldReturnNewestFirst() {
+        assertEquals(Arrays.asList(3, 2, 1), engine.search("issue", 0, 10));
+    }
+
+    @Test
+    public void search_givenSeveralWords_shouldReturnIssuesContainingAll() {
+        assertEquals(Collections.singletonList(3), engine.search("Filter ISSUE", 0, 10));
+    }
+
+    @Test
+    public void search_givenPrefix_shouldMatchWholeWords() {
+        assertEquals(Arrays.asList(3, 2), engine.search("titl", 0, 10));
+    }
+
+    @Test
+    public void search_givenOffsetAndLimit_shouldReturnRequestedSlice() {
+        assertEquals(Collections.singletonList(2), engine.search("issue", 1, 1));
+    }
+
+    @Test
+    public void search_givenHtmlMarkup_shouldNotIndexTags() {
+        assertTrue(engine.search("br", 0, 10).isEmpty());
+        assertEquals(Collections.singletonList(2), engine.search("second", 0, 10));
+    }
+
+    @Test
+    public void search_givenNoMatch_shouldReturnEmptyList() {
+        assertTrue(engine.search("nonexistent", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void onIssueChange_givenCreatedIssue_shouldIndexIt() {
+        Issue issue = createIssue(4, "new issue", "new author", NEW_DESCRIPTION);
+        engine.onIssueChange(IssueChangeEvent.of(IssueChange.created(issue)));
+        assertEquals(Collections.singletonList(4), engine.search("description", 0, 10));
+    }
+
+    @Test
+    public void onIssueChange_givenUpdatedDescription_shouldReplaceTerms() {
+        testIssue.setDescription(NEW_DESCRIPTION);
+        engine.onIssueChange(IssueChangeEvent.of(IssueChange.descriptionUpdated(testIssue)));
+        assertEquals(Collections.singletonList(1), engine.search("description", 0, 10));
+        assertEquals(Arrays.asList(3, 2), engine.search("issue", 0, 10));
+    }
+
+    @Test
+    public void onIssueChange_givenDeletedIssue_shouldRemoveIt() {
+        engine.onIssueChange(IssueChangeEvent.of(IssueChange.deleted(filterTestIssue)));
+        assertEquals(Arrays.asList(2, 1), engine.search("issue", 0, 10));
+    }
+
+    @Test
+    public void check_givenIndexInSync_shouldReportConsistent() {
+        SearchIndexReport report = engine.check();
+        assertTrue(report.isConsistent());
+        assertEquals(3, report.getIndexedIssues());
+        assertEquals(3, report.getDatabaseIssues());
+    }
+
+    @Test
+    public void check_givenDatabaseChangedWithoutEvents_shouldReportDifferences() {
+        databaseIssues.remove(filterTestIssue);
+        databaseIssues.add(0, createIssue(4, "new issue", "new author", NEW_DESCRIPTION));
+        testIssue.setDescription(NEW_DESCRIPTION);
+        SearchIndexReport report = engine.check();
+        assertFalse(report.isConsistent());
+        assertEquals(Collections.singletonList(4), report.getMissingIds());
+        assertEquals(Collections.singletonList(3), report.getStaleIds());
+        assertEquals(Collections.singletonList(1), report.getOutdatedIds());
+    }
+
+    @Test
+    public void rebuild_givenDatabaseChangedWithoutEvents_shouldRestoreConsistency() {
+        databaseIssues.remove(filterTestIssue);
+        assertTrue(engine.rebuild().isConsistent());
+        assertEquals(Arrays.asList(2, 1), engine.search("issue", 0, 10));
+    }
+}
@@ -0,0 +1,106 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.config.cache.CacheConfig;
+import com.jaikeex.issuetrackerservice.config.properties.CacheProperties;
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.issue.IssueService;
+import com.jaikeex.issuetrackerservice.service.issue.IssueServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IssueServiceCacheTest.TestConfig.class)
+class IssueServiceCacheTest {
+
+    private static final int CONCURRENT_CALLERS = 8;
+    private static final long LOAD_MILLIS = 300;
+
+    @Autowired
+    IssueService service;
+    @Autowired
+    IssueRepository repository;
+    @Autowired
+    CacheManager cacheManager;
+
+    @BeforeEach
+    public void beforeEach() {
+        cacheManager.getCache(CacheConfig.LIST_CACHE_NAME).clear();
+        reset(repository);
+    }
+
+    @Test
+    public void findAllIssues_givenConcurrentMisses_shouldLoadOnlyOnce() throws Exception {
+        List<IssueSummary> issues = Collections.singletonList(new IssueSummary(new Issue()));
+        when(repository.findSummariesBeforeId(anyInt(), any(Pageable.class))).thenAnswer(invocation -> {
+            Thread.sleep(LOAD_MILLIS);
+            return issues;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CursorPage<IssueSummary>>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.findAllIssues(null, null);
+                }));
+            }
+            start.countDown();
+            for (Future<CursorPage<IssueSummary>> result : results) {
+                assertEquals(issues, result.get(5, TimeUnit.SECONDS).getContent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(repository, times(1)).findSummariesBeforeId(anyInt(), any(Pageable.class));
+    }
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class TestConfig {
+
+        @Bean
+        CacheProperties cacheProperties() {
+            CacheProperties.Region region = new CacheProperties.Region(DataSize.ofMegabytes(1), 60, 0, false);
+            return new CacheProperties(region, region, new CacheProperties.OffHeapTier(), true, 1000);
+        }
+
+        @Bean
+        IssueRepository issueRepository() {
+            return mock(IssueRepository.class);
+        }
+
+        @Bean
+        IssueService issueService(IssueRepository issueRepository) {
+            CursorPagination pagination = new CursorPagination(new PaginationProperties(50, 200));
+            return new IssueServiceImpl(null, null, issueRepository, null, pagination, null);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.jaikeex.issuetrackerservice.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
 import com.jaikeex.issuetrackerservice.dto.AttachmentFileDto;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
 import com.jaikeex.issuetrackerservice.dto.IssueDto;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
@@ -13,16 +16,30 @@ import com.jaikeex.issuetrackerservice.repository.IssueRepository;
 import com.jaikeex.issuetrackerservice.service.attachment.AttachmentServiceImpl;
 import com.jaikeex.issuetrackerservice.service.history.HistoryServiceImpl;
 import com.jaikeex.issuetrackerservice.service.issue.IssueServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.RecordType;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeType;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
 import com.jaikeex.issuetrackerservice.utility.exception.TitleAlreadyExistsException;
 import com.jaikeex.issuetrackerservice.utility.html.HtmlParser;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import javax.persistence.EntityNotFoundException;
 import java.io.IOException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -47,6 +64,8 @@ class IssueServiceTest {
     private static final byte[] TEST_BYTES = {1, 2, 3};
     private static final String TEST_ORIGINAL_FILENAME = "testOriginalFilename";
     private static final int TEST_ID = 1;
+    private static final int TEST_PAGE_SIZE = 2;
+    private static final int TEST_MAX_PAGE_SIZE = 5;
     @Mock
     IssueRepository repository;
     @Mock
@@ -55,6 +74,10 @@ class IssueServiceTest {
     AttachmentServiceImpl attachmentService;
     @Mock
     HtmlParser parser;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Spy
+    CursorPagination pagination = new CursorPagination(new PaginationProperties(TEST_PAGE_SIZE, TEST_MAX_PAGE_SIZE));
 
     @InjectMocks
     IssueServiceImpl service;
@@ -157,18 +180,28 @@ class IssueServiceTest {
     }
 
     @Test
-    public void saveIssueToDatabase_givenAllOk_shouldCallRepository() throws IOException {
+    public void saveIssueToDatabase_givenAllOk_shouldInsertWithoutLookingUpTheTitle() throws IOException {
         Issue issue = new Issue(testIssueDto);
-        when(repository.findIssueByTitle(issue.getTitle())).thenReturn(null);
         service.saveNewIssue(testIssueDto);
-        verify(repository, times(1)).save(issue);
+        verify(repository, times(1)).saveAndFlush(issue);
+        verify(repository, never()).findIssueByTitle(any());
     }
 
     @Test
     public void saveIssueToDatabase_givenTitleAlreadyExists_shouldThrowException() {
-        when(repository.findIssueByTitle(testIssue.getTitle())).thenReturn(new Issue());
+        when(repository.saveAndFlush(any(Issue.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'testTitle' for key 'issue." + Issue.TITLE_CONSTRAINT + "'")));
         assertThrows(TitleAlreadyExistsException.class,
                 () -> service.saveNewIssue(testIssueDto));
+        verifyNoInteractions(historyService, eventPublisher);
+    }
+
+    @Test
+    public void saveIssueToDatabase_givenOtherViolation_shouldRethrowIt() {
+        when(repository.saveAndFlush(any(Issue.class))).thenThrow(new DataIntegrityViolationException("value too long"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> service.saveNewIssue(testIssueDto));
     }
 
     @Test
@@ -198,78 +231,112 @@ class IssueServiceTest {
     }
 
     @Test
-    public void findAllIssues_givenAllOk_shouldCallRepository() {
-        when(repository.findAllIssues()).thenReturn(new LinkedList<>());
-        service.findAllIssues();
-        verify(repository, times(1)).findAllIssues();
+    public void findAllIssuesPage_givenNoCursor_shouldStartFromNewestIssue() {
+        when(repository.findSummariesBeforeId(Integer.MAX_VALUE, PageRequest.of(0, TEST_PAGE_SIZE + 1)))
+                .thenReturn(new LinkedList<>());
+        service.findAllIssues(null, null);
+        verify(repository, times(1)).findSummariesBeforeId(Integer.MAX_VALUE, PageRequest.of(0, TEST_PAGE_SIZE + 1));
     }
 
     @Test
-    public void findAllIssues_givenAllOk_shouldReturnResults() {
-        when(repository.findAllIssues()).thenReturn(Collections.singletonList(testIssue));
-        assertTrue(service.findAllIssues().contains(testIssue));
+    public void findAllIssuesPage_givenTooLargePageSize_shouldCapThePageSize() {
+        when(repository.findSummariesBeforeId(Integer.MAX_VALUE, PageRequest.of(0, TEST_MAX_PAGE_SIZE + 1)))
+                .thenReturn(new LinkedList<>());
+        service.findAllIssues(null, 1000);
+        verify(repository, times(1)).findSummariesBeforeId(Integer.MAX_VALUE, PageRequest.of(0, TEST_MAX_PAGE_SIZE + 1));
     }
 
     @Test
-    public void findAllIssuesByType_givenAllOk_shouldCallRepository() {
-        when(repository.findAllByType(IssueType.BUG)).thenReturn(new LinkedList<>());
-        service.findAllIssuesByType(IssueType.BUG);
-        verify(repository, times(1)).findAllByType(IssueType.BUG);
+    public void findAllIssuesPage_givenMoreRowsThanPageSize_shouldReturnCursorOfLastIssue() {
+        IssueSummary olderIssue = new IssueSummary(testIssue);
+        olderIssue.setId(TEST_ID + 1);
+        when(repository.findSummariesBeforeId(Integer.MAX_VALUE, PageRequest.of(0, 2)))
+                .thenReturn(new LinkedList<>(Arrays.asList(olderIssue, new IssueSummary(testIssue))));
+        CursorPage<IssueSummary> page = service.findAllIssues(null, 1);
+        assertEquals(Collections.singletonList(olderIssue), page.getContent());
+        assertEquals(pagination.encodeCursor(TEST_ID + 1), page.getNextCursor());
     }
 
     @Test
-    public void findAllIssuesByType_givenAllOk_shouldReturnResults() {
-        when(repository.findAllByType(IssueType.BUG)).thenReturn(Collections.singletonList(testIssue));
-        assertTrue(service.findAllIssuesByType(IssueType.BUG).contains(testIssue));
+    public void findAllIssuesPage_givenCursor_shouldContinueBelowTheCursor() {
+        when(repository.findSummariesBeforeId(TEST_ID + 1, PageRequest.of(0, TEST_PAGE_SIZE + 1)))
+                .thenReturn(Collections.singletonList(new IssueSummary(testIssue)));
+        CursorPage<IssueSummary> page = service.findAllIssues(pagination.encodeCursor(TEST_ID + 1), null);
+        assertEquals(Collections.singletonList(new IssueSummary(testIssue)), page.getContent());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    public void findAllIssuesBySeverity_givenAllOk_shouldCallRepository() {
-        when(repository.findAllBySeverity(Severity.HIGH)).thenReturn(new LinkedList<>());
-        service.findAllIssuesBySeverity(Severity.HIGH);
-        verify(repository, times(1)).findAllBySeverity(Severity.HIGH);
+    public void findAllIssuesPage_givenMalformedCursor_shouldThrowException() {
+        assertThrows(InvalidCursorException.class,
+                () -> service.findAllIssues("not a cursor", null));
     }
 
     @Test
-    public void findAllIssuesBySeverity_givenAllOk_shouldReturnResults() {
-        when(repository.findAllBySeverity(Severity.HIGH)).thenReturn(Collections.singletonList(testIssue));
-        assertTrue(service.findAllIssuesBySeverity(Severity.HIGH).contains(testIssue));
+    public void findAllIssuesPage_givenNegativeCursor_shouldThrowException() {
+        assertThrows(InvalidCursorException.class,
+                () -> service.findAllIssues(pagination.encodeCursor(-1), null));
+        verifyNoInteractions(repository);
     }
 
     @Test
-    public void findAllIssuesByStatus_givenAllOk_shouldCallRepository() {
-        when(repository.findAllByStatus(Status.SUBMITTED)).thenReturn(new LinkedList<>());
-        service.findAllIssuesByStatus(Status.SUBMITTED);
-        verify(repository, times(1)).findAllByStatus(Status.SUBMITTED);
+    public void findAllIssuesByTypePage_givenNoCursor_shouldQuerySummariesOfThatType() {
+        when(repository.findSummariesByTypeBeforeId(IssueType.BUG, Integer.MAX_VALUE, PageRequest.of(0, TEST_PAGE_SIZE + 1)))
+                .thenReturn(Collections.singletonList(new IssueSummary(testIssue)));
+        CursorPage<IssueSummary> page = service.findAllIssuesByType(IssueType.BUG, null, null);
+        assertEquals(Collections.singletonList(new IssueSummary(testIssue)), page.getContent());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    public void findAllIssuesByStatus_givenAllOk_shouldReturnResults() {
-        when(repository.findAllByStatus(Status.SUBMITTED)).thenReturn(Collections.singletonList(testIssue));
-        assertTrue(service.findAllIssuesByStatus(Status.SUBMITTED).contains(testIssue));
+    public void updateIssueWithNewProperties_givenAllOk_shouldCallRepository() {
+        when(repository.findByIdForUpdate(TEST_ID)).thenReturn(Optional.ofNullable(testIssue));
+        service.updateIssueWithNewProperties(updateTestIssueDto);
+        verify(repository, times(1)).findByIdForUpdate(TEST_ID);
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
-    public void findAllIssuesByProject_givenAllOk_shouldCallRepository() {
-        when(repository.findAllByProject(Project.MWP)).thenReturn(new LinkedList<>());
-        service.findAllIssuesByProject(Project.MWP);
-        verify(repository, times(1)).findAllByProject(Project.MWP);
+    public void updateIssueWithNewProperties_givenAllOk_shouldReturnUpdatedIssue() {
+        when(repository.findByIdForUpdate(TEST_ID)).thenReturn(Optional.ofNullable(testIssue));
+        long version = testIssue.getVersion();
+        Issue updatedIssue = service.updateIssueWithNewProperties(updateTestIssueDto);
+        assertEquals(version + 1, updatedIssue.getVersion());
+        assertEquals(IssueType.ENHANCEMENT, updatedIssue.getType());
+        assertEquals(Severity.HIGH, updatedIssue.getSeverity());
+        assertEquals(Status.SOLVED, updatedIssue.getStatus());
+        assertEquals(Project.TRACKER, updatedIssue.getProject());
     }
 
     @Test
-    public void findAllIssuesByProject_givenAllOk_shouldReturnResults() {
-        when(repository.findAllByProject(Project.MWP)).thenReturn(Collections.singletonList(testIssue));
-        assertTrue(service.findAllIssuesByProject(Project.MWP).contains(testIssue));
+    public void updateIssueWithNewProperties_givenMissingProperties_shouldKeepCurrentValues() {
+        when(repository.findByIdForUpdate(TEST_ID)).thenReturn(Optional.ofNullable(testIssue));
+        updateTestIssueDto.setType(null);
+        updateTestIssueDto.setProject(null);
+        Issue updatedIssue = service.updateIssueWithNewProperties(updateTestIssueDto);
+        assertEquals(IssueType.BUG, updatedIssue.getType());
+        assertEquals(Severity.HIGH, updatedIssue.getSeverity());
+        assertEquals(Project.MWP, updatedIssue.getProject());
     }
 
     @Test
-    public void updateIssueWithNewProperties_givenAllOk_shouldCallRepository() {
-        when(repository.findById(TEST_ID)).thenReturn(Optional.ofNullable(updateTestIssue));
+    public void updateIssueWithNewProperties_givenAllOk_shouldRecordHistoryAndPublishChange() {
+        when(repository.findByIdForUpdate(TEST_ID)).thenReturn(Optional.ofNullable(testIssue));
+        service.updateIssueWithNewProperties(updateTestIssueDto);
+        verify(historyService, times(1)).record(RecordType.UPDATE_PROPERTIES, testIssue);
+        ArgumentCaptor<IssueChangeEvent> captor = ArgumentCaptor.forClass(IssueChangeEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(IssueType.BUG, captor.getValue().getChanges().get(0).getPrevious().getType());
+        assertEquals(IssueType.ENHANCEMENT, captor.getValue().getChanges().get(0).getCurrent().getType());
+    }
+
+    @Test
+    public void updateIssueWithNewProperties_givenNoChange_shouldNotRecordHistory() {
+        when(repository.findByIdForUpdate(TEST_ID)).thenReturn(Optional.ofNullable(updateTestIssue));
+        long version = updateTestIssue.getVersion();
         service.updateIssueWithNewProperties(updateTestIssueDto);
-        verify(repository, times(1)).updateIssueWithNewType(TEST_ID, IssueType.ENHANCEMENT);
-        verify(repository, times(1)).updateIssueWithNewSeverity(TEST_ID, Severity.HIGH);
-        verify(repository, times(1)).updateIssueWithNewStatus(TEST_ID, Status.SOLVED);
-        verify(repository, times(1)).updateIssueWithNewProject(TEST_ID, Project.TRACKER);
+        assertEquals(version, updateTestIssue.getVersion());
+        verifyNoInteractions(historyService, eventPublisher);
     }
 
     @Test
@@ -281,8 +348,44 @@ class IssueServiceTest {
 
     @Test
     public void deleteIssueById_shouldCallRepository() {
-        service.deleteIssueById(1);
-        verify(repository, times(1)).deleteById(1);
+        when(repository.findById(TEST_ID)).thenReturn(Optional.of(testIssue));
+        service.deleteIssueById(TEST_ID);
+        verify(repository, times(1)).delete(testIssue);
+    }
+
+    @Test
+    public void deleteIssueById_shouldReleaseAttachmentsBeforeTheIssueIsDeleted() {
+        when(repository.findById(TEST_ID)).thenReturn(Optional.of(testIssue));
+        service.deleteIssueById(TEST_ID);
+        InOrder inOrder = inOrder(attachmentService, repository);
+        inOrder.verify(attachmentService, times(1)).releaseAttachmentsOfDeletedIssues(Collections.singletonList(TEST_ID));
+        inOrder.verify(repository, times(1)).delete(testIssue);
+    }
+
+    @Test
+    public void deleteIssueById_givenNonexistentId_shouldThrowException() {
+        when(repository.findById(TEST_ID)).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> service.deleteIssueById(TEST_ID));
+        verify(repository, never()).delete(any());
+    }
+
+    @Test
+    public void deleteIssueById_shouldPublishChangeEvent() {
+        when(repository.findById(TEST_ID)).thenReturn(Optional.of(testIssue));
+        service.deleteIssueById(TEST_ID);
+        ArgumentCaptor<IssueChangeEvent> captor = ArgumentCaptor.forClass(IssueChangeEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(IssueChangeType.DELETE, captor.getValue().getChanges().get(0).getType());
+        assertEquals(TEST_ID, captor.getValue().getChanges().get(0).getIssueId());
+    }
+
+    @Test
+    public void saveIssueToDatabase_givenAllOk_shouldPublishChangeEvent() throws IOException {
+        service.saveNewIssue(testIssueDto);
+        ArgumentCaptor<IssueChangeEvent> captor = ArgumentCaptor.forClass(IssueChangeEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(IssueChangeType.CREATE, captor.getValue().getChanges().get(0).getType());
+        assertEquals(GENERAL_TEST_TITLE, captor.getValue().getChanges().get(0).getCurrent().getTitle());
     }
 
 
@@ -0,0 +1,91 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.dto.FilterFacets;
+import com.jaikeex.issuetrackerservice.dto.IssuePropertyCount;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.repository.IssueRepository;
+import com.jaikeex.issuetrackerservice.service.stats.IssueStatsServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class IssueStatsServiceTest {
+
+    @Mock
+    IssueRepository repository;
+
+    @InjectMocks
+    IssueStatsServiceImpl statsService;
+
+    @BeforeEach
+    public void beforeEach() {
+        when(repository.countByProperties()).thenReturn(Arrays.asList(
+                new IssuePropertyCount(IssueType.BUG, Severity.HIGH, Status.SUBMITTED, Project.MWP, 3L),
+                new IssuePropertyCount(IssueType.ENHANCEMENT, Severity.LOW, Status.SOLVED, Project.TRACKER, 2L)));
+        statsService.afterSingletonsInstantiated();
+    }
+
+    private Issue createIssue(int id, Status status) {
+        Issue issue = new Issue(IssueType.BUG, Severity.HIGH, status, Project.MWP);
+        issue.setId(id);
+        return issue;
+    }
+
+    @Test
+    public void getStats_shouldReturnSeededCounts() {
+        FilterFacets stats = statsService.getStats();
+        assertEquals(5, stats.getTotal());
+        assertEquals(3L, stats.getType().get(IssueType.BUG));
+        assertEquals(2L, stats.getSeverity().get(Severity.LOW));
+        assertEquals(2L, stats.getStatus().get(Status.SOLVED));
+        assertEquals(0L, stats.getProject().get(Project.DAP));
+    }
+
+    @Test
+    public void onIssueChange_givenCreatedIssue_shouldIncrementCounts() {
+        statsService.onIssueChange(IssueChangeEvent.of(IssueChange.created(createIssue(6, Status.SUBMITTED))));
+        assertEquals(6, statsService.getStats().getTotal());
+        assertEquals(4L, statsService.getStats().getStatus().get(Status.SUBMITTED));
+    }
+
+    @Test
+    public void onIssueChange_givenUpdatedProperties_shouldMoveTheCounts() {
+        Issue previous = createIssue(1, Status.SUBMITTED);
+        Issue current = createIssue(1, Status.OPEN);
+        statsService.onIssueChange(IssueChangeEvent.of(IssueChange.propertiesUpdated(previous, current)));
+        FilterFacets stats = statsService.getStats();
+        assertEquals(5, stats.getTotal());
+        assertEquals(2L, stats.getStatus().get(Status.SUBMITTED));
+        assertEquals(1L, stats.getStatus().get(Status.OPEN));
+        assertEquals(3L, stats.getType().get(IssueType.BUG));
+    }
+
+    @Test
+    public void onIssueChange_givenDeletedIssue_shouldDecrementCounts() {
+        statsService.onIssueChange(IssueChangeEvent.of(IssueChange.deleted(createIssue(1, Status.SUBMITTED))));
+        assertEquals(4, statsService.getStats().getTotal());
+        assertEquals(2L, statsService.getStats().getProject().get(Project.MWP));
+    }
+
+    @Test
+    public void onIssueChange_givenDescriptionUpdate_shouldKeepTheSameSnapshot() {
+        FilterFacets stats = statsService.getStats();
+        statsService.onIssueChange(IssueChangeEvent.of(IssueChange.descriptionUpdated(createIssue(1, Status.SUBMITTED))));
+        assertSame(stats, statsService.getStats());
+    }
+}
@@ -0,0 +1,117 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.config.properties.OutboxProperties;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.service.outbox.InMemoryOutboxSink;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxRelay;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxSink;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class OutboxRelayTest {
+
+    private static final int TEST_BATCH_SIZE = 2;
+    private static final long TEST_GAP_GRACE_MILLIS = 5000;
+
+    @Mock
+    OutboxRepository repository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    InMemoryOutboxSink sink = new InMemoryOutboxSink(10);
+
+    OutboxRelay relay;
+
+    @BeforeEach
+    public void beforeEach() {
+        relay = createRelay(sink);
+    }
+
+    private OutboxRelay createRelay(OutboxSink outboxSink) {
+        OutboxProperties properties = new OutboxProperties(true, 1000, TEST_BATCH_SIZE, 24, true, 10, TEST_GAP_GRACE_MILLIS);
+        return new OutboxRelay(repository, Collections.singletonList(outboxSink), transactionManager, properties);
+    }
+
+    private OutboxEvent createEvent(int id) {
+        OutboxEvent event = new OutboxEvent(id * 10, IssueChangeType.CREATE, "{\"id\":" + id * 10 + "}");
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    public void publishPendingEvents_shouldPublishAllBatchesInOrderAndMarkThem() {
+        when(repository.findUnpublished(any(Pageable.class)))
+                .thenReturn(Arrays.asList(createEvent(1), createEvent(2)))
+                .thenReturn(Collections.singletonList(createEvent(3)));
+        assertEquals(3, relay.publishPendingEvents());
+        assertEquals(Arrays.asList(1, 2, 3),
+                sink.getMessages().stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+        verify(repository, times(1)).markPublished(eq(Arrays.asList(1, 2)), any());
+        verify(repository, times(1)).markPublished(eq(Collections.singletonList(3)), any());
+    }
+
+    @Test
+    public void publishPendingEvents_givenMissingIdWithinGracePeriod_shouldStopBeforeIt() {
+        when(repository.findLastPublishedId()).thenReturn(1);
+        when(repository.findUnpublished(any(Pageable.class))).thenReturn(Arrays.asList(createEvent(2), createEvent(4)));
+        assertEquals(1, relay.publishPendingEvents());
+        assertEquals(Collections.singletonList(2),
+                sink.getMessages().stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+        verify(repository, times(1)).markPublished(eq(Collections.singletonList(2)), any());
+    }
+
+    @Test
+    public void publishPendingEvents_givenMissingIdAfterGracePeriod_shouldSkipIt() {
+        OutboxEvent event = createEvent(3);
+        event.setCreatedAt(new Timestamp(System.currentTimeMillis() - 2 * TEST_GAP_GRACE_MILLIS));
+        when(repository.findLastPublishedId()).thenReturn(1);
+        when(repository.findUnpublished(any(Pageable.class))).thenReturn(Collections.singletonList(event));
+        assertEquals(1, relay.publishPendingEvents());
+        verify(repository, times(1)).markPublished(eq(Collections.singletonList(3)), any());
+    }
+
+    @Test
+    public void publishPendingEvents_givenEventCommittedAfterItsIdWasSkipped_shouldPublishIt() {
+        when(repository.findLastPublishedId()).thenReturn(5);
+        when(repository.findUnpublished(any(Pageable.class))).thenReturn(Collections.singletonList(createEvent(3)));
+        assertEquals(1, relay.publishPendingEvents());
+        verify(repository, times(1)).markPublished(eq(Collections.singletonList(3)), any());
+    }
+
+    @Test
+    public void publishPendingEvents_givenFailingSink_shouldNotMarkTheBatch() {
+        OutboxSink failingSink = mock(OutboxSink.class);
+        doThrow(new IllegalStateException("broker down")).when(failingSink).publish(anyList());
+        when(repository.findUnpublished(any(Pageable.class))).thenReturn(Collections.singletonList(createEvent(1)));
+        OutboxRelay failingRelay = createRelay(failingSink);
+        assertThrows(IllegalStateException.class, failingRelay::publishPendingEvents);
+        verify(repository, never()).markPublished(anyCollection(), any());
+    }
+
+    @Test
+    public void publishPendingEvents_givenNoEvents_shouldPublishNothing() {
+        when(repository.findUnpublished(any(Pageable.class))).thenReturn(Collections.emptyList());
+        assertEquals(0, relay.publishPendingEvents());
+        List<OutboxMessage> messages = sink.getMessages();
+        assertTrue(messages.isEmpty());
+    }
+}
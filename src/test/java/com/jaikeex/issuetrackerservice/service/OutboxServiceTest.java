@@ -0,0 +1,87 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.jaikeex.issuetrackerservice.config.properties.OutboxProperties;
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeType;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class OutboxServiceTest {
+
+    private static final int TEST_PAGE_SIZE = 2;
+    private static final int TEST_MAX_PAGE_SIZE = 5;
+    private static final long TEST_GAP_GRACE_MILLIS = 5000;
+
+    @Mock
+    OutboxRepository repository;
+    @Spy
+    CursorPagination pagination = new CursorPagination(new PaginationProperties(TEST_PAGE_SIZE, TEST_MAX_PAGE_SIZE));
+    @Spy
+    OutboxProperties properties = new OutboxProperties(true, 1000, 100, 24, false, 0, TEST_GAP_GRACE_MILLIS);
+
+    @InjectMocks
+    OutboxServiceImpl service;
+
+    @Test
+    public void findChanges_givenNoChanges_shouldKeepTheCursor() {
+        when(repository.findAllAfterId(7, PageRequest.of(0, TEST_PAGE_SIZE))).thenReturn(Collections.emptyList());
+        CursorPage<OutboxMessage> page = service.findChanges(pagination.encodeCursor(7), null);
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(pagination.encodeCursor(7), page.getNextCursor());
+    }
+
+    private OutboxEvent createEvent(int id, long ageMillis) {
+        OutboxEvent event = new OutboxEvent(id * 10, IssueChangeType.CREATE, "{\"id\":" + id * 10 + "}");
+        event.setId(id);
+        event.setCreatedAt(new Timestamp(System.currentTimeMillis() - ageMillis));
+        return event;
+    }
+
+    @Test
+    public void findChanges_givenMissingIdWithinGracePeriod_shouldEndThePageBeforeIt() {
+        when(repository.findAllAfterId(7, PageRequest.of(0, TEST_PAGE_SIZE)))
+                .thenReturn(Arrays.asList(createEvent(8, 0), createEvent(10, 0)));
+        CursorPage<OutboxMessage> page = service.findChanges(pagination.encodeCursor(7), null);
+        assertEquals(Collections.singletonList(8),
+                page.getContent().stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+        assertEquals(pagination.encodeCursor(8), page.getNextCursor());
+    }
+
+    @Test
+    public void findChanges_givenMissingIdAfterGracePeriod_shouldSkipIt() {
+        when(repository.findAllAfterId(7, PageRequest.of(0, TEST_PAGE_SIZE)))
+                .thenReturn(Arrays.asList(createEvent(9, 2 * TEST_GAP_GRACE_MILLIS), createEvent(10, 0)));
+        CursorPage<OutboxMessage> page = service.findChanges(pagination.encodeCursor(7), null);
+        assertEquals(Arrays.asList(9, 10),
+                page.getContent().stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+        assertEquals(pagination.encodeCursor(10), page.getNextCursor());
+    }
+
+    @Test
+    public void findChanges_givenNegativeCursor_shouldThrowException() {
+        assertThrows(InvalidCursorException.class,
+                () -> service.findChanges(pagination.encodeCursor(-1), null));
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,77 @@
+package com.jaikeex.issuetrackerservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.service.outbox.OutboxWriter;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class OutboxWriterTest {
+
+    @Mock
+    OutboxRepository repository;
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    OutboxWriter writer;
+
+    private Issue createIssue(int id, Status status) {
+        Issue issue = new Issue(IssueType.BUG, Severity.HIGH, status, Project.MWP);
+        issue.setId(id);
+        issue.setTitle("title " + id);
+        issue.setDescription("description");
+        return issue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> captureSavedEvents() {
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void onIssueChange_shouldSaveOneEventPerChange() {
+        Issue previous = createIssue(2, Status.SUBMITTED);
+        writer.onIssueChange(new IssueChangeEvent(Arrays.asList(
+                IssueChange.created(createIssue(1, Status.SUBMITTED)),
+                IssueChange.propertiesUpdated(previous, createIssue(2, Status.SOLVED)))));
+        List<OutboxEvent> events = captureSavedEvents();
+        assertEquals(2, events.size());
+        assertEquals(IssueChangeType.CREATE, events.get(0).getChangeType());
+        assertEquals(1, events.get(0).getIssueId());
+        assertTrue(events.get(1).getPayload().contains("\"status\":\"SOLVED\""));
+        assertNull(events.get(1).getPublishedAt());
+    }
+
+    @Test
+    public void onIssueChange_givenDeletedIssue_shouldWriteItsLastState() {
+        writer.onIssueChange(IssueChangeEvent.of(IssueChange.deleted(createIssue(3, Status.OPEN))));
+        OutboxEvent event = captureSavedEvents().get(0);
+        assertEquals(IssueChangeType.DELETE, event.getChangeType());
+        assertTrue(event.getPayload().contains("\"title\":\"title 3\""));
+        assertFalse(event.getPayload().contains("description"));
+    }
+}
@@ -1,6 +1,9 @@
 package com.jaikeex.issuetrackerservice.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.jaikeex.issuetrackerservice.config.properties.PaginationProperties;
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
 import com.jaikeex.issuetrackerservice.entity.Issue;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
@@ -8,19 +11,26 @@ import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
 import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
 import com.jaikeex.issuetrackerservice.repository.IssueRepository;
 import com.jaikeex.issuetrackerservice.service.issue.IssueServiceImpl;
+import com.jaikeex.issuetrackerservice.service.search.SearchEngine;
 import com.jaikeex.issuetrackerservice.service.search.SearchServiceImpl;
+import com.jaikeex.issuetrackerservice.utility.exception.InvalidCursorException;
+import com.jaikeex.issuetrackerservice.utility.pagination.CursorPagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
@@ -38,10 +48,17 @@ class SearchServiceTest {
     public static final String NEW_DESCRIPTION = "new description";
     public static final String NEW_TITLE = "new title";
 
+    private static final int TEST_PAGE_SIZE = 2;
+    private static final int TEST_MAX_PAGE_SIZE = 5;
+
     @Mock
     IssueRepository repository;
     @Mock
     IssueServiceImpl issueService;
+    @Mock
+    SearchEngine searchEngine;
+    @Spy
+    CursorPagination pagination = new CursorPagination(new PaginationProperties(TEST_PAGE_SIZE, TEST_MAX_PAGE_SIZE));
 
     @InjectMocks
     SearchServiceImpl service;
@@ -50,7 +67,7 @@ class SearchServiceTest {
     Issue updateTestIssue;
     Issue filterTestIssue;
 
-    List<Issue> findAllResults = new LinkedList<>();
+    List<IssueSummary> findAllResults = new LinkedList<>();
 
     @BeforeEach
     public void beforeEach() throws JsonProcessingException {
@@ -58,12 +75,11 @@ class SearchServiceTest {
         initUpdateTestIssue();
         initFilterTestIssue();
 
-        List<Issue> findAllResultsMock = getFindAllResults();
-        when(repository.findAllIssues()).thenReturn(findAllResultsMock);
+        when(repository.findSummariesByIds(anyCollection())).thenReturn(getFindAllResults());
 
-        findAllResults.add(testIssue);
-        findAllResults.add(updateTestIssue);
-        findAllResults.add(filterTestIssue);
+        findAllResults.add(new IssueSummary(testIssue));
+        findAllResults.add(new IssueSummary(updateTestIssue));
+        findAllResults.add(new IssueSummary(filterTestIssue));
 
     }
 
@@ -81,7 +97,7 @@ class SearchServiceTest {
 
     private void initUpdateTestIssue() {
         updateTestIssue = new Issue();
-        updateTestIssue.setId(1);
+        updateTestIssue.setId(2);
         updateTestIssue.setTitle(UPDATE_TEST_TITLE);
         updateTestIssue.setDescription(UPDATE_TEST_ISSUE_DESCRIPTION);
         updateTestIssue.setAuthor(UPDATE_TEST_AUTHOR);
@@ -93,7 +109,7 @@ class SearchServiceTest {
 
     private void initFilterTestIssue() {
         filterTestIssue = new Issue();
-        filterTestIssue.setId(1);
+        filterTestIssue.setId(3);
         filterTestIssue.setTitle(FILTER_TEST_TITLE);
         filterTestIssue.setDescription(FILTER_TEST_ISSUE_DESCRIPTION);
         filterTestIssue.setAuthor(FILTER_TEST_AUTHOR);
@@ -104,64 +120,78 @@ class SearchServiceTest {
     }
 
     @Test
-    public void searchIssues_shouldSearchDescriptionsForOccurrences() {
+    public void searchIssues_shouldDelegateQueryToSearchEngine() {
+        when(searchEngine.search(GENERAL_TEST_ISSUE_DESCRIPTION, 0, TEST_PAGE_SIZE + 1))
+                .thenReturn(Collections.singletonList(1));
         assertEquals(
-                Collections.singletonList(testIssue),
-                service.searchIssues(GENERAL_TEST_ISSUE_DESCRIPTION)
+                Collections.singletonList(new IssueSummary(testIssue)),
+                service.searchIssues(GENERAL_TEST_ISSUE_DESCRIPTION, null, null).getContent()
         );
+        verify(issueService, never()).findAllIssues(any(), any());
     }
 
     @Test
-    public void searchIssues_shouldSearchAuthorsForOccurrences() {
+    public void searchIssues_shouldKeepTheRankOrderOfSearchEngine() {
+        when(searchEngine.search(FILTER_TEST_AUTHOR, 0, TEST_PAGE_SIZE + 1))
+                .thenReturn(Arrays.asList(3, 1));
         assertEquals(
-                Collections.singletonList(filterTestIssue),
-                service.searchIssues(FILTER_TEST_AUTHOR)
+                Arrays.asList(new IssueSummary(filterTestIssue), new IssueSummary(testIssue)),
+                service.searchIssues(FILTER_TEST_AUTHOR, null, null).getContent()
         );
     }
 
     @Test
-    public void searchIssues_shouldSearchTitlesForOccurrences() {
-        assertEquals(
-                Collections.singletonList(updateTestIssue),
-                service.searchIssues(UPDATE_TEST_TITLE)
-        );
+    public void searchIssues_givenMoreMatchesThanPageSize_shouldReturnNextCursor() {
+        when(searchEngine.search(UPDATE_TEST_TITLE, 0, TEST_PAGE_SIZE + 1))
+                .thenReturn(Arrays.asList(3, 2, 1));
+        CursorPage<IssueSummary> page = service.searchIssues(UPDATE_TEST_TITLE, null, null);
+        assertEquals(Arrays.asList(new IssueSummary(filterTestIssue), new IssueSummary(updateTestIssue)), page.getContent());
+        assertEquals(pagination.encodeCursor(TEST_PAGE_SIZE), page.getNextCursor());
     }
 
     @Test
-    public void searchIssues_shouldIgnoreCase() {
-        assertEquals(
-                Collections.singletonList(testIssue),
-                service.searchIssues(GENERAL_TEST_ISSUE_DESCRIPTION
-                        .toLowerCase())
-        );
-        assertEquals(
-                Collections.singletonList(testIssue),
-                service.searchIssues(GENERAL_TEST_ISSUE_DESCRIPTION
-                        .toUpperCase())
-        );
+    public void searchIssues_givenCursor_shouldContinueFromTheEncodedOffset() {
+        when(searchEngine.search(UPDATE_TEST_TITLE, TEST_PAGE_SIZE, TEST_PAGE_SIZE + 1))
+                .thenReturn(Collections.singletonList(1));
+        CursorPage<IssueSummary> page = service.searchIssues(UPDATE_TEST_TITLE, pagination.encodeCursor(TEST_PAGE_SIZE), null);
+        assertEquals(Collections.singletonList(new IssueSummary(testIssue)), page.getContent());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void searchIssues_givenNegativeCursor_shouldThrowException() {
+        assertThrows(InvalidCursorException.class,
+                () -> service.searchIssues(UPDATE_TEST_TITLE, pagination.encodeCursor(-TEST_PAGE_SIZE), null));
+        verifyNoInteractions(searchEngine);
     }
 
     @Test
     public void searchIssues_givenNullQuery_shouldReturnAllIssues() {
+        CursorPage<IssueSummary> allIssues = new CursorPage<>(findAllResults, null);
+        when(issueService.findAllIssues(null, null)).thenReturn(allIssues);
         assertEquals(
-                findAllResults,
-                service.searchIssues(null)
+                allIssues,
+                service.searchIssues(null, null, null)
         );
+        verifyNoInteractions(searchEngine);
     }
 
     @Test
     public void searchIssues_givenEmptyQuery_shouldReturnAllIssues() {
+        CursorPage<IssueSummary> allIssues = new CursorPage<>(findAllResults, null);
+        when(issueService.findAllIssues(null, null)).thenReturn(allIssues);
         assertEquals(
-                findAllResults,
-                service.searchIssues("")
+                allIssues,
+                service.searchIssues("", null, null)
         );
+        verifyNoInteractions(searchEngine);
     }
 
-    private List<Issue> getFindAllResults() {
-        List<Issue> findAllResults = new LinkedList<>();
-        findAllResults.add(testIssue);
-        findAllResults.add(updateTestIssue);
-        findAllResults.add(filterTestIssue);
+    private List<IssueSummary> getFindAllResults() {
+        List<IssueSummary> findAllResults = new LinkedList<>();
+        findAllResults.add(new IssueSummary(testIssue));
+        findAllResults.add(new IssueSummary(updateTestIssue));
+        findAllResults.add(new IssueSummary(filterTestIssue));
         return findAllResults;
     }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.jaikeex.issuetrackerservice.service.history;
+
+import com.jaikeex.issuetrackerservice.config.properties.HistoryProperties;
+import com.jaikeex.issuetrackerservice.entity.HistoryRecord;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.repository.HistoryRepository;
+import com.jaikeex.issuetrackerservice.utility.event.IssueHistoryWrittenEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class BatchingHistoryServiceTest {
+
+    private static final String TEST_RECORD_TEXT = "test text";
+    private static final int TEST_ISSUE_ID = 10;
+    private static final int TEST_QUEUE_CAPACITY = 100;
+    private static final int TEST_BATCH_SIZE = 3;
+    private static final long TEST_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    @Mock
+    HistoryRepository repository;
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    BatchingHistoryServiceImpl service;
+
+    List<Integer> writtenBatchSizes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void afterEach() throws InterruptedException {
+        service.destroy();
+    }
+
+    private void initService(int queueCapacity, long flushIntervalMillis) {
+        HistoryProperties properties = new HistoryProperties(
+                true, queueCapacity, TEST_BATCH_SIZE, flushIntervalMillis, 0, TEST_SHUTDOWN_TIMEOUT_MILLIS);
+        service = new BatchingHistoryServiceImpl(repository, jdbcTemplate, transactionManager, properties, eventPublisher);
+        service.afterSingletonsInstantiated();
+    }
+
+    private void recordBatchSizes() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    writtenBatchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+                    return new int[0][];
+                });
+    }
+
+    private HistoryRecord createRecord() {
+        return createRecord(TEST_ISSUE_ID);
+    }
+
+    private HistoryRecord createRecord(int issueId) {
+        Issue issue = new Issue();
+        issue.setId(issueId);
+        return new HistoryRecord(TEST_RECORD_TEXT, issue);
+    }
+
+    @Test
+    public void saveNewRecord_shouldNotCallRepository() throws InterruptedException {
+        recordBatchSizes();
+        initService(TEST_QUEUE_CAPACITY, 10);
+        service.saveNewRecord(createRecord());
+        service.destroy();
+        verifyNoInteractions(repository);
+        assertEquals(1, writtenBatchSizes.size());
+    }
+
+    @Test
+    public void saveNewRecord_givenFullBatches_shouldWriteThemTogether() throws InterruptedException {
+        recordBatchSizes();
+        initService(TEST_QUEUE_CAPACITY, TimeUnit.MINUTES.toMillis(1));
+        for (int i = 0; i < 2 * TEST_BATCH_SIZE; i++) {
+            service.saveNewRecord(createRecord());
+        }
+        verify(jdbcTemplate, timeout(TEST_SHUTDOWN_TIMEOUT_MILLIS).times(2))
+                .batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        assertTrue(writtenBatchSizes.stream().allMatch(size -> size == TEST_BATCH_SIZE));
+    }
+
+    @Test
+    public void saveNewRecord_givenIncompleteBatch_shouldWriteItAfterFlushInterval() {
+        recordBatchSizes();
+        initService(TEST_QUEUE_CAPACITY, 50);
+        service.saveNewRecord(createRecord());
+        verify(jdbcTemplate, timeout(TEST_SHUTDOWN_TIMEOUT_MILLIS).times(1))
+                .batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        assertEquals(1, writtenBatchSizes.get(0));
+    }
+
+    @Test
+    public void saveNewRecord_givenFullQueue_shouldWriteOnCallingThread() throws InterruptedException {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        List<String> writingThreads = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    writingThreads.add(Thread.currentThread().getName());
+                    if (writingThreads.size() == 1) {
+                        writerBlocked.countDown();
+                        releaseWriter.await();
+                    }
+                    return new int[0][];
+                });
+        initService(1, 0);
+        service.saveNewRecord(createRecord());
+        assertTrue(writerBlocked.await(TEST_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        service.saveNewRecord(createRecord());
+        service.saveNewRecord(createRecord());
+        assertTrue(writingThreads.contains(Thread.currentThread().getName()));
+        releaseWriter.countDown();
+    }
+
+    @Test
+    public void destroy_shouldWriteTheBatchBeingCollected() throws InterruptedException {
+        recordBatchSizes();
+        initService(TEST_QUEUE_CAPACITY, TimeUnit.MINUTES.toMillis(1));
+        service.saveNewRecord(createRecord());
+        service.saveNewRecord(createRecord());
+        service.destroy();
+        assertEquals(Collections.singletonList(2), writtenBatchSizes);
+    }
+
+    @Test
+    public void destroy_givenIdleWriter_shouldWriteNothing() throws InterruptedException {
+        recordBatchSizes();
+        initService(TEST_QUEUE_CAPACITY, TimeUnit.MINUTES.toMillis(1));
+        service.destroy();
+        service.destroy();
+        assertTrue(writtenBatchSizes.isEmpty());
+    }
+
+    @Test
+    public void saveNewRecord_shouldIncrementTheIssueVersionsAndPublishAnEvent() throws InterruptedException {
+        recordBatchSizes();
+        initService(TEST_QUEUE_CAPACITY, TimeUnit.MINUTES.toMillis(1));
+        service.saveNewRecord(createRecord(TEST_ISSUE_ID + 1));
+        service.saveNewRecord(createRecord(TEST_ISSUE_ID));
+        service.saveNewRecord(createRecord(TEST_ISSUE_ID + 1));
+        service.destroy();
+        verify(jdbcTemplate, times(1)).update(contains("IN (?, ?)"), eq(TEST_ISSUE_ID), eq(TEST_ISSUE_ID + 1));
+        ArgumentCaptor<IssueHistoryWrittenEvent> captor = ArgumentCaptor.forClass(IssueHistoryWrittenEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(new HashSet<>(Arrays.asList(TEST_ISSUE_ID, TEST_ISSUE_ID + 1)), captor.getValue().getIssueIds());
+    }
+
+    @Test
+    public void saveNewRecord_givenFailedBatch_shouldRetryRecordsOneByOne() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    int size = invocation.<Collection<?>>getArgument(1).size();
+                    writtenBatchSizes.add(size);
+                    if (size > 1) {
+                        throw new DataIntegrityViolationException("test");
+                    }
+                    return new int[0][];
+                });
+        initService(TEST_QUEUE_CAPACITY, TimeUnit.MINUTES.toMillis(1));
+        for (int i = 0; i < TEST_BATCH_SIZE; i++) {
+            service.saveNewRecord(createRecord());
+        }
+        service.destroy();
+        assertEquals(TEST_BATCH_SIZE + 1, writtenBatchSizes.size());
+    }
+}
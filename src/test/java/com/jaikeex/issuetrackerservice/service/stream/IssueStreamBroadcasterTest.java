@@ -0,0 +1,149 @@
+package com.jaikeex.issuetrackerservice.service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaikeex.issuetrackerservice.config.properties.StreamProperties;
+import com.jaikeex.issuetrackerservice.dto.IssueFilter;
+import com.jaikeex.issuetrackerservice.dto.OutboxMessage;
+import com.jaikeex.issuetrackerservice.entity.OutboxEvent;
+import com.jaikeex.issuetrackerservice.repository.OutboxRepository;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeType;
+import com.jaikeex.issuetrackerservice.utility.exception.TooManySubscribersException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class IssueStreamBroadcasterTest {
+
+    private static final int TEST_BUFFER_CAPACITY = 3;
+    private static final int TEST_MAX_SUBSCRIBERS = 2;
+    private static final int TEST_QUEUE_CAPACITY = 2;
+
+    @Mock
+    OutboxRepository repository;
+
+    List<Runnable> senderTasks = new ArrayList<>();
+
+    IssueStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    public void beforeEach() {
+        StreamProperties properties = new StreamProperties(true, TEST_BUFFER_CAPACITY, 60000, TEST_MAX_SUBSCRIBERS, TEST_QUEUE_CAPACITY, 1);
+        broadcaster = new IssueStreamBroadcaster(repository, new ObjectMapper(), properties, senderTasks::add);
+    }
+
+    private String issueJson(int issueId) {
+        return "{\"id\":" + issueId + ",\"title\":\"title\",\"type\":\"BUG\",\"severity\":\"LOW\",\"status\":\"OPEN\",\"project\":\"MWP\"}";
+    }
+
+    private OutboxMessage createMessage(int id) {
+        return new OutboxMessage(id, id * 10, IssueChangeType.CREATE, null, issueJson(id * 10));
+    }
+
+    private void publish(int fromId, int toId) {
+        broadcaster.publish(IntStream.rangeClosed(fromId, toId).mapToObj(this::createMessage).collect(Collectors.toList()));
+    }
+
+    private List<Integer> idsOf(Optional<List<OutboxMessage>> messages) {
+        return messages.orElseThrow(AssertionError::new).stream().map(OutboxMessage::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void findMissedMessages_shouldReturnTheBufferedMessagesAfterTheId() {
+        publish(5, 7);
+        assertEquals(Arrays.asList(6, 7), idsOf(broadcaster.findMissedMessages(5)));
+        assertEquals(Arrays.asList(5, 6, 7), idsOf(broadcaster.findMissedMessages(4)));
+        assertEquals(Collections.emptyList(), idsOf(broadcaster.findMissedMessages(7)));
+    }
+
+    @Test
+    public void findMissedMessages_givenOverwrittenMessages_shouldReturnEmpty() {
+        publish(1, 5);
+        assertEquals(Arrays.asList(3, 4, 5), idsOf(broadcaster.findMissedMessages(2)));
+        assertFalse(broadcaster.findMissedMessages(1).isPresent());
+    }
+
+    @Test
+    public void findMissedMessages_givenNoMessagesSinceStart_shouldReturnEmpty() {
+        when(repository.findLatestPublished(any(Pageable.class))).thenReturn(Collections.emptyList());
+        broadcaster.afterSingletonsInstantiated();
+        assertFalse(broadcaster.findMissedMessages(1).isPresent());
+    }
+
+    @Test
+    public void afterSingletonsInstantiated_shouldBufferTheLatestPublishedEvents() {
+        OutboxEvent newer = new OutboxEvent(90, IssueChangeType.DELETE, issueJson(90));
+        newer.setId(9);
+        OutboxEvent older = new OutboxEvent(80, IssueChangeType.CREATE, issueJson(80));
+        older.setId(8);
+        when(repository.findLatestPublished(any(Pageable.class))).thenReturn(Arrays.asList(newer, older));
+        broadcaster.afterSingletonsInstantiated();
+        publish(10, 10);
+        assertEquals(Arrays.asList(8, 9, 10), idsOf(broadcaster.findMissedMessages(7)));
+        assertFalse(broadcaster.findMissedMessages(6).isPresent());
+    }
+
+    @Test
+    public void subscribe_givenTooManySubscribers_shouldThrowException() {
+        IssueFilter filter = new IssueFilter();
+        broadcaster.subscribe(filter, null);
+        broadcaster.subscribe(filter, null);
+        assertEquals(TEST_MAX_SUBSCRIBERS, broadcaster.getSubscriberCount());
+        assertThrows(TooManySubscribersException.class, () -> broadcaster.subscribe(filter, null));
+    }
+
+    @Test
+    public void subscribe_givenConcurrentSubscriptions_shouldNotExceedTheLimit() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 32; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    broadcaster.subscribe(new IssueFilter(), null);
+                } catch (InterruptedException | TooManySubscribersException ignored) {
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(TEST_MAX_SUBSCRIBERS, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    public void publish_givenRepublishedBatch_shouldBufferEveryMessageOnce() {
+        publish(1, 2);
+        publish(1, 3);
+        assertEquals(Arrays.asList(1, 2, 3), idsOf(broadcaster.findMissedMessages(0)));
+    }
+
+    @Test
+    public void publish_givenSubscriberNotKeepingUp_shouldDropItWithoutSending() {
+        broadcaster.subscribe(new IssueFilter(), null);
+        publish(1, 2);
+        assertEquals(1, broadcaster.getSubscriberCount());
+        publish(3, 3);
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertEquals(1, senderTasks.size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Attachment;
+import com.jaikeex.issuetrackerservice.entity.HistoryRecord;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueBinaryCodecTest {
+
+    private static final String TEST_CURSOR = "MTA";
+
+    IssueBinaryCodec codec;
+    Issue testIssue;
+    Issue otherIssue;
+
+    @BeforeEach
+    public void beforeEach() {
+        codec = new IssueBinaryCodec();
+        testIssue = new Issue(IssueType.BUG, Severity.CRITICAL, Status.SUBMITTED, Project.MWP);
+        testIssue.setId(1);
+        testIssue.setTitle("testTitle");
+        testIssue.setDescription("description with ünïcödé<br />");
+        testIssue.setAuthor("general author");
+        Timestamp date = new Timestamp(1_600_000_000_000L);
+        date.setNanos(123_456_789);
+        testIssue.setDate(date);
+        testIssue.setHistoryRecords(Collections.singletonList(new HistoryRecord(5, "Issue created", date, testIssue)));
+        testIssue.setAttachments(Collections.singletonList(
+                new Attachment(7, "/download/1/file.txt", "file.txt", date, "abc", testIssue)));
+        otherIssue = new Issue();
+        otherIssue.setTitle("other title");
+        otherIssue.setAuthor("other author");
+    }
+
+    private Object roundTrip(Object value) {
+        return codec.decode(ByteBuffer.wrap(codec.encode(value)));
+    }
+
+    @Test
+    public void decode_givenEncodedList_shouldReturnEqualIssues() {
+        List<Issue> issues = Arrays.asList(testIssue, otherIssue);
+        @SuppressWarnings("unchecked")
+        List<Issue> decoded = (List<Issue>) roundTrip(issues);
+        assertEquals(issues, decoded);
+        Issue decodedIssue = decoded.get(0);
+        assertEquals(testIssue.getDescription(), decodedIssue.getDescription());
+        assertEquals(testIssue.getDate(), decodedIssue.getDate());
+        assertEquals(testIssue.getType(), decodedIssue.getType());
+        assertEquals(testIssue.getProject(), decodedIssue.getProject());
+        assertNull(decoded.get(1).getId());
+        assertNull(decoded.get(1).getStatus());
+    }
+
+    @Test
+    public void decode_givenEncodedPage_shouldKeepCursorAndAssociations() {
+        CursorPage<?> decoded = (CursorPage<?>) roundTrip(new CursorPage<>(Collections.singletonList(testIssue), TEST_CURSOR));
+        assertEquals(TEST_CURSOR, decoded.getNextCursor());
+        Issue decodedIssue = (Issue) decoded.getContent().get(0);
+        assertEquals(testIssue.getHistoryRecords().get(0).getText(), decodedIssue.getHistoryRecords().get(0).getText());
+        assertSame(decodedIssue, decodedIssue.getHistoryRecords().get(0).getIssue());
+        Attachment attachment = decodedIssue.getAttachments().get(0);
+        assertEquals("file.txt", attachment.getOriginalFilename());
+        assertEquals("abc", attachment.getBlobHash());
+        assertEquals(7, attachment.getId());
+    }
+
+    @Test
+    public void decode_givenEncodedSummaryPage_shouldReturnEqualSummaries() {
+        List<IssueSummary> summaries = Arrays.asList(new IssueSummary(testIssue), new IssueSummary(otherIssue));
+        CursorPage<?> decoded = (CursorPage<?>) roundTrip(new CursorPage<>(summaries, TEST_CURSOR));
+        assertEquals(TEST_CURSOR, decoded.getNextCursor());
+        assertEquals(summaries, decoded.getContent());
+    }
+
+    @Test
+    public void supports_givenMixedIssuesAndSummaries_shouldReturnFalse() {
+        assertFalse(codec.supports(Arrays.asList(new IssueSummary(testIssue), testIssue)));
+        assertFalse(codec.supports(Arrays.asList(testIssue, new IssueSummary(testIssue))));
+    }
+
+    @Test
+    public void supports_givenOtherValues_shouldReturnFalse() {
+        assertFalse(codec.supports(testIssue));
+        assertFalse(codec.supports(Collections.singletonList("string")));
+        assertFalse(codec.supports(new CursorPage<>(null, null)));
+        assertTrue(codec.supports(Collections.emptyList()));
+    }
+
+    @Test
+    public void encode_givenUnsupportedValue_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(testIssue));
+    }
+}
@@ -0,0 +1,121 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.service.issue.IssueService;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueCacheInvalidatorTest {
+
+    private static final String TEST_ISSUE_CACHE_NAME = "test-issue-cache";
+    private static final String TEST_LIST_CACHE_NAME = "test-issue-list-cache";
+    private static final String GENERAL_TEST_TITLE = "testTitle";
+    private static final String UPDATE_TEST_TITLE = "update title";
+    private static final int TEST_ID = 1;
+    private static final int OTHER_TEST_ID = 2;
+    private static final String RELOADED_VALUE = "reloaded";
+
+    Cache issueCache;
+    Cache listCache;
+    IssueCacheInvalidator invalidator;
+
+    Issue testIssue;
+
+    @BeforeEach
+    public void beforeEach() {
+        issueCache = new CaffeineCache(TEST_ISSUE_CACHE_NAME, Caffeine.newBuilder().maximumSize(100).build());
+        listCache = new CaffeineCache(TEST_LIST_CACHE_NAME, Caffeine.newBuilder().maximumSize(100).build());
+        invalidator = new IssueCacheInvalidator(issueCache, listCache, false);
+
+        testIssue = createIssue(TEST_ID, GENERAL_TEST_TITLE, IssueType.BUG, Severity.CRITICAL);
+        issueCache.put("id" + TEST_ID, testIssue);
+        issueCache.put("title" + GENERAL_TEST_TITLE, testIssue);
+        issueCache.put("id" + OTHER_TEST_ID, new Issue());
+        issueCache.put("title" + UPDATE_TEST_TITLE, new Issue());
+        listCache.put(listKey("findAllIssues", null, null, 10), "all");
+        listCache.put(listKey("findAllIssuesByType", IssueType.BUG, null, 10), "bugs");
+        listCache.put(listKey("findAllIssuesByType", IssueType.BUG, "MTA", 10), "bugs second page");
+        listCache.put(listKey("findAllIssuesByType", IssueType.ENHANCEMENT, null, 10), "enhancements");
+        listCache.put(listKey("findAllIssuesBySeverity", Severity.CRITICAL, null, 10), "critical");
+        listCache.put(listKey("findAllIssuesBySeverity", Severity.LOW, null, 10), "low");
+    }
+
+    private Issue createIssue(int id, String title, IssueType type, Severity severity) {
+        Issue issue = new Issue(type, severity, Status.SUBMITTED, Project.MWP);
+        issue.setId(id);
+        issue.setTitle(title);
+        return issue;
+    }
+
+    private IssueListCacheKey listKey(String methodName, Enum<?> filterValue, String cursor, Integer size) {
+        Object[] params = filterValue == null ? new Object[] {cursor, size} : new Object[] {filterValue, cursor, size};
+        return (IssueListCacheKey) new IssueListKeyGenerator().generate(this, findMethod(methodName, params.length), params);
+    }
+
+    private Method findMethod(String methodName, int parameterCount) {
+        return Arrays.stream(IssueService.class.getMethods())
+                .filter(method -> method.getName().equals(methodName) && method.getParameterCount() == parameterCount)
+                .findFirst()
+                .orElseThrow(IllegalArgumentException::new);
+    }
+
+    @Test
+    public void onIssueChange_givenDescriptionUpdate_shouldEvictOnlyAffectedEntries() {
+        invalidator.onIssueChange(IssueChangeEvent.of(IssueChange.descriptionUpdated(testIssue)));
+        assertNull(issueCache.get("id" + TEST_ID));
+        assertNull(issueCache.get("title" + GENERAL_TEST_TITLE));
+        assertNull(listCache.get(listKey("findAllIssues", null, null, 10)));
+        assertNull(listCache.get(listKey("findAllIssuesByType", IssueType.BUG, null, 10)));
+        assertNull(listCache.get(listKey("findAllIssuesByType", IssueType.BUG, "MTA", 10)));
+        assertNull(listCache.get(listKey("findAllIssuesBySeverity", Severity.CRITICAL, null, 10)));
+        assertNotNull(issueCache.get("id" + OTHER_TEST_ID));
+        assertNotNull(issueCache.get("title" + UPDATE_TEST_TITLE));
+        assertNotNull(listCache.get(listKey("findAllIssuesByType", IssueType.ENHANCEMENT, null, 10)));
+        assertNotNull(listCache.get(listKey("findAllIssuesBySeverity", Severity.LOW, null, 10)));
+    }
+
+    @Test
+    public void onIssueChange_givenPropertiesUpdate_shouldEvictListsOfPreviousAndCurrentValues() {
+        Issue updatedIssue = createIssue(TEST_ID, GENERAL_TEST_TITLE, IssueType.ENHANCEMENT, Severity.CRITICAL);
+        invalidator.onIssueChange(IssueChangeEvent.of(IssueChange.propertiesUpdated(testIssue, updatedIssue)));
+        assertNull(listCache.get(listKey("findAllIssuesByType", IssueType.BUG, null, 10)));
+        assertNull(listCache.get(listKey("findAllIssuesByType", IssueType.ENHANCEMENT, null, 10)));
+        assertNotNull(listCache.get(listKey("findAllIssuesBySeverity", Severity.LOW, null, 10)));
+    }
+
+    @Test
+    public void onIssueChange_givenRefreshedLists_shouldReloadOnlyAffectedLists() {
+        listCache = new CaffeineCache(TEST_LIST_CACHE_NAME, Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .build(key -> RELOADED_VALUE));
+        listCache.put(listKey("findAllIssuesByType", IssueType.BUG, null, 10), "bugs");
+        listCache.put(listKey("findAllIssuesByType", IssueType.ENHANCEMENT, null, 10), "enhancements");
+        invalidator = new IssueCacheInvalidator(issueCache, listCache, true);
+        invalidator.onIssueChange(IssueChangeEvent.of(IssueChange.descriptionUpdated(testIssue)));
+        assertEquals(RELOADED_VALUE, listCache.get(listKey("findAllIssuesByType", IssueType.BUG, null, 10)).get());
+        assertEquals("enhancements", listCache.get(listKey("findAllIssuesByType", IssueType.ENHANCEMENT, null, 10)).get());
+        assertNull(issueCache.get("id" + TEST_ID));
+    }
+
+    @Test
+    public void onIssueChange_givenDeletedIssue_shouldEvictIssueEntries() {
+        invalidator.onIssueChange(IssueChangeEvent.of(IssueChange.deleted(testIssue)));
+        assertNull(issueCache.get("id" + TEST_ID));
+        assertNull(issueCache.get("title" + GENERAL_TEST_TITLE));
+        assertNotNull(issueCache.get("id" + OTHER_TEST_ID));
+    }
+}
@@ -0,0 +1,64 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueCacheWeigherTest {
+
+    private static final String TEST_KEY = "id1";
+
+    IssueCacheWeigher weigher;
+    Issue testIssue;
+
+    @BeforeEach
+    public void beforeEach() {
+        weigher = new IssueCacheWeigher();
+        testIssue = createIssue("short description");
+    }
+
+    private Issue createIssue(String description) {
+        Issue issue = new Issue();
+        issue.setId(1);
+        issue.setTitle("testTitle");
+        issue.setAuthor("general author");
+        issue.setDescription(description);
+        return issue;
+    }
+
+    @Test
+    public void weigh_givenLongerDescription_shouldWeighMore() {
+        Issue longIssue = createIssue(String.join("", Collections.nCopies(100, "long description ")));
+        assertTrue(weigher.weigh(TEST_KEY, longIssue) > weigher.weigh(TEST_KEY, testIssue));
+    }
+
+    @Test
+    public void weigh_givenList_shouldGrowWithNumberOfIssues() {
+        List<Issue> issues = new ArrayList<>();
+        issues.add(testIssue);
+        int singleIssueList = weigher.weigh(TEST_KEY, issues);
+        issues.add(createIssue("another description"));
+        issues.add(createIssue("third description"));
+        int threeIssueList = weigher.weigh(TEST_KEY, issues);
+        assertTrue(threeIssueList > singleIssueList);
+    }
+
+    @Test
+    public void weigh_givenCursorPage_shouldIncludeItsContent() {
+        List<Issue> issues = Collections.singletonList(testIssue);
+        assertTrue(weigher.weigh(TEST_KEY, new CursorPage<>(issues, "MTA")) > weigher.weigh(TEST_KEY, issues));
+    }
+
+    @Test
+    public void weigh_givenSummary_shouldWeighLessThanTheIssue() {
+        assertTrue(weigher.weigh(TEST_KEY, new IssueSummary(testIssue)) < weigher.weigh(TEST_KEY, testIssue));
+    }
+}
@@ -0,0 +1,47 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.jaikeex.issuetrackerservice.dto.CursorPage;
+import com.jaikeex.issuetrackerservice.dto.IssueSummary;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.service.issue.IssueService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class IssueListCacheLoaderTest {
+
+    @Mock
+    IssueService issueService;
+
+    IssueListCacheLoader loader = new IssueListCacheLoader();
+
+    @Test
+    public void load_givenGeneratedKey_shouldCallTheCachedMethodAgain() throws Exception {
+        Method method = IssueService.class.getMethod("findAllIssuesByType", IssueType.class, String.class, Integer.class);
+        CursorPage<IssueSummary> page = new CursorPage<>(Collections.emptyList(), null);
+        when(issueService.findAllIssuesByType(IssueType.BUG, null, 10)).thenReturn(page);
+        Object key = new IssueListKeyGenerator().generate(issueService, method, IssueType.BUG, null, 10);
+        assertEquals(page, loader.load(key));
+        verify(issueService, times(1)).findAllIssuesByType(IssueType.BUG, null, 10);
+    }
+
+    @Test
+    public void load_givenKeyWithoutTarget_shouldReturnNull() {
+        IssueListCacheKey key = new IssueListCacheKey("findAllIssues", null, Arrays.asList(null, 10));
+        assertNull(loader.load(key));
+    }
+
+    @Test
+    public void load_givenOtherKey_shouldReturnNull() {
+        assertNull(loader.load("id1"));
+    }
+}
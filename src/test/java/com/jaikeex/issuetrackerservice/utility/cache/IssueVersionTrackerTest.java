@@ -0,0 +1,89 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.IssueType;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Project;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Severity;
+import com.jaikeex.issuetrackerservice.entity.issueProperties.Status;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChange;
+import com.jaikeex.issuetrackerservice.utility.event.IssueChangeEvent;
+import com.jaikeex.issuetrackerservice.utility.event.IssueHistoryWrittenEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueVersionTrackerTest {
+
+    private static final int TEST_ID = 1;
+    private static final long TEST_VERSION = 3;
+    private static final long TEST_ETAG_CAPACITY = 100;
+
+    IssueVersionTracker tracker;
+
+    Issue testIssue;
+
+    @BeforeEach
+    public void beforeEach() {
+        tracker = new IssueVersionTracker(true, TEST_ETAG_CAPACITY);
+        testIssue = new Issue(IssueType.BUG, Severity.HIGH, Status.SUBMITTED, Project.MWP);
+        testIssue.setId(TEST_ID);
+        testIssue.setTitle("title");
+        testIssue.setVersion(TEST_VERSION);
+    }
+
+    @Test
+    public void rememberIssueETag_shouldReturnAndRememberAStrongTag() {
+        String eTag = tracker.rememberIssueETag(testIssue, tracker.getChangeCount());
+        assertEquals("\"1-3\"", eTag);
+        assertEquals(eTag, tracker.findIssueETag(TEST_ID));
+    }
+
+    @Test
+    public void rememberIssueETag_givenChangeWhileLoading_shouldNotRememberTheTag() {
+        long changeCount = tracker.getChangeCount();
+        tracker.onIssueChange(IssueChangeEvent.of(IssueChange.propertiesUpdated(testIssue, testIssue)));
+        assertEquals("\"1-3\"", tracker.rememberIssueETag(testIssue, changeCount));
+        assertNull(tracker.findIssueETag(TEST_ID));
+    }
+
+    @Test
+    public void onIssueChange_shouldForgetTheIssueAndChangeTheListTag() {
+        tracker.rememberIssueETag(testIssue, tracker.getChangeCount());
+        String listETag = tracker.getListETag();
+        tracker.onIssueChange(IssueChangeEvent.of(IssueChange.descriptionUpdated(testIssue)));
+        assertNull(tracker.findIssueETag(TEST_ID));
+        assertNotEquals(listETag, tracker.getListETag());
+        assertTrue(tracker.getListETag().startsWith("W/\""));
+    }
+
+    @Test
+    public void onHistoryWritten_shouldForgetTheIssue() {
+        tracker.rememberIssueETag(testIssue, tracker.getChangeCount());
+        tracker.onHistoryWritten(new IssueHistoryWrittenEvent(Collections.singleton(TEST_ID)));
+        assertNull(tracker.findIssueETag(TEST_ID));
+    }
+
+    @Test
+    public void rememberIssueETag_givenCapacityExceeded_shouldKeepTheRememberedTagsBounded() {
+        tracker = new IssueVersionTracker(true, 1);
+        for (int id = 1; id <= TEST_ETAG_CAPACITY; id++) {
+            testIssue.setId(id);
+            tracker.rememberIssueETag(testIssue, tracker.getChangeCount());
+        }
+        int remembered = 0;
+        for (int id = 1; id <= TEST_ETAG_CAPACITY; id++) {
+            if (tracker.findIssueETag(id) != null) {
+                remembered++;
+            }
+        }
+        assertTrue(remembered <= 1);
+    }
+
+    @Test
+    public void getListETag_givenListsNotTagged_shouldReturnNull() {
+        assertNull(new IssueVersionTracker(false, TEST_ETAG_CAPACITY).getListETag());
+    }
+}
@@ -0,0 +1,95 @@
+package com.jaikeex.issuetrackerservice.utility.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredIssueCacheTest {
+
+    private static final String TEST_CACHE_NAME = "test-tiered-cache";
+    private static final String FIRST_KEY = "first";
+    private static final String SECOND_KEY = "second";
+    private static final int PROMOTION_HITS = 2;
+
+    OffHeapIssueStore offHeapStore;
+    TieredIssueCache cache;
+    List<Issue> firstList;
+    List<Issue> secondList;
+
+    @BeforeEach
+    public void beforeEach() {
+        offHeapStore = new OffHeapIssueStore(1024 * 1024, new IssueBinaryCodec());
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> heapCache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .executor(Runnable::run)
+                .evictionListener(TieredIssueCache.demotingListener(offHeapStore))
+                .build();
+        cache = new TieredIssueCache(TEST_CACHE_NAME, heapCache, offHeapStore, PROMOTION_HITS);
+        firstList = Collections.singletonList(createIssue("first title"));
+        secondList = Collections.singletonList(createIssue("second title"));
+    }
+
+    private Issue createIssue(String title) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setAuthor("general author");
+        return issue;
+    }
+
+    private void putBothAndEvictFirst() {
+        cache.put(FIRST_KEY, firstList);
+        cache.put(SECOND_KEY, secondList);
+        cache.getNativeCache().cleanUp();
+    }
+
+    @Test
+    public void put_givenFullHeap_shouldDemoteEvictedEntryOffHeap() {
+        putBothAndEvictFirst();
+        Object demotedKey = offHeapStore.keys().iterator().next();
+        assertEquals(1, offHeapStore.entryCount());
+        assertNull(cache.getNativeCache().getIfPresent(demotedKey));
+        assertEquals(FIRST_KEY.equals(demotedKey) ? firstList : secondList, cache.get(demotedKey).get());
+    }
+
+    @Test
+    public void get_givenHotOffHeapEntry_shouldPromoteItToHeap() {
+        putBothAndEvictFirst();
+        Object demotedKey = offHeapStore.keys().iterator().next();
+        cache.get(demotedKey);
+        assertNull(cache.getNativeCache().getIfPresent(demotedKey));
+        cache.get(demotedKey, () -> fail("value should be read from the off-heap tier"));
+        assertNotNull(cache.getNativeCache().getIfPresent(demotedKey));
+        assertNull(offHeapStore.get(demotedKey));
+    }
+
+    @Test
+    public void get_givenMissInBothTiers_shouldCallValueLoader() {
+        assertEquals(firstList, cache.get(FIRST_KEY, () -> firstList));
+        assertEquals(firstList, cache.getNativeCache().getIfPresent(FIRST_KEY));
+    }
+
+    @Test
+    public void evict_shouldRemoveEntryFromBothTiers() {
+        putBothAndEvictFirst();
+        cache.evict(FIRST_KEY);
+        cache.evict(SECOND_KEY);
+        assertNull(cache.get(FIRST_KEY));
+        assertNull(cache.get(SECOND_KEY));
+        assertEquals(0, offHeapStore.entryCount());
+    }
+
+    @Test
+    public void put_shouldReplaceOffHeapCopy() {
+        putBothAndEvictFirst();
+        Object demotedKey = offHeapStore.keys().iterator().next();
+        cache.put(demotedKey, Collections.emptyList());
+        assertEquals(Collections.emptyList(), cache.get(demotedKey).get());
+        assertNull(offHeapStore.get(demotedKey));
+    }
+}
@@ -0,0 +1,136 @@
+package com.jaikeex.issuetrackerservice.utility.download;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSenderTest {
+
+    private static final String TEST_CONTENT = "0123456789";
+    private static final String TEST_FILENAME = "testFile.txt";
+
+    @TempDir
+    Path tempDir;
+
+    FileSender fileSender = new FileSender();
+
+    Path testFile;
+    MockHttpServletRequest request;
+    MockHttpServletResponse response;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        testFile = Files.write(tempDir.resolve(TEST_FILENAME), TEST_CONTENT.getBytes(StandardCharsets.UTF_8));
+        request = new MockHttpServletRequest("GET", "/issue/attachments/1/" + TEST_FILENAME);
+        response = new MockHttpServletResponse();
+    }
+
+    private String sendAndGetEtag() throws IOException {
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        fileSender.send(testFile, new MockHttpServletRequest("GET", "/"), firstResponse);
+        return firstResponse.getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    public void send_givenNoHeaders_shouldSendWholeFile() throws IOException {
+        fileSender.send(testFile, request, response);
+        assertEquals(200, response.getStatus());
+        assertEquals(TEST_CONTENT, response.getContentAsString());
+        assertEquals(TEST_CONTENT.length(), response.getContentLength());
+        assertEquals("text/plain", response.getContentType());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    public void send_givenRange_shouldSendPartialContent() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        fileSender.send(testFile, request, response);
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals(4, response.getContentLength());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void send_givenSuffixRange_shouldSendEndOfFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        fileSender.send(testFile, request, response);
+        assertEquals(206, response.getStatus());
+        assertEquals("789", response.getContentAsString());
+    }
+
+    @Test
+    public void send_givenUnsatisfiableRange_shouldRespondWith416() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+        fileSender.send(testFile, request, response);
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void send_givenMatchingIfRange_shouldSendPartialContent() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-0");
+        request.addHeader(HttpHeaders.IF_RANGE, sendAndGetEtag());
+        fileSender.send(testFile, request, response);
+        assertEquals(206, response.getStatus());
+        assertEquals("0", response.getContentAsString());
+    }
+
+    @Test
+    public void send_givenOutdatedIfRange_shouldSendWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-0");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+        fileSender.send(testFile, request, response);
+        assertEquals(200, response.getStatus());
+        assertEquals(TEST_CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    public void send_givenInvalidIfRange_shouldSendWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-0");
+        request.addHeader(HttpHeaders.IF_RANGE, "not a date");
+        fileSender.send(testFile, request, response);
+        assertEquals(200, response.getStatus());
+        assertEquals(TEST_CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    public void send_givenMatchingIfNoneMatch_shouldRespondWith304() throws IOException {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, sendAndGetEtag());
+        fileSender.send(testFile, request, response);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void send_givenHeadRequest_shouldSendOnlyHeaders() throws IOException {
+        request.setMethod("HEAD");
+        fileSender.send(testFile, request, response);
+        assertEquals(200, response.getStatus());
+        assertEquals(TEST_CONTENT.length(), response.getContentLength());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void send_givenSendfileSupport_shouldHandFileOverToContainer() throws IOException {
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        fileSender.send(testFile, request, response);
+        assertEquals(testFile.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jaikeex.issuetrackerservice.utility.html;
+
+import com.jaikeex.issuetrackerservice.entity.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HtmlParserTest {
+
+    private static final String REGEX_NEW_LINE = "(\r\n|\n)";
+    private static final String LINE_BREAK_TAG = "<br />";
+
+    HtmlParser parser = new HtmlParser();
+
+    @Test
+    public void convertNewLinesInDescriptionToHtml_shouldReplaceNewLinesInIssue() {
+        Issue issue = new Issue();
+        issue.setDescription("first\nsecond\r\nthird");
+        parser.convertNewLinesInDescriptionToHtml(issue);
+        assertEquals("first<br />second<br />third", issue.getDescription());
+    }
+
+    @Test
+    public void replaceNewLinesWithHtml_givenNoNewLines_shouldReturnSameInstance() {
+        String text = "no new lines\r here";
+        assertSame(text, parser.replaceNewLinesWithHtml(text));
+    }
+
+    @Test
+    public void replaceNewLinesWithHtml_givenEdgeCases_shouldMatchRegexReplacement() {
+        String[] texts = {"", "\n", "\r\n", "\r", "\n\n", "\r\r\n", "\n\r", "a\n", "\na", "\r\n\r\n", "a\r\nb\nc\r"};
+        for (String text : texts) {
+            assertEquals(text.replaceAll(REGEX_NEW_LINE, LINE_BREAK_TAG), parser.replaceNewLinesWithHtml(text));
+        }
+    }
+
+    @Test
+    public void replaceNewLinesWithHtml_givenRandomTexts_shouldMatchRegexReplacement() {
+        Random random = new Random(7);
+        char[] alphabet = {'a', 'b', '\r', '\n', ' '};
+        for (int run = 0; run < 1000; run++) {
+            char[] chars = new char[random.nextInt(40)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String text = new String(chars);
+            assertEquals(text.replaceAll(REGEX_NEW_LINE, LINE_BREAK_TAG), parser.replaceNewLinesWithHtml(text));
+        }
+    }
+
+    @Test
+    public void writeNewLinesAsHtml_shouldWriteConvertedText() throws IOException {
+        String text = "first\nsecond\r\n\r\nthird\r";
+        StringWriter writer = new StringWriter();
+        parser.writeNewLinesAsHtml(text, writer);
+        assertEquals(text.replaceAll(REGEX_NEW_LINE, LINE_BREAK_TAG), writer.toString());
+    }
+}